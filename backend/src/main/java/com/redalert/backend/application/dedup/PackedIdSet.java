@@ -0,0 +1,205 @@
+package com.redalert.backend.application.dedup;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+
+/**
+ * Compact, size-bounded set of Gmail message IDs.
+ *
+ * Gmail message IDs are 16-digit hexadecimal strings, so they are packed
+ * into longs and kept in an open-addressing primitive hash table (about
+ * 16 bytes per entry instead of ~100 for a HashSet of Strings). IDs that do
+ * not fit that format are kept in a small fallback set.
+ *
+ * When the set is full the oldest entries are evicted first (FIFO).
+ * Not thread-safe; callers must synchronize.
+ */
+final class PackedIdSet {
+
+    private static final long EMPTY = 0L;
+
+    private final int maxEntries;
+    private final long[] table;
+    private final int mask;
+    private boolean containsZero;
+    private int size;
+
+    // Insertion order of packed entries, used for FIFO eviction
+    private final long[] insertionRing;
+    private int ringHead;
+    private int ringCount;
+
+    private final LinkedHashSet<String> unpacked = new LinkedHashSet<>();
+
+    private long evictions;
+
+    PackedIdSet(int maxEntries) {
+        this.maxEntries = Math.max(16, maxEntries);
+        int capacity = Integer.highestOneBit(this.maxEntries * 2 - 1) << 1;
+        this.table = new long[capacity];
+        this.mask = capacity - 1;
+        this.insertionRing = new long[this.maxEntries];
+    }
+
+    /**
+     * Packs a hexadecimal message ID into a long.
+     *
+     * @return The packed ID, or null if the ID is not a 1-16 digit hex string
+     */
+    static Long pack(String id) {
+        if (id == null || id.isEmpty() || id.length() > 16) {
+            return null;
+        }
+        for (int i = 0; i < id.length(); i++) {
+            if (Character.digit(id.charAt(i), 16) < 0) {
+                return null;
+            }
+        }
+        // Leading zeros would make distinct IDs pack to the same value
+        if (id.length() > 1 && id.charAt(0) == '0') {
+            return null;
+        }
+        return Long.parseUnsignedLong(id, 16);
+    }
+
+    boolean contains(String id) {
+        Long packed = pack(id);
+        return packed != null ? containsPacked(packed) : unpacked.contains(id);
+    }
+
+    /**
+     * Adds the ID, evicting the oldest entry when full.
+     *
+     * @return true if the ID was not present
+     */
+    boolean add(String id) {
+        Long packed = pack(id);
+        if (packed == null) {
+            if (!unpacked.add(id)) {
+                return false;
+            }
+            if (unpacked.size() > maxEntries) {
+                Iterator<String> oldest = unpacked.iterator();
+                oldest.next();
+                oldest.remove();
+                evictions++;
+            }
+            return true;
+        }
+
+        if (containsPacked(packed)) {
+            return false;
+        }
+        if (ringCount == maxEntries) {
+            evictOldest();
+        }
+        insertPacked(packed);
+        insertionRing[(ringHead + ringCount) % maxEntries] = packed;
+        ringCount++;
+        return true;
+    }
+
+    /**
+     * Removes the ID (its slot in the eviction ring simply becomes stale).
+     */
+    boolean remove(String id) {
+        Long packed = pack(id);
+        return packed != null ? removePacked(packed) : unpacked.remove(id);
+    }
+
+    /**
+     * Removes every ID. The eviction count is kept.
+     */
+    void clear() {
+        Arrays.fill(table, EMPTY);
+        containsZero = false;
+        size = 0;
+        ringHead = 0;
+        ringCount = 0;
+        unpacked.clear();
+    }
+
+    int size() {
+        return size + unpacked.size();
+    }
+
+    long evictions() {
+        return evictions;
+    }
+
+    private void evictOldest() {
+        long oldest = insertionRing[ringHead];
+        ringHead = (ringHead + 1) % maxEntries;
+        ringCount--;
+        if (removePacked(oldest)) {
+            evictions++;
+        }
+    }
+
+    private boolean containsPacked(long key) {
+        if (key == EMPTY) {
+            return containsZero;
+        }
+        int slot = slot(key);
+        while (table[slot] != EMPTY) {
+            if (table[slot] == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    private void insertPacked(long key) {
+        size++;
+        if (key == EMPTY) {
+            containsZero = true;
+            return;
+        }
+        int slot = slot(key);
+        while (table[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = key;
+    }
+
+    private boolean removePacked(long key) {
+        if (key == EMPTY) {
+            if (!containsZero) {
+                return false;
+            }
+            containsZero = false;
+            size--;
+            return true;
+        }
+
+        int slot = slot(key);
+        while (table[slot] != key) {
+            if (table[slot] == EMPTY) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        // Backward-shift deletion keeps probe chains intact without tombstones
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (table[next] != EMPTY) {
+            int home = slot(table[next]);
+            boolean movable = gap <= next ? (home <= gap || home > next) : (home <= gap && home > next);
+            if (movable) {
+                table[gap] = table[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        table[gap] = EMPTY;
+        size--;
+        return true;
+    }
+
+    private int slot(long key) {
+        return (int) (BloomFilter.mix64(key) & mask);
+    }
+}
@@ -0,0 +1,241 @@
+package com.redalert.backend.application.dedup;
+
+import com.redalert.backend.domain.repository.ProcessedEmailRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Thread-safe index of Gmail message IDs that were already handled.
+ *
+ * Lookups go through three layers:
+ * 1. A Bloom filter: "not seen" answers are final and cost no locking.
+ * 2. A size-bounded exact set of packed IDs holding the most recent entries.
+ * 3. The processed_emails table, only for IDs the Bloom filter has seen but
+ *    the exact set no longer holds (evicted) or false positives.
+ *
+ * The index is warmed from processed_emails.email_id while the bean is
+ * created, before schedulers and web endpoints can look messages up, so
+ * messages handled before a restart are not fetched or analyzed again. Only
+ * messages processed within the warm-up window are loaded; older ones are
+ * past the backlog drain's reach and already marked as read.
+ *
+ * Claims of messages that matched no category are also remembered apart,
+ * so they can be released when the categories change and the messages may
+ * match a new or edited category.
+ *
+ * Bloom filter bits cannot be cleared one by one, so after bulk deletes of
+ * processed emails the whole index is rebuilt from the table.
+ */
+@Component
+@Slf4j
+public class ProcessedMessageIndex {
+
+    private final ProcessedEmailRepository processedEmailRepository;
+    private final PackedIdSet recentIds;
+    private final long bloomExpectedInsertions;
+    private final double bloomFalsePositiveRate;
+    private volatile BloomFilter bloomFilter;
+    private final int maxUnmatched;
+    private final Duration warmUpWindow;
+    private final Set<String> unmatchedIds = new LinkedHashSet<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter databaseChecks;
+
+    public ProcessedMessageIndex(
+            ProcessedEmailRepository processedEmailRepository,
+            MeterRegistry meterRegistry,
+            @Value("${email.dedup.max-entries:100000}") int maxEntries,
+            @Value("${email.dedup.bloom-expected-insertions:1000000}") long bloomExpectedInsertions,
+            @Value("${email.dedup.bloom-false-positive-rate:0.01}") double bloomFalsePositiveRate,
+            @Value("${email.dedup.warm-up-window:2592000000}") long warmUpWindowMs) {
+        this.processedEmailRepository = processedEmailRepository;
+        this.warmUpWindow = Duration.ofMillis(warmUpWindowMs);
+        this.recentIds = new PackedIdSet(maxEntries);
+        this.maxUnmatched = Math.max(1, maxEntries);
+        this.bloomExpectedInsertions = bloomExpectedInsertions;
+        this.bloomFalsePositiveRate = bloomFalsePositiveRate;
+        this.bloomFilter = new BloomFilter(bloomExpectedInsertions, bloomFalsePositiveRate);
+
+        this.hits = Counter.builder("redalert.dedup.lookups")
+                .tag("result", "hit")
+                .description("Message IDs found in the dedup index")
+                .register(meterRegistry);
+        this.misses = Counter.builder("redalert.dedup.lookups")
+                .tag("result", "miss")
+                .description("Message IDs not found in the dedup index")
+                .register(meterRegistry);
+        this.databaseChecks = Counter.builder("redalert.dedup.database.checks")
+                .description("Lookups that had to be verified against processed_emails")
+                .register(meterRegistry);
+        Gauge.builder("redalert.dedup.size", this, ProcessedMessageIndex::size)
+                .description("Entries held in the exact dedup set")
+                .register(meterRegistry);
+        Gauge.builder("redalert.dedup.evictions", this, ProcessedMessageIndex::evictions)
+                .description("Entries evicted from the exact dedup set")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Warms the index from the messages processed within the warm-up window.
+     */
+    @PostConstruct
+    public void warmUp() {
+        int loaded = load();
+        log.info("Dedup index warmed with {} processed message IDs", loaded);
+    }
+
+    /**
+     * Rebuilds the index from processed_emails, dropping every claim and a
+     * Bloom filter that may still hold deleted messages.
+     */
+    public void rebuild() {
+        int loaded = load();
+        log.info("Dedup index rebuilt with {} processed message IDs", loaded);
+    }
+
+    private int load() {
+        List<String> emailIds = processedEmailRepository
+                .findEmailIdsProcessedSinceOrderByProcessedAt(LocalDateTime.now().minus(warmUpWindow));
+        BloomFilter filter = new BloomFilter(bloomExpectedInsertions, bloomFalsePositiveRate);
+        synchronized (recentIds) {
+            recentIds.clear();
+            unmatchedIds.clear();
+            for (String emailId : emailIds) {
+                filter.put(emailId);
+                recentIds.add(emailId);
+            }
+            bloomFilter = filter;
+        }
+        return emailIds.size();
+    }
+
+    /**
+     * Checks whether a message was already handled, without claiming it.
+     */
+    public boolean contains(String messageId) {
+        boolean found = isKnown(messageId);
+        (found ? hits : misses).increment();
+        return found;
+    }
+
+    /**
+     * Atomically claims a message for processing.
+     *
+     * @return true if the message was not handled before and is now claimed
+     *         by the caller; false if it is a duplicate
+     */
+    public boolean tryClaim(String messageId) {
+        if (isKnown(messageId)) {
+            hits.increment();
+            return false;
+        }
+
+        boolean claimed;
+        synchronized (recentIds) {
+            claimed = recentIds.add(messageId);
+            if (claimed) {
+                // Under the lock so a concurrent rebuild cannot swap the filter in between
+                bloomFilter.put(messageId);
+            }
+        }
+        if (claimed) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return claimed;
+    }
+
+    /**
+     * Releases a claim so the message is picked up again (e.g., fetch failed
+     * or its processed email was deleted).
+     */
+    public void release(String messageId) {
+        synchronized (recentIds) {
+            recentIds.remove(messageId);
+        }
+    }
+
+    /**
+     * Claims a message that matched no active category.
+     *
+     * @return true if the message was not handled before and is now claimed
+     */
+    public boolean tryClaimUnmatched(String messageId) {
+        if (!tryClaim(messageId)) {
+            return false;
+        }
+        markUnmatched(messageId);
+        return true;
+    }
+
+    /**
+     * Records that a claimed message matched no active category.
+     */
+    public void markUnmatched(String messageId) {
+        synchronized (recentIds) {
+            unmatchedIds.add(messageId);
+            if (unmatchedIds.size() > maxUnmatched) {
+                // The oldest claims are past the exact set's reach by now anyway
+                Iterator<String> oldest = unmatchedIds.iterator();
+                oldest.next();
+                oldest.remove();
+            }
+        }
+    }
+
+    /**
+     * Releases every claim of a message that matched no category, so the
+     * messages are classified again against the current categories.
+     *
+     * @return Number of claims released
+     */
+    public int releaseUnmatched() {
+        synchronized (recentIds) {
+            unmatchedIds.forEach(recentIds::remove);
+            int released = unmatchedIds.size();
+            unmatchedIds.clear();
+            return released;
+        }
+    }
+
+    public int size() {
+        synchronized (recentIds) {
+            return recentIds.size();
+        }
+    }
+
+    public long evictions() {
+        synchronized (recentIds) {
+            return recentIds.evictions();
+        }
+    }
+
+    private boolean isKnown(String messageId) {
+        if (!bloomFilter.mightContain(messageId)) {
+            return false;
+        }
+        synchronized (recentIds) {
+            if (recentIds.contains(messageId)) {
+                return true;
+            }
+        }
+        // Evicted from the exact set, released, or a Bloom false positive
+        databaseChecks.increment();
+        return processedEmailRepository.existsByEmailId(messageId);
+    }
+}
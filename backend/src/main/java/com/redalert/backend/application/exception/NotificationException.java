@@ -0,0 +1,15 @@
+package com.redalert.backend.application.exception;
+
+/**
+ * Custom exception for failures delivering notifications to clients.
+ */
+public class NotificationException extends RuntimeException {
+
+    public NotificationException(String message) {
+        super(message);
+    }
+
+    public NotificationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,430 @@
+package com.redalert.backend.application.pipeline;
+
+import com.google.api.services.gmail.model.Message;
+import com.redalert.backend.application.dedup.ProcessedMessageIndex;
+import com.redalert.backend.application.usecase.AlertHistoryService;
+import com.redalert.backend.application.usecase.AlertOutboxRelay;
+import com.redalert.backend.application.usecase.CalendarEventService;
+import com.redalert.backend.application.usecase.EmailContentExtractor;
+import com.redalert.backend.application.usecase.MessageAcknowledgementService;
+import com.redalert.backend.application.usecase.ProcessedEmailService;
+import com.redalert.backend.domain.model.Alert;
+import com.redalert.backend.domain.model.AlertTimeline;
+import com.redalert.backend.domain.model.Category;
+import com.redalert.backend.domain.model.ClassAlertDto;
+import com.redalert.backend.domain.port.AiAnalysisPort;
+import com.redalert.backend.infrastructure.calendar.adapter.CalendarBatchExecutor;
+import com.redalert.backend.infrastructure.gmail.adapter.GmailBatchFetcher;
+import com.redalert.backend.infrastructure.tracing.TracingSupport;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Staged pipeline that turns claimed Gmail messages into alerts.
+ *
+ * Stages run in order, each with its own bounded queue and workers:
+ * ingest (batch fetch) → decode → persist → analyze (AI) → calendar →
+ * notify (history + outbox, delivered by {@link AlertOutboxRelay}) → ack
+ * (batched mark as read).
+ *
+ * A stage blocks when handing work to a full downstream queue, so a slow
+ * AI stage throttles fetching instead of buffering messages in memory.
+ * Workers and queue capacity are configured per stage under
+ * {@code email.pipeline.<stage>}.
+ *
+ * Each message is traced as an email.message span with one pipeline.<stage>
+ * child per stage. Stages that handle several messages at once do the work
+ * in a pipeline.<stage>.batch span of its own trace, referenced from each
+ * message's stage span.
+ */
+@Component
+@Slf4j
+public class EmailProcessingPipeline {
+
+    private static final int SNIPPET_LENGTH = 200;
+    private static final int MAX_TRACED_MESSAGE_IDS = 100;
+
+    private final GmailBatchFetcher batchFetcher;
+    private final EmailContentExtractor contentExtractor;
+    private final ProcessedEmailService processedEmailService;
+    private final ProcessedMessageIndex processedMessageIndex;
+    private final AiAnalysisPort aiAnalysisPort;
+    private final CalendarEventService calendarEventService;
+    private final AlertHistoryService alertHistoryService;
+    private final AlertOutboxRelay alertOutboxRelay;
+    private final MessageAcknowledgementService messageAcknowledgementService;
+    private final TracingSupport tracing;
+
+    private final PipelineStage<MessageContext> ingest;
+    private final PipelineStage<MessageContext> decode;
+    private final PipelineStage<MessageContext> persist;
+    private final PipelineStage<MessageContext> analyze;
+    private final PipelineStage<MessageContext> calendar;
+    private final PipelineStage<MessageContext> notify;
+    private final PipelineStage<MessageContext> ack;
+    private final List<PipelineStage<MessageContext>> stages;
+
+    public EmailProcessingPipeline(
+            GmailBatchFetcher batchFetcher,
+            EmailContentExtractor contentExtractor,
+            ProcessedEmailService processedEmailService,
+            ProcessedMessageIndex processedMessageIndex,
+            AiAnalysisPort aiAnalysisPort,
+            CalendarEventService calendarEventService,
+            AlertHistoryService alertHistoryService,
+            AlertOutboxRelay alertOutboxRelay,
+            MessageAcknowledgementService messageAcknowledgementService,
+            TracingSupport tracing,
+            MeterRegistry meterRegistry,
+            Environment environment) {
+        this.batchFetcher = batchFetcher;
+        this.contentExtractor = contentExtractor;
+        this.processedEmailService = processedEmailService;
+        this.processedMessageIndex = processedMessageIndex;
+        this.aiAnalysisPort = aiAnalysisPort;
+        this.calendarEventService = calendarEventService;
+        this.alertHistoryService = alertHistoryService;
+        this.alertOutboxRelay = alertOutboxRelay;
+        this.messageAcknowledgementService = messageAcknowledgementService;
+        this.tracing = tracing;
+
+        this.ingest = stage("ingest", 2, 200, GmailBatchFetcher.MAX_BATCH_SIZE, this::ingest,
+                meterRegistry, environment);
+        this.decode = stage("decode", 2, 100, 1, this::decode, meterRegistry, environment);
+        this.persist = stage("persist", 2, 100, 1, this::persist, meterRegistry, environment);
+        this.analyze = stage("analyze", 4, 50, 1, this::analyze, meterRegistry, environment);
+        this.calendar = stage("calendar", 2, 50, CalendarBatchExecutor.MAX_BATCH_SIZE, this::createCalendarEvents,
+                meterRegistry, environment);
+        this.notify = stage("notify", 2, 100, 1, this::notify, meterRegistry, environment);
+        this.ack = stage("ack", 1, 1000, MessageAcknowledgementService.MAX_BATCH_MODIFY_IDS, this::acknowledge,
+                meterRegistry, environment);
+        this.stages = List.of(ingest, decode, persist, analyze, calendar, notify, ack);
+    }
+
+    @PostConstruct
+    public void start() {
+        stages.forEach(PipelineStage::start);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stages.forEach(PipelineStage::stop);
+    }
+
+    /**
+     * Submits a claimed message to the pipeline, blocking while the ingest
+     * queue is full.
+     *
+     * @return Future completed with true once the alert was sent, false if
+     *         the message was skipped or failed
+     */
+    public CompletableFuture<Boolean> submit(MessageContext context) {
+        Span span = tracing.startSpan("email.message", null)
+                .tag(TracingSupport.TAG_MESSAGE_ID, context.getMessageId())
+                .tag("category", context.getPrimaryCategory().getName());
+        context.setSpan(span);
+        context.getCompletion().whenComplete((processed, error) -> span
+                .tag("processed", String.valueOf(Boolean.TRUE.equals(processed)))
+                .end());
+
+        try {
+            ingest.submit(context);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(context);
+        }
+        return context.getCompletion();
+    }
+
+    /**
+     * Fetches full messages for contexts submitted with an ID only, in one
+     * batched round-trip per drained group.
+     */
+    private void ingest(List<MessageContext> contexts) throws InterruptedException {
+        List<String> missing = contexts.stream()
+                .filter(context -> context.getMessage() == null)
+                .map(MessageContext::getMessageId)
+                .toList();
+
+        if (!missing.isEmpty()) {
+            GmailBatchFetcher.BatchFetchResult fetched = batchFetcher.fetchFull(missing);
+            if (fetched.hasFailures()) {
+                log.error("Failed to fetch {} message(s): {}", fetched.failures().size(), fetched.failures());
+            }
+            Map<String, Message> byId = new HashMap<>();
+            fetched.messages().forEach(message -> byId.put(message.getId(), message));
+            for (MessageContext context : contexts) {
+                if (context.getMessage() == null) {
+                    context.setMessage(byId.get(context.getMessageId()));
+                    context.setFetchedAt(LocalDateTime.now());
+                }
+            }
+        }
+
+        for (MessageContext context : contexts) {
+            if (context.getMessage() == null) {
+                // Release failed claims so they are retried next cycle
+                processedMessageIndex.release(context.getMessageId());
+                context.complete(false);
+                continue;
+            }
+            decode.submit(context);
+        }
+    }
+
+    private void decode(List<MessageContext> contexts) throws InterruptedException {
+        MessageContext context = contexts.get(0);
+        Message message = context.getMessage();
+
+        if (context.getFrom() == null) {
+            context.setFrom(contentExtractor.extractHeader(message, "From"));
+        }
+        if (context.getSubject() == null) {
+            context.setSubject(contentExtractor.extractHeader(message, "Subject"));
+        }
+        if (context.getEmailBody() == null) {
+            context.setEmailBody(contentExtractor.extractEmailBody(message));
+        }
+        context.setDate(contentExtractor.extractHeader(message, "Date"));
+
+        String emailBody = context.getEmailBody();
+
+        // LOG JSON DETALHADO
+        log.info("---------- JSON EMAIL INICIO ----------");
+        log.info("{{");
+        log.info("  \"messageId\": \"{}\",", context.getMessageId());
+        log.info("  \"category\": \"{}\",", context.getPrimaryCategory().getName());
+        log.info("  \"query\": \"{}\",", context.getPrimaryCategory().buildGmailQuery());
+        log.info("  \"from\": \"{}\",", context.getFrom());
+        log.info("  \"subject\": \"{}\",", context.getSubject());
+        log.info("  \"date\": \"{}\",", context.getDate());
+        log.info("  \"bodyLength\": {},", emailBody != null ? emailBody.length() : 0);
+        log.info("  \"bodyPreview\": \"{}\"",
+                emailBody != null
+                        ? emailBody.substring(0, Math.min(500, emailBody.length())).replace("\n", " ").replace("\"",
+                                "'")
+                        : "null");
+        log.info("}}");
+        log.info("---------- JSON EMAIL FIM ----------");
+
+        if (emailBody == null || emailBody.isBlank()) {
+            log.warn("Empty email body for message ID: {}", context.getMessageId());
+            ack.submit(context);
+            return;
+        }
+
+        log.info("📧 Processing email: '{}' from '{}'", context.getSubject(), context.getFrom());
+
+        // Extract snippet (first 200 chars of body)
+        String snippet = emailBody.length() > SNIPPET_LENGTH
+                ? emailBody.substring(0, SNIPPET_LENGTH) + "..."
+                : emailBody;
+        context.setSnippet(snippet.replace("\n", " ").replace("\r", " "));
+
+        // Parse received date
+        context.setReceivedAt(contentExtractor.parseEmailDate(context.getDate()));
+        if (message.getInternalDate() != null) {
+            context.setEmailReceivedAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(message.getInternalDate()),
+                    ZoneId.systemDefault()));
+        }
+
+        persist.submit(context);
+    }
+
+    private void persist(List<MessageContext> contexts) throws InterruptedException {
+        MessageContext context = contexts.get(0);
+
+        tracing.inSpan("db.processed_email.save", Map.of(), () -> processedEmailService.saveIfNotExists(
+                context.getMessageId(),
+                context.getFrom(),
+                context.getSubject(),
+                context.getSnippet(),
+                context.getReceivedAt(),
+                context.getMatchedCategories()));
+        context.setPersisted(true);
+
+        analyze.submit(context);
+    }
+
+    private void analyze(List<MessageContext> contexts) throws InterruptedException {
+        MessageContext context = contexts.get(0);
+
+        // Analyze with AI (paced by the provider's adaptive rate limiter)
+        ClassAlertDto alert = aiAnalysisPort.analyzeEmailContent(context.getEmailBody(), context.getReceivedAt());
+        context.setAnalyzedAt(LocalDateTime.now());
+
+        log.info("AI Analysis result: {}", alert != null ? "Found" : "NULL");
+
+        // If AI failed, create a basic alert object
+        if (alert == null) {
+            log.info("AI analysis returned null, creating basic alert from email data.");
+            alert = new ClassAlertDto(
+                    context.getSubject(),
+                    context.getReceivedAt(),
+                    null,
+                    String.format("Email from: %s\n\n%s", context.getFrom(), context.getSnippet()),
+                    true,
+                    null);
+        }
+
+        context.setAlert(alert);
+        calendar.submit(context);
+    }
+
+    /**
+     * Creates calendar events for the alerts drained together, in one
+     * batched call when several alerts arrive at once.
+     */
+    private void createCalendarEvents(List<MessageContext> contexts) throws InterruptedException {
+        Map<String, String> calendarLinks;
+        if (contexts.size() == 1) {
+            MessageContext context = contexts.get(0);
+            // ALWAYS attempt to create a calendar event for any alert reaching this point
+            log.info("Processing calendar event for: '{}'", context.getAlert().title());
+            calendarLinks = new HashMap<>();
+            calendarLinks.put(context.getMessageId(),
+                    calendarEventService.createCalendarEvent(context.getAlert(), context.getMessageId()));
+        } else {
+            log.info("Processing {} calendar events in one batch", contexts.size());
+            Map<String, ClassAlertDto> alerts = new LinkedHashMap<>();
+            contexts.forEach(context -> alerts.put(context.getMessageId(), context.getAlert()));
+            calendarLinks = calendarEventService.createCalendarEvents(alerts);
+        }
+
+        for (MessageContext context : contexts) {
+            ClassAlertDto alert = context.getAlert();
+            String calendarLink = calendarLinks.get(context.getMessageId());
+
+            // Re-create final alert object with the link and forced urgency
+            context.setAlert(new ClassAlertDto(
+                    alert.title(),
+                    alert.date(),
+                    alert.url(),
+                    alert.description(),
+                    true, // FORCE URGENT for all filtered emails
+                    calendarLink));
+
+            log.info("🗓️ Calendar Event Status for '{}': {}", alert.title(),
+                    calendarLink != null ? "Created/Linked" : "Failed");
+
+            notify.submit(context);
+        }
+    }
+
+    private void notify(List<MessageContext> contexts) throws InterruptedException {
+        MessageContext context = contexts.get(0);
+        ClassAlertDto alert = context.getAlert();
+
+        Category category = context.getPrimaryCategory();
+        AlertTimeline timeline = context.getTimeline();
+        Alert saved = tracing.inSpan("db.alert.save", Map.of(), () -> alertHistoryService.addAlert(alert,
+                context.getMessageId(), context.getFrom(), context.getSubject(), category, timeline));
+
+        log.info("---------- FINAL ALERT DATA TO SEND ----------");
+        log.info("Title: {}", alert.title());
+        log.info("Is Urgent: {}", alert.isUrgent());
+        log.info("Date: {}", alert.date());
+        log.info("Link: {}", alert.url());
+        log.info("Calendar Link: {}", alert.calendarLink());
+        log.info("Description: {}", alert.description());
+        log.info("-----------------------------------------------");
+
+        // The alert and its outbox entry are committed together; the relay delivers it
+        log.debug("Alert {} queued for delivery", saved.getId());
+        alertOutboxRelay.wakeUp();
+
+        ack.submit(context);
+    }
+
+    /**
+     * Buffers the messages for a batched mark-as-read to avoid reprocessing
+     * and completes them.
+     */
+    private void acknowledge(List<MessageContext> contexts) {
+        messageAcknowledgementService.acknowledgeAll(contexts.stream()
+                .map(MessageContext::getMessageId)
+                .toList());
+
+        contexts.forEach(context -> context.complete(context.getAlert() != null));
+    }
+
+    /**
+     * Runs a stage handler in tracing spans: one per message, child of the
+     * message span, and for multi-message batches a shared batch span in
+     * which the work runs.
+     */
+    private PipelineStage.Handler<MessageContext> traced(String name, PipelineStage.Handler<MessageContext> handler) {
+        String spanName = "pipeline." + name;
+        return contexts -> {
+            List<Span> spans = contexts.stream()
+                    .map(context -> tracing.startSpan(spanName, context.getSpan()))
+                    .toList();
+
+            Span batchSpan = null;
+            if (contexts.size() > 1) {
+                batchSpan = tracing.startSpan(spanName + ".batch", null)
+                        .tag("batch.size", String.valueOf(contexts.size()))
+                        .tag(TracingSupport.TAG_MESSAGE_IDS, contexts.stream()
+                                .limit(MAX_TRACED_MESSAGE_IDS)
+                                .map(MessageContext::getMessageId)
+                                .collect(Collectors.joining(",")));
+                String batchTraceId = batchSpan.context().traceId();
+                spans.forEach(span -> span.tag(TracingSupport.TAG_BATCH_TRACE_ID, batchTraceId));
+            }
+
+            Span workSpan = batchSpan != null ? batchSpan : spans.get(0);
+            try (Tracer.SpanInScope ignored = tracing.withSpan(workSpan)) {
+                handler.handle(contexts);
+            } catch (Exception e) {
+                spans.forEach(span -> span.error(e));
+                if (batchSpan != null) {
+                    batchSpan.error(e);
+                }
+                throw e;
+            } finally {
+                if (batchSpan != null) {
+                    batchSpan.end();
+                }
+                spans.forEach(Span::end);
+            }
+        };
+    }
+
+    private PipelineStage<MessageContext> stage(String name, int defaultWorkers, int defaultCapacity,
+            int maxBatchSize, PipelineStage.Handler<MessageContext> handler, MeterRegistry meterRegistry,
+            Environment environment) {
+        String prefix = "email.pipeline." + name + ".";
+        int workers = environment.getProperty(prefix + "workers", Integer.class, defaultWorkers);
+        int capacity = environment.getProperty(prefix + "queue-capacity", Integer.class, defaultCapacity);
+
+        return new PipelineStage<>(name, workers, capacity, maxBatchSize, traced(name, handler),
+                (contexts, error) -> contexts.forEach(this::fail), meterRegistry);
+    }
+
+    /**
+     * Completes a context that failed or was dropped on shutdown. Messages
+     * not recorded yet are released so the next cycle claims them again.
+     */
+    private void fail(MessageContext context) {
+        if (!context.isPersisted()) {
+            processedMessageIndex.release(context.getMessageId());
+        }
+        context.complete(false);
+    }
+}
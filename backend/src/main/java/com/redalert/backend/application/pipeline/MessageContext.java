@@ -0,0 +1,105 @@
+package com.redalert.backend.application.pipeline;
+
+import com.google.api.services.gmail.model.Message;
+import com.redalert.backend.domain.model.AlertTimeline;
+import com.redalert.backend.domain.model.Category;
+import com.redalert.backend.domain.model.ClassAlertDto;
+import io.micrometer.tracing.Span;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * State of one Gmail message as it moves through the processing pipeline.
+ *
+ * Each stage fills in the fields it produces and hands the context to the
+ * next stage; only one stage works on a context at a time. The completion
+ * future resolves to true once the alert was sent and the message
+ * acknowledged, or false if the message was skipped or failed.
+ */
+@Getter
+@Setter
+public class MessageContext {
+
+    /**
+     * Gmail message ID
+     */
+    private final String messageId;
+
+    /**
+     * Categories that matched the message, primary first
+     */
+    private final List<Category> matchedCategories;
+
+    private final CompletableFuture<Boolean> completion = new CompletableFuture<>();
+
+    /**
+     * Full Gmail message; fetched by the ingest stage when not supplied
+     */
+    private Message message;
+
+    private String from;
+    private String subject;
+    private String date;
+    private String emailBody;
+    private String snippet;
+    private LocalDateTime receivedAt;
+
+    /**
+     * Alert produced by the analyze stage and enriched by the calendar stage
+     */
+    private ClassAlertDto alert;
+
+    /**
+     * Pipeline timestamps for latency tracking: when Gmail received the
+     * email (internalDate), when the list or history call that found it
+     * returned, when its full content was fetched and when it was analyzed
+     */
+    private LocalDateTime emailReceivedAt;
+    private final LocalDateTime listedAt;
+    private LocalDateTime fetchedAt;
+    private LocalDateTime analyzedAt;
+
+    /**
+     * Set once the persist stage recorded the message; earlier failures
+     * release the claim so the message is retried
+     */
+    private boolean persisted;
+
+    /**
+     * Tracing span covering the message from submission to completion;
+     * parent of the per-stage spans
+     */
+    private Span span;
+
+    public MessageContext(String messageId, List<Category> matchedCategories, LocalDateTime listedAt) {
+        this.messageId = messageId;
+        this.matchedCategories = List.copyOf(matchedCategories);
+        this.listedAt = listedAt;
+    }
+
+    public MessageContext(Message message, List<Category> matchedCategories, LocalDateTime listedAt,
+            LocalDateTime fetchedAt) {
+        this(message.getId(), matchedCategories, listedAt);
+        this.message = message;
+        this.fetchedAt = fetchedAt;
+    }
+
+    public Category getPrimaryCategory() {
+        return matchedCategories.get(0);
+    }
+
+    /**
+     * Timestamps recorded so far (not yet notified).
+     */
+    public AlertTimeline getTimeline() {
+        return new AlertTimeline(emailReceivedAt, listedAt, fetchedAt, analyzedAt, null);
+    }
+
+    public void complete(boolean processed) {
+        completion.complete(processed);
+    }
+}
@@ -0,0 +1,187 @@
+package com.redalert.backend.application.pipeline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One stage of a processing pipeline: a bounded queue drained by a fixed
+ * number of virtual-thread workers.
+ *
+ * {@link #submit(Object)} blocks while the queue is full, so a slow stage
+ * pushes back on the stage (or poller) feeding it instead of letting items
+ * pile up in memory. Workers may drain several queued items at once for
+ * handlers that benefit from batching.
+ *
+ * @param <T> Item type flowing through the stage
+ */
+@Slf4j
+public class PipelineStage<T> {
+
+    /**
+     * Work done by the stage on a batch of items.
+     */
+    @FunctionalInterface
+    public interface Handler<T> {
+        void handle(List<T> items) throws Exception;
+    }
+
+    /**
+     * Called with the items of a batch whose handler threw.
+     */
+    @FunctionalInterface
+    public interface FailureHandler<T> {
+        void onFailure(List<T> items, Exception error);
+    }
+
+    private final String name;
+    private final BlockingQueue<T> queue;
+    private final int workers;
+    private final int maxBatchSize;
+    private final Handler<T> handler;
+    private final FailureHandler<T> failureHandler;
+    private final List<Thread> workerThreads = new ArrayList<>();
+
+    private final Counter processed;
+    private final Counter failed;
+    private final Timer duration;
+
+    private volatile boolean running;
+
+    public PipelineStage(String name, int workers, int queueCapacity, int maxBatchSize,
+            Handler<T> handler, FailureHandler<T> failureHandler, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.workers = Math.max(1, workers);
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.handler = handler;
+        this.failureHandler = failureHandler;
+
+        Gauge.builder("redalert.pipeline.queue.depth", queue, BlockingQueue::size)
+                .tag("stage", name)
+                .description("Items waiting in the stage queue")
+                .register(meterRegistry);
+        Gauge.builder("redalert.pipeline.queue.capacity", queue, q -> q.size() + q.remainingCapacity())
+                .tag("stage", name)
+                .description("Capacity of the stage queue")
+                .register(meterRegistry);
+        this.processed = Counter.builder("redalert.pipeline.items")
+                .tag("stage", name)
+                .tag("outcome", "processed")
+                .description("Items handled by the stage")
+                .register(meterRegistry);
+        this.failed = Counter.builder("redalert.pipeline.items")
+                .tag("stage", name)
+                .tag("outcome", "failed")
+                .description("Items handled by the stage")
+                .register(meterRegistry);
+        this.duration = Timer.builder("redalert.pipeline.stage.duration")
+                .tag("stage", name)
+                .description("Time spent handling one batch in the stage")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts the stage workers.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            workerThreads.add(Thread.ofVirtual()
+                    .name("pipeline-" + name + "-" + i)
+                    .start(this::runWorker));
+        }
+        log.info("Pipeline stage '{}' started with {} worker(s), queue capacity {}", name, workers,
+                queue.remainingCapacity());
+    }
+
+    /**
+     * Stops the stage workers. Items still queued, or submitted after the
+     * stage stopped, are handed to the failure handler so nobody waits on
+     * them forever.
+     */
+    public synchronized void stop() {
+        running = false;
+        workerThreads.forEach(Thread::interrupt);
+        workerThreads.clear();
+
+        List<T> dropped = new ArrayList<>();
+        queue.drainTo(dropped);
+        if (!dropped.isEmpty()) {
+            log.warn("Pipeline stage '{}' stopped with {} queued item(s)", name, dropped.size());
+            reject(dropped);
+        }
+    }
+
+    /**
+     * Enqueues an item, blocking while the stage queue is full.
+     *
+     * @throws InterruptedException if interrupted while waiting for space
+     */
+    public void submit(T item) throws InterruptedException {
+        queue.put(item);
+        // Raced with stop(): whichever side removes the item fails it
+        if (!running && queue.remove(item)) {
+            reject(List.of(item));
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int depth() {
+        return queue.size();
+    }
+
+    private void reject(List<T> items) {
+        failed.increment(items.size());
+        failureHandler.onFailure(items, new IllegalStateException("Pipeline stage '" + name + "' stopped"));
+    }
+
+    private void runWorker() {
+        List<T> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (maxBatchSize > 1) {
+                queue.drainTo(batch, maxBatchSize - 1);
+            }
+
+            List<T> items = List.copyOf(batch);
+            batch.clear();
+
+            long start = System.nanoTime();
+            try {
+                handler.handle(items);
+                processed.increment(items.size());
+            } catch (InterruptedException e) {
+                failed.increment(items.size());
+                failureHandler.onFailure(items, e);
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Pipeline stage '{}' failed for {} item(s)", name, items.size(), e);
+                failed.increment(items.size());
+                failureHandler.onFailure(items, e);
+            } finally {
+                duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
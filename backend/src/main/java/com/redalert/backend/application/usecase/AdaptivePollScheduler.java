@@ -0,0 +1,173 @@
+package com.redalert.backend.application.usecase;
+
+import com.redalert.backend.domain.model.Category;
+import com.redalert.backend.domain.model.CategoryPollResult;
+import com.redalert.backend.domain.model.CategoryPollSchedule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps a next-due time per category and adapts each category's polling
+ * interval to how often it actually receives mail.
+ *
+ * Each successful poll updates an exponentially weighted moving average
+ * of the messages found per poll. While that hit rate is at or above the
+ * hot threshold the interval shrinks (hot categories are polled more
+ * often); below it the interval grows exponentially, so idle categories
+ * cost few API calls and a single stray message does not reset a cold
+ * category's backoff. Intervals stay within the category's
+ * optional min/max bounds, or the global defaults when those are unset.
+ * Failed or timed-out polls keep the current interval.
+ */
+@Component
+@Slf4j
+public class AdaptivePollScheduler {
+
+    private final long initialIntervalMs;
+    private final long defaultMinIntervalMs;
+    private final long defaultMaxIntervalMs;
+    private final double speedupFactor;
+    private final double backoffMultiplier;
+    private final double hitRateSmoothing;
+    private final double hotHitRate;
+
+    private final Map<Long, Schedule> schedules = new ConcurrentHashMap<>();
+
+    public AdaptivePollScheduler(
+            @Value("${email.polling.fixed-delay:60000}") long initialIntervalMs,
+            @Value("${email.polling.adaptive.min-interval:15000}") long defaultMinIntervalMs,
+            @Value("${email.polling.adaptive.max-interval:900000}") long defaultMaxIntervalMs,
+            @Value("${email.polling.adaptive.speedup-factor:0.5}") double speedupFactor,
+            @Value("${email.polling.adaptive.backoff-multiplier:2.0}") double backoffMultiplier,
+            @Value("${email.polling.adaptive.hit-rate-smoothing:0.3}") double hitRateSmoothing,
+            @Value("${email.polling.adaptive.hot-hit-rate:0.5}") double hotHitRate) {
+        this.initialIntervalMs = initialIntervalMs;
+        this.defaultMinIntervalMs = Math.max(1, defaultMinIntervalMs);
+        this.defaultMaxIntervalMs = Math.max(this.defaultMinIntervalMs, defaultMaxIntervalMs);
+        this.speedupFactor = Math.clamp(speedupFactor, 0.01, 1.0);
+        this.backoffMultiplier = Math.max(1.0, backoffMultiplier);
+        this.hitRateSmoothing = Math.clamp(hitRateSmoothing, 0.0, 1.0);
+        this.hotHitRate = Math.max(0.0, hotHitRate);
+    }
+
+    /**
+     * Returns the categories whose next poll is due. Categories seen for the
+     * first time are due immediately; schedules of categories no longer in
+     * the list are dropped.
+     */
+    public List<Category> selectDue(List<Category> categories) {
+        Set<Long> ids = categories.stream().map(Category::getId).collect(Collectors.toSet());
+        schedules.keySet().retainAll(ids);
+
+        long now = System.currentTimeMillis();
+        return categories.stream()
+                .filter(category -> scheduleFor(category).nextDueAt <= now)
+                .toList();
+    }
+
+    /**
+     * Adapts the category's interval to the outcome of a poll and schedules
+     * its next poll.
+     */
+    public void recordPoll(Category category, CategoryPollResult result) {
+        Schedule schedule = scheduleFor(category);
+        long now = System.currentTimeMillis();
+
+        synchronized (schedule) {
+            long previous = schedule.intervalMs;
+
+            if (result.status() == CategoryPollResult.Status.SUCCESS) {
+                int hits = result.processedCount();
+                schedule.hitRate = hitRateSmoothing * hits + (1 - hitRateSmoothing) * schedule.hitRate;
+                schedule.intervalMs = schedule.hitRate >= hotHitRate && schedule.hitRate > 0
+                        ? (long) (schedule.intervalMs * speedupFactor)
+                        : (long) (schedule.intervalMs * backoffMultiplier);
+            }
+            schedule.intervalMs = clamp(category, schedule.intervalMs);
+            schedule.lastPolledAt = now;
+            schedule.nextDueAt = now + schedule.intervalMs;
+
+            if (schedule.intervalMs != previous) {
+                log.debug("Polling interval for category '{}' changed from {} ms to {} ms", category.getName(),
+                        previous, schedule.intervalMs);
+            }
+        }
+    }
+
+    /**
+     * Moves a category to its shortest interval, e.g. after a backlog was
+     * detected.
+     */
+    public void markHot(Category category) {
+        Schedule schedule = scheduleFor(category);
+        synchronized (schedule) {
+            schedule.intervalMs = minIntervalFor(category);
+            schedule.nextDueAt = System.currentTimeMillis() + schedule.intervalMs;
+        }
+    }
+
+    /**
+     * Current schedule of every tracked category, soonest due first.
+     */
+    public List<CategoryPollSchedule> getSchedules() {
+        return schedules.values().stream()
+                .map(Schedule::toView)
+                .sorted(Comparator.comparing(CategoryPollSchedule::nextDueAt))
+                .toList();
+    }
+
+    private Schedule scheduleFor(Category category) {
+        Schedule schedule = schedules.computeIfAbsent(category.getId(),
+                id -> new Schedule(category, clamp(category, initialIntervalMs)));
+        schedule.category = category;
+        return schedule;
+    }
+
+    private long clamp(Category category, long intervalMs) {
+        long min = minIntervalFor(category);
+        long max = Math.max(min, category.getMaxPollIntervalMs() != null
+                ? category.getMaxPollIntervalMs()
+                : defaultMaxIntervalMs);
+        return Math.clamp(intervalMs, min, max);
+    }
+
+    private long minIntervalFor(Category category) {
+        return category.getMinPollIntervalMs() != null ? category.getMinPollIntervalMs() : defaultMinIntervalMs;
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    /**
+     * Mutable polling state of one category.
+     */
+    private static final class Schedule {
+        private volatile Category category;
+        private volatile long intervalMs;
+        private volatile double hitRate;
+        private volatile long lastPolledAt;
+        private volatile long nextDueAt;
+
+        private Schedule(Category category, long intervalMs) {
+            this.category = category;
+            this.intervalMs = intervalMs;
+        }
+
+        private CategoryPollSchedule toView() {
+            return new CategoryPollSchedule(category.getId(), category.getName(), intervalMs, hitRate,
+                    lastPolledAt > 0 ? toLocalDateTime(lastPolledAt) : null, toLocalDateTime(nextDueAt));
+        }
+    }
+}
@@ -1,7 +1,13 @@
 package com.redalert.backend.application.usecase;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.redalert.backend.domain.model.Alert;
+import com.redalert.backend.domain.model.AlertOutboxEntry;
+import com.redalert.backend.domain.model.AlertTimeline;
+import com.redalert.backend.domain.model.Category;
 import com.redalert.backend.domain.model.ClassAlertDto;
+import com.redalert.backend.domain.repository.AlertOutboxRepository;
 import com.redalert.backend.domain.repository.AlertRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,7 +26,12 @@ import java.util.List;
 @Slf4j
 public class AlertHistoryService {
 
+    private static final int MAX_EMAIL_FROM_LENGTH = 255;
+    private static final int MAX_EMAIL_SUBJECT_LENGTH = 500;
+
     private final AlertRepository alertRepository;
+    private final AlertOutboxRepository alertOutboxRepository;
+    private final ObjectMapper objectMapper;
 
     /**
      * Adds a new alert to the database.
@@ -59,6 +70,40 @@ public class AlertHistoryService {
         return saved;
     }
 
+    /**
+     * Adds an alert produced by the processing pipeline, with its email
+     * metadata, category and pipeline timestamps, and queues its
+     * notification in the outbox within the same transaction (delivered by
+     * {@link AlertOutboxRelay}).
+     */
+    @Transactional
+    public Alert addAlert(ClassAlertDto classAlert, String emailId, String emailFrom, String emailSubject,
+            Category category, AlertTimeline timeline) {
+        Alert alert = new Alert();
+        alert.setTitle(classAlert.title());
+        alert.setDescription(classAlert.description());
+        alert.setAlertDate(classAlert.date());
+        alert.setUrl(classAlert.url());
+        alert.setIsUrgent(classAlert.isUrgent());
+        alert.setEmailId(emailId);
+        alert.setEmailFrom(truncate(emailFrom, MAX_EMAIL_FROM_LENGTH));
+        alert.setEmailSubject(truncate(emailSubject, MAX_EMAIL_SUBJECT_LENGTH));
+        alert.setCategory(category);
+        alert.setEmailReceivedAt(timeline.receivedAt());
+        alert.setListedAt(timeline.listedAt());
+        alert.setFetchedAt(timeline.fetchedAt());
+        alert.setAnalyzedAt(timeline.analyzedAt());
+        alert.setNotifiedAt(timeline.notifiedAt());
+
+        Alert saved = alertRepository.save(alert);
+        alertOutboxRepository.save(AlertOutboxEntry.builder()
+                .alertId(saved.getId())
+                .payload(toJson(classAlert))
+                .build());
+        log.info("Alert saved with email metadata: {} (ID: {})", saved.getTitle(), saved.getId());
+        return saved;
+    }
+
     /**
      * Gets recent alerts with limit.
      */
@@ -120,4 +165,16 @@ public class AlertHistoryService {
         alertRepository.deleteOlderThan(cutoff);
         log.info("Deleted alerts older than {} days", daysOld);
     }
+
+    private String toJson(ClassAlertDto classAlert) {
+        try {
+            return objectMapper.writeValueAsString(classAlert);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize alert notification", e);
+        }
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
 }
@@ -0,0 +1,185 @@
+package com.redalert.backend.application.usecase;
+
+import com.redalert.backend.domain.model.Alert;
+import com.redalert.backend.domain.model.AlertTimeline;
+import com.redalert.backend.domain.model.CategoryLatency;
+import com.redalert.backend.domain.model.LatencyPercentiles;
+import com.redalert.backend.domain.repository.AlertRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks end-to-end alert latency, from email receipt to WebSocket
+ * delivery, per category.
+ *
+ * Every notified alert is added to HDR histograms (end to end and per
+ * pipeline step): recording is wait-free, and each read folds the values
+ * recorded since the previous read into a running histogram, so
+ * percentiles are computed incrementally without scanning the alerts
+ * table. On startup the histograms are rebuilt from alerts
+ * notified within the configured window.
+ */
+@Service
+@Slf4j
+public class AlertLatencyService {
+
+    /**
+     * Category name under which every alert is also recorded.
+     */
+    public static final String ALL_CATEGORIES = "all";
+
+    private static final String UNCATEGORIZED = "uncategorized";
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final List<String> STAGES = List.of("detect", "fetch", "analyze", "notify");
+
+    private final AlertRepository alertRepository;
+    private final MeterRegistry meterRegistry;
+    private final int windowDays;
+
+    private final Map<String, CategoryHistograms> histograms = new ConcurrentHashMap<>();
+
+    public AlertLatencyService(
+            AlertRepository alertRepository,
+            MeterRegistry meterRegistry,
+            @Value("${alerts.latency.window-days:7}") int windowDays) {
+        this.alertRepository = alertRepository;
+        this.meterRegistry = meterRegistry;
+        this.windowDays = Math.max(0, windowDays);
+    }
+
+    /**
+     * Rebuilds the histograms from recently notified alerts.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            List<Alert> alerts = alertRepository.findNotifiedSince(LocalDateTime.now().minusDays(windowDays));
+            alerts.forEach(alert -> add(categoryName(alert), AlertTimeline.of(alert)));
+            log.info("Alert latency rebuilt from {} alert(s) of the last {} day(s)", alerts.size(), windowDays);
+        } catch (Exception e) {
+            log.error("Failed to rebuild alert latency from the database", e);
+        }
+    }
+
+    /**
+     * Records the latency of a notified alert.
+     *
+     * @param category Category name (null if unknown)
+     * @param timeline Pipeline timestamps of the alert
+     */
+    public void record(String category, AlertTimeline timeline) {
+        String name = category != null ? category : UNCATEGORIZED;
+        add(name, timeline);
+
+        long endToEndMs = AlertTimeline.spanMs(timeline.receivedAt(), timeline.notifiedAt());
+        if (endToEndMs >= 0) {
+            Timer.builder("redalert.alert.latency")
+                    .description("Time from email receipt to WebSocket delivery")
+                    .tag("category", name)
+                    .register(meterRegistry)
+                    .record(endToEndMs, TimeUnit.MILLISECONDS);
+            log.info("⏱️ Alert delivered {} ms after the email was received (category '{}')", endToEndMs, name);
+        }
+    }
+
+    /**
+     * Latency of every category, slowest p95 first.
+     */
+    public List<CategoryLatency> getLatencyByCategory() {
+        return histograms.entrySet().stream()
+                .filter(entry -> !ALL_CATEGORIES.equals(entry.getKey()))
+                .map(entry -> entry.getValue().toLatency(entry.getKey()))
+                .sorted(Comparator.comparingLong((CategoryLatency latency) -> latency.endToEnd().p95Ms()).reversed())
+                .toList();
+    }
+
+    /**
+     * Latency across all categories.
+     */
+    public CategoryLatency getOverallLatency() {
+        CategoryHistograms all = histograms.get(ALL_CATEGORIES);
+        return all != null ? all.toLatency(ALL_CATEGORIES) : new CategoryHistograms().toLatency(ALL_CATEGORIES);
+    }
+
+    private void add(String category, AlertTimeline timeline) {
+        histograms.computeIfAbsent(category, name -> new CategoryHistograms()).record(timeline);
+        histograms.computeIfAbsent(ALL_CATEGORIES, name -> new CategoryHistograms()).record(timeline);
+    }
+
+    private static String categoryName(Alert alert) {
+        return alert.getCategory() != null ? alert.getCategory().getName() : UNCATEGORIZED;
+    }
+
+    /**
+     * End-to-end and per-step histograms of one category (values in ms).
+     */
+    private static final class CategoryHistograms {
+        private final LatencyHistogram endToEnd = new LatencyHistogram();
+        private final Map<String, LatencyHistogram> stages = new LinkedHashMap<>();
+
+        private CategoryHistograms() {
+            STAGES.forEach(stage -> stages.put(stage, new LatencyHistogram()));
+        }
+
+        private void record(AlertTimeline timeline) {
+            endToEnd.record(AlertTimeline.spanMs(timeline.receivedAt(), timeline.notifiedAt()));
+            stages.get("detect").record(AlertTimeline.spanMs(timeline.receivedAt(), timeline.listedAt()));
+            stages.get("fetch").record(AlertTimeline.spanMs(timeline.listedAt(), timeline.fetchedAt()));
+            stages.get("analyze").record(AlertTimeline.spanMs(timeline.fetchedAt(), timeline.analyzedAt()));
+            stages.get("notify").record(AlertTimeline.spanMs(timeline.analyzedAt(), timeline.notifiedAt()));
+        }
+
+        private CategoryLatency toLatency(String category) {
+            Map<String, LatencyPercentiles> stagePercentiles = new LinkedHashMap<>();
+            stages.forEach((stage, histogram) -> stagePercentiles.put(stage, histogram.percentiles()));
+            return new CategoryLatency(category, endToEnd.percentiles(), stagePercentiles);
+        }
+    }
+
+    /**
+     * Wait-free recorder plus the running histogram its intervals are
+     * folded into (auto-resizing, 3 significant digits).
+     */
+    private static final class LatencyHistogram {
+        private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+        private final Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+        private Histogram interval;
+
+        private void record(long spanMs) {
+            if (spanMs >= 0) {
+                recorder.recordValue(spanMs);
+            }
+        }
+
+        private synchronized LatencyPercentiles percentiles() {
+            interval = recorder.getIntervalHistogram(interval);
+            total.add(interval);
+
+            if (total.getTotalCount() == 0) {
+                return new LatencyPercentiles(0, 0, 0, 0, 0, 0);
+            }
+            return new LatencyPercentiles(
+                    total.getTotalCount(),
+                    total.getValueAtPercentile(50.0),
+                    total.getValueAtPercentile(95.0),
+                    total.getValueAtPercentile(99.0),
+                    total.getMaxValue(),
+                    total.getMean());
+        }
+    }
+}
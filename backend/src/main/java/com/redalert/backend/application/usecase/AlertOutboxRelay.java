@@ -0,0 +1,257 @@
+package com.redalert.backend.application.usecase;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redalert.backend.domain.model.Alert;
+import com.redalert.backend.domain.model.AlertOutboxEntry;
+import com.redalert.backend.domain.model.AlertTimeline;
+import com.redalert.backend.domain.model.ClassAlertDto;
+import com.redalert.backend.domain.port.NotificationPort;
+import com.redalert.backend.domain.repository.AlertOutboxRepository;
+import com.redalert.backend.domain.repository.AlertRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers alert notifications from the outbox.
+ *
+ * The pipeline writes each alert and its outbox entry in one transaction,
+ * then wakes the relay. The relay claims due entries in batches (FOR UPDATE
+ * SKIP LOCKED, so relays of several replicas never pick the same entry),
+ * sends them through the {@link NotificationPort} with bounded parallelism
+ * on virtual threads, and records the outcome: delivered entries are marked
+ * in one update, failed ones are retried with exponential backoff until
+ * alerts.outbox.max-attempts. Entries left claimed by a crashed relay become
+ * due again after the claim timeout. A scheduled run picks up retries and
+ * anything written while no wake-up was received.
+ */
+@Service
+@Slf4j
+public class AlertOutboxRelay {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final AlertOutboxRepository alertOutboxRepository;
+    private final AlertRepository alertRepository;
+    private final NotificationPort notificationPort;
+    private final AlertLatencyService alertLatencyService;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int parallelism;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final long maxRetryBackoffMs;
+    private final long claimTimeoutMs;
+    private final long retentionMs;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicBoolean wakeUpRequested = new AtomicBoolean();
+
+    private final Counter delivered;
+    private final Counter failed;
+    private final Counter abandoned;
+
+    public AlertOutboxRelay(
+            AlertOutboxRepository alertOutboxRepository,
+            AlertRepository alertRepository,
+            NotificationPort notificationPort,
+            AlertLatencyService alertLatencyService,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${alerts.outbox.batch-size:100}") int batchSize,
+            @Value("${alerts.outbox.parallelism:4}") int parallelism,
+            @Value("${alerts.outbox.max-attempts:10}") int maxAttempts,
+            @Value("${alerts.outbox.retry-backoff:1000}") long retryBackoffMs,
+            @Value("${alerts.outbox.max-retry-backoff:60000}") long maxRetryBackoffMs,
+            @Value("${alerts.outbox.claim-timeout:30000}") long claimTimeoutMs,
+            @Value("${alerts.outbox.retention:86400000}") long retentionMs) {
+        this.alertOutboxRepository = alertOutboxRepository;
+        this.alertRepository = alertRepository;
+        this.notificationPort = notificationPort;
+        this.alertLatencyService = alertLatencyService;
+        this.objectMapper = objectMapper;
+        this.batchSize = Math.max(1, batchSize);
+        this.parallelism = Math.max(1, parallelism);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMs = Math.max(0, retryBackoffMs);
+        this.maxRetryBackoffMs = Math.max(this.retryBackoffMs, maxRetryBackoffMs);
+        this.claimTimeoutMs = claimTimeoutMs;
+        this.retentionMs = retentionMs;
+
+        this.delivered = Counter.builder("redalert.outbox.deliveries")
+                .tag("result", "delivered")
+                .description("Alert notifications delivered from the outbox")
+                .register(meterRegistry);
+        this.failed = Counter.builder("redalert.outbox.deliveries")
+                .tag("result", "failed")
+                .description("Failed alert notification attempts (retried)")
+                .register(meterRegistry);
+        this.abandoned = Counter.builder("redalert.outbox.deliveries")
+                .tag("result", "abandoned")
+                .description("Alert notifications given up after the maximum number of attempts")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts draining the outbox in the background, unless a drain is
+     * already running (it then runs one more pass).
+     */
+    public void wakeUp() {
+        wakeUpRequested.set(true);
+        if (running.compareAndSet(false, true)) {
+            executor.submit(this::drainWhileRequested);
+        }
+    }
+
+    /**
+     * Picks up retries and entries whose wake-up was missed.
+     */
+    @Scheduled(fixedDelayString = "${alerts.outbox.poll-interval:1000}")
+    public void drainScheduled() {
+        wakeUp();
+    }
+
+    /**
+     * Purges delivered entries past the retention period.
+     */
+    @Scheduled(fixedDelayString = "${alerts.outbox.purge-interval:3600000}")
+    public void purgeDelivered() {
+        int deleted = alertOutboxRepository.deleteDeliveredBefore(retentionMs);
+        if (deleted > 0) {
+            log.info("Purged {} delivered outbox entr(ies)", deleted);
+        }
+    }
+
+    /**
+     * Number of entries waiting for delivery.
+     */
+    public long countPending() {
+        return alertOutboxRepository.countByState(AlertOutboxEntry.State.PENDING);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void drainWhileRequested() {
+        try {
+            while (wakeUpRequested.getAndSet(false)) {
+                drain();
+            }
+        } catch (Exception e) {
+            log.error("Alert outbox drain failed", e);
+        } finally {
+            running.set(false);
+            // A wake-up may have arrived after the last pass
+            if (wakeUpRequested.get() && running.compareAndSet(false, true)) {
+                executor.submit(this::drainWhileRequested);
+            }
+        }
+    }
+
+    /**
+     * Claims and delivers batches until no due entry is left.
+     */
+    private void drain() throws InterruptedException {
+        List<AlertOutboxEntry> batch;
+        do {
+            batch = alertOutboxRepository.claimDue(batchSize, claimTimeoutMs);
+            if (!batch.isEmpty()) {
+                deliver(batch);
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    private void deliver(List<AlertOutboxEntry> batch) throws InterruptedException {
+        Semaphore permits = new Semaphore(parallelism);
+        Map<Long, LocalDateTime> notifiedAtByEntryId = new ConcurrentHashMap<>();
+
+        List<CompletableFuture<Void>> sends = new ArrayList<>(batch.size());
+        for (AlertOutboxEntry entry : batch) {
+            permits.acquire();
+            sends.add(CompletableFuture.runAsync(() -> {
+                try {
+                    notificationPort.sendAlert(entry.getAlertId(),
+                            objectMapper.readValue(entry.getPayload(), ClassAlertDto.class));
+                    notifiedAtByEntryId.put(entry.getId(), LocalDateTime.now());
+                } catch (Exception e) {
+                    recordFailure(entry, e);
+                } finally {
+                    permits.release();
+                }
+            }, executor));
+        }
+        CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).join();
+
+        if (notifiedAtByEntryId.isEmpty()) {
+            return;
+        }
+        alertOutboxRepository.markDelivered(notifiedAtByEntryId.keySet());
+        delivered.increment(notifiedAtByEntryId.size());
+        recordNotified(batch, notifiedAtByEntryId);
+    }
+
+    /**
+     * Stamps notified_at on the delivered alerts and records their latency.
+     */
+    private void recordNotified(List<AlertOutboxEntry> batch, Map<Long, LocalDateTime> notifiedAtByEntryId) {
+        Map<Long, LocalDateTime> notifiedAtByAlertId = batch.stream()
+                .filter(entry -> notifiedAtByEntryId.containsKey(entry.getId()))
+                .collect(Collectors.toMap(AlertOutboxEntry::getAlertId,
+                        entry -> notifiedAtByEntryId.get(entry.getId()), (first, second) -> first));
+
+        Map<Long, Alert> alerts = alertRepository.findWithCategoryByIdIn(notifiedAtByAlertId.keySet()).stream()
+                .collect(Collectors.toMap(Alert::getId, Function.identity()));
+        notifiedAtByAlertId.forEach((alertId, notifiedAt) -> {
+            Alert alert = alerts.get(alertId);
+            if (alert == null) {
+                return;
+            }
+            alertRepository.markNotified(alertId, notifiedAt);
+            String category = alert.getCategory() != null ? alert.getCategory().getName() : null;
+            alertLatencyService.record(category, AlertTimeline.of(alert).withNotifiedAt(notifiedAt));
+        });
+    }
+
+    private void recordFailure(AlertOutboxEntry entry, Exception error) {
+        String message = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+        String lastError = message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+        long delayMs = Math.min(maxRetryBackoffMs, retryBackoffMs << Math.min(20, entry.getAttempts() - 1));
+
+        try {
+            alertOutboxRepository.markFailed(entry.getId(), lastError, maxAttempts, delayMs);
+        } catch (Exception e) {
+            // The claim times out and the entry is retried anyway
+            log.error("Failed to record delivery failure of outbox entry {}", entry.getId(), e);
+        }
+
+        if (entry.getAttempts() >= maxAttempts) {
+            abandoned.increment();
+            log.error("Giving up on alert notification {} after {} attempts: {}", entry.getAlertId(),
+                    entry.getAttempts(), lastError);
+        } else {
+            failed.increment();
+            log.warn("Alert notification {} failed (attempt {}), retrying in {} ms: {}", entry.getAlertId(),
+                    entry.getAttempts(), delayMs, lastError);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.redalert.backend.application.usecase;
+
+import com.redalert.backend.domain.model.Alert;
+import com.redalert.backend.domain.model.AlertReplay;
+import com.redalert.backend.domain.model.AlertReplay.ReplayedAlert;
+import com.redalert.backend.domain.model.ClassAlertDto;
+import com.redalert.backend.domain.port.AlertReplayPort;
+import com.redalert.backend.domain.repository.AlertRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Use case for replaying the alerts a WebSocket client missed while
+ * disconnected.
+ *
+ * Clients present the epoch and sequence number of the last alert they
+ * received. Alerts broadcast since then are replayed from the in-memory
+ * buffer when it still holds the whole gap; otherwise (gap evicted, node
+ * restarted or client reconnected to another node) they are loaded from the
+ * alerts notified since the last alert's send time.
+ */
+@Service
+@Slf4j
+public class AlertReplayService {
+
+    private final AlertReplayPort alertReplayPort;
+    private final AlertRepository alertRepository;
+    private final int maxHistoryAlerts;
+    private final long clockSkewMs;
+
+    public AlertReplayService(
+            AlertReplayPort alertReplayPort,
+            AlertRepository alertRepository,
+            @Value("${websocket.replay.max-history-alerts:100}") int maxHistoryAlerts,
+            @Value("${websocket.replay.clock-skew:5000}") long clockSkewMs) {
+        this.alertReplayPort = alertReplayPort;
+        this.alertRepository = alertRepository;
+        this.maxHistoryAlerts = Math.max(1, maxHistoryAlerts);
+        this.clockSkewMs = Math.max(0, clockSkewMs);
+    }
+
+    /**
+     * Alerts broadcast after the client's last one.
+     *
+     * @param epoch    Epoch of the last alert received (null if unknown)
+     * @param sequence Sequence number of the last alert received (null if unknown)
+     * @param sentAt   Send time (epoch ms) of the last alert received, used
+     *                 for the database fallback (null if unknown)
+     */
+    public AlertReplay replay(String epoch, Long sequence, Long sentAt) {
+        String currentEpoch = alertReplayPort.getEpoch();
+        long latestSequence = alertReplayPort.getLatestSequence();
+
+        if (epoch != null && sequence != null) {
+            Optional<List<ReplayedAlert>> buffered = alertReplayPort.findSince(epoch, sequence);
+            if (buffered.isPresent()) {
+                log.debug("Replaying {} buffered alert(s) after sequence {}", buffered.get().size(), sequence);
+                return new AlertReplay(currentEpoch, latestSequence, true, false, buffered.get());
+            }
+        }
+
+        if (sentAt == null) {
+            return new AlertReplay(currentEpoch, latestSequence, false, false, List.of());
+        }
+
+        // Alerts are marked notified after their broadcast: keep a margin for node clocks
+        LocalDateTime since = LocalDateTime.ofInstant(Instant.ofEpochMilli(sentAt - clockSkewMs),
+                ZoneId.systemDefault());
+        // One extra row tells whether older alerts were left out
+        List<Alert> latest = alertRepository.findLatestNotifiedSince(since, PageRequest.of(0, maxHistoryAlerts + 1));
+        boolean complete = latest.size() <= maxHistoryAlerts;
+        List<ReplayedAlert> alerts = latest.subList(0, Math.min(latest.size(), maxHistoryAlerts))
+                .reversed()
+                .stream()
+                .map(AlertReplayService::toReplayed)
+                .toList();
+
+        log.info("Replaying {} alert(s) from history notified since {}{}", alerts.size(), since,
+                complete ? "" : " (truncated)");
+        return new AlertReplay(currentEpoch, latestSequence, complete, true, alerts);
+    }
+
+    /**
+     * Alert as it was broadcast. The calendar link is not stored with the
+     * alert, so it is missing from alerts replayed from history.
+     */
+    private static ReplayedAlert toReplayed(Alert alert) {
+        ClassAlertDto dto = new ClassAlertDto(alert.getTitle(), alert.getAlertDate(), alert.getUrl(),
+                alert.getDescription(), Boolean.TRUE.equals(alert.getIsUrgent()), null);
+        long sentAt = alert.getNotifiedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return new ReplayedAlert(null, alert.getId(), sentAt, dto);
+    }
+}
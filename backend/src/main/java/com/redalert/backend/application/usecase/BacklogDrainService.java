@@ -0,0 +1,379 @@
+package com.redalert.backend.application.usecase;
+
+import com.google.api.services.gmail.Gmail;
+import com.google.api.services.gmail.model.Message;
+import com.redalert.backend.application.dedup.ProcessedMessageIndex;
+import com.redalert.backend.application.pipeline.EmailProcessingPipeline;
+import com.redalert.backend.application.pipeline.MessageContext;
+import com.redalert.backend.domain.model.BacklogStatus;
+import com.redalert.backend.domain.model.Category;
+import com.redalert.backend.infrastructure.gmail.adapter.GmailBatchFetcher;
+import com.redalert.backend.infrastructure.gmail.adapter.GmailMessageIterator;
+import com.redalert.backend.infrastructure.metrics.ExternalCallMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains category and mailbox backlogs (e.g. after an outage or a weekend).
+ *
+ * When a steady-state poll finds more unclaimed matching mail than fits in
+ * one page, the category switches to backlog mode: a background task pages
+ * lazily through every matching message and feeds them to the processing
+ * pipeline, whose backpressure (and the AI rate limiter behind it) sets
+ * the pace. Steady-state polling of the category resumes once the drain
+ * has caught up. A drain stops early if the category's polling lease moves
+ * to another node.
+ *
+ * Incremental and merged mode drain the whole mailbox the same way, with
+ * the merged query of every category; the caller classifies each page and
+ * is told when every page was listed and handled without failures (e.g.
+ * to move the history checkpoint). When the categories have no merged
+ * filter, the mailbox is drained with one drain per category filter
+ * instead, all fenced by the mailbox lease.
+ *
+ * Processed messages are marked as read, so paging an is:unread query would
+ * shift later pages and skip messages. The drain pages the category filters
+ * over a fixed window instead (before the drain started, within the
+ * maximum age) and keeps the unread messages of each page, found with one
+ * batched metadata fetch.
+ */
+@Service
+@Slf4j
+public class BacklogDrainService {
+
+    private static final String LABEL_UNREAD = "UNREAD";
+    private static final String MAILBOX_NAME = "(mailbox)";
+
+    private final Gmail gmail;
+    private final GmailBatchFetcher batchFetcher;
+    private final ProcessedMessageIndex processedMessageIndex;
+    private final EmailProcessingPipeline emailProcessingPipeline;
+    private final ExternalCallMetrics externalCallMetrics;
+    private final PollLeaseService pollLeaseService;
+    private final long pageSize;
+    private final Duration maxAge;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, Drain> drains = new ConcurrentHashMap<>();
+
+    public BacklogDrainService(
+            Gmail gmail,
+            GmailBatchFetcher batchFetcher,
+            ProcessedMessageIndex processedMessageIndex,
+            EmailProcessingPipeline emailProcessingPipeline,
+            ExternalCallMetrics externalCallMetrics,
+            PollLeaseService pollLeaseService,
+            MeterRegistry meterRegistry,
+            @Value("${email.polling.backlog.page-size:100}") long pageSize,
+            @Value("${email.polling.backlog.max-age:2592000000}") long maxAgeMs) {
+        this.gmail = gmail;
+        this.batchFetcher = batchFetcher;
+        this.processedMessageIndex = processedMessageIndex;
+        this.emailProcessingPipeline = emailProcessingPipeline;
+        this.externalCallMetrics = externalCallMetrics;
+        this.pollLeaseService = pollLeaseService;
+        this.pageSize = Math.max(1, pageSize);
+        this.maxAge = Duration.ofMillis(maxAgeMs);
+
+        Gauge.builder("redalert.backlog.size", this, BacklogDrainService::totalRemaining)
+                .description("Estimated messages still to be listed by backlog drains")
+                .register(meterRegistry);
+        Gauge.builder("redalert.backlog.drains", drains, Map::size)
+                .description("Categories, or the mailbox, currently in backlog mode")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether the category is currently in backlog mode.
+     */
+    public boolean isDraining(Category category) {
+        return drains.containsKey(PollLeaseService.categoryKey(category));
+    }
+
+    /**
+     * Whether the whole mailbox is currently being drained.
+     */
+    public boolean isMailboxDraining() {
+        return drains.values().stream().anyMatch(drain -> PollLeaseService.MAILBOX_KEY.equals(drain.leaseKey));
+    }
+
+    /**
+     * Switches the category to backlog mode, unless it already is.
+     *
+     * @return true if a new drain was started
+     */
+    public boolean startDrain(Category category) {
+        String key = PollLeaseService.categoryKey(category);
+        return start(new Drain(key, key, category.getId(), category.getName(), category.buildFilterQuery(),
+                (messageIds, listedAt) -> submit(messageIds, category, listedAt), () -> { }));
+    }
+
+    /**
+     * Drains every message matching the merged filters of the active
+     * categories, unless a mailbox drain is already running.
+     *
+     * @param filterQuery Merged Gmail filters, without is:unread
+     * @param pageHandler Fetches, classifies and submits the unread, unclaimed messages of each page
+     * @param onDrained   Run once every page was listed and handled without failures
+     * @return true if a new drain was started
+     */
+    public boolean startMailboxDrain(String filterQuery, PageHandler pageHandler, Runnable onDrained) {
+        if (isMailboxDraining()) {
+            return false;
+        }
+        return start(new Drain(PollLeaseService.MAILBOX_KEY, PollLeaseService.MAILBOX_KEY, null, MAILBOX_NAME,
+                filterQuery, pageHandler, onDrained));
+    }
+
+    /**
+     * Drains the mailbox with the filters of each category, for categories
+     * without a merged filter, unless a mailbox drain is already running.
+     * Every page is still handled by the mailbox page handler.
+     *
+     * @param categories  Active categories, each with at least one filter
+     * @param pageHandler Fetches, classifies and submits the unread, unclaimed messages of each page
+     * @param onDrained   Run once every category's pages were listed and handled without failures
+     * @return true if new drains were started
+     */
+    public boolean startMailboxDrains(List<Category> categories, PageHandler pageHandler, Runnable onDrained) {
+        if (isMailboxDraining() || categories.isEmpty()) {
+            return false;
+        }
+        AtomicInteger pending = new AtomicInteger(categories.size());
+        Runnable drained = () -> {
+            if (pending.decrementAndGet() == 0) {
+                onDrained.run();
+            }
+        };
+        for (Category category : categories) {
+            start(new Drain(PollLeaseService.MAILBOX_KEY + "/" + PollLeaseService.categoryKey(category),
+                    PollLeaseService.MAILBOX_KEY, category.getId(), category.getName(), category.buildFilterQuery(),
+                    pageHandler, drained));
+        }
+        return true;
+    }
+
+    /**
+     * Progress of every running drain, largest backlog first.
+     */
+    public List<BacklogStatus> getStatus() {
+        return drains.values().stream()
+                .map(Drain::toStatus)
+                .sorted(Comparator.comparingLong(BacklogStatus::remaining).reversed())
+                .toList();
+    }
+
+    /**
+     * Estimated messages still to be listed across all drains.
+     */
+    public long totalRemaining() {
+        return getStatus().stream().mapToLong(BacklogStatus::remaining).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private boolean start(Drain drain) {
+        if (drains.putIfAbsent(drain.key, drain) != null) {
+            return false;
+        }
+        executor.submit(() -> run(drain));
+        return true;
+    }
+
+    private void run(Drain drain) {
+        List<CompletableFuture<Boolean>> previousPage = List.of();
+        boolean listedAll = false;
+        try {
+            // Fixed window: marking messages as read does not change the result set
+            String query = String.format("%s after:%d before:%d", drain.filterQuery,
+                    drain.startedAtInstant.minus(maxAge).getEpochSecond(), drain.startedAtInstant.getEpochSecond())
+                    .trim();
+            GmailMessageIterator messages = new GmailMessageIterator(gmail, query, pageSize, externalCallMetrics,
+                    drain.categoryId != null ? drain.name : ExternalCallMetrics.NO_CATEGORY);
+            drain.estimatedSize.set(messages.getResultSizeEstimate());
+
+            log.info("📥 Backlog mode for '{}': ~{} message(s) to check ({})", drain.name,
+                    drain.estimatedSize.get(), query);
+
+            while (!Thread.currentThread().isInterrupted()) {
+                if (!messages.hasNext()) {
+                    listedAll = true;
+                    break;
+                }
+                // Fencing: the work may have moved to another node since the last page
+                if (!pollLeaseService.verify(drain.leaseKey)) {
+                    log.warn("Lease on '{}' moved to another node, stopping its backlog drain", drain.name);
+                    break;
+                }
+
+                List<String> page = new ArrayList<>();
+                while (page.size() < pageSize && messages.hasNext()) {
+                    page.add(messages.next().getId());
+                }
+                LocalDateTime listedAt = LocalDateTime.now();
+                drain.listed.addAndGet(page.size());
+
+                PageSubmission submission = drain.pageHandler.submit(unread(page, drain), listedAt);
+                if (submission.hasFailures()) {
+                    drain.failed.set(true);
+                }
+                drain.submitted.addAndGet(submission.completions().size());
+                List<CompletableFuture<Boolean>> submitted = submission.completions().stream()
+                        .map(completion -> completion.thenApply(processed -> {
+                            if (processed) {
+                                drain.processed.incrementAndGet();
+                            }
+                            return processed;
+                        }))
+                        .toList();
+
+                // At most two pages in flight: the one just submitted and the one awaited here
+                CompletableFuture.allOf(previousPage.toArray(CompletableFuture[]::new)).get();
+                previousPage = submitted;
+            }
+
+            CompletableFuture.allOf(previousPage.toArray(CompletableFuture[]::new)).get();
+
+            if (listedAll) {
+                log.info("✅ Backlog for '{}' drained: {} listed, {} submitted, {} processed. "
+                        + "Back to steady-state polling.", drain.name, drain.listed.get(),
+                        drain.submitted.get(), drain.processed.get());
+                if (!drain.failed.get()) {
+                    drain.onDrained.run();
+                }
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Backlog drain for '{}' interrupted", drain.name);
+        } catch (Exception e) {
+            log.error("Backlog drain for '{}' failed after {} message(s); steady-state polling resumes",
+                    drain.name, drain.listed.get(), e);
+        } finally {
+            drains.remove(drain.key, drain);
+        }
+    }
+
+    /**
+     * Claims and submits the messages of a category drain page. Blocks while
+     * the pipeline is full, so the drain runs at the rate downstream allows.
+     */
+    private PageSubmission submit(List<String> messageIds, Category category, LocalDateTime listedAt) {
+        List<CompletableFuture<Boolean>> completions = new ArrayList<>();
+        for (String messageId : messageIds) {
+            if (processedMessageIndex.tryClaim(messageId)) {
+                completions.add(emailProcessingPipeline
+                        .submit(new MessageContext(messageId, List.of(category), listedAt)));
+            }
+        }
+        return new PageSubmission(completions, false);
+    }
+
+    /**
+     * Keeps the unread messages of a page. Messages already claimed are
+     * not looked up.
+     */
+    private List<String> unread(List<String> messageIds, Drain drain) {
+        List<String> unclaimed = messageIds.stream()
+                .filter(messageId -> !processedMessageIndex.contains(messageId))
+                .toList();
+        if (unclaimed.isEmpty()) {
+            return List.of();
+        }
+
+        GmailBatchFetcher.BatchFetchResult labels = batchFetcher.fetchMetadata(unclaimed, List.of());
+        if (labels.hasFailures()) {
+            drain.failed.set(true);
+            log.error("Failed to check {} backlog message(s) of '{}': {}", labels.failures().size(),
+                    drain.name, labels.failures());
+        }
+        return labels.messages().stream()
+                .filter(message -> message.getLabelIds() != null && message.getLabelIds().contains(LABEL_UNREAD))
+                .map(Message::getId)
+                .toList();
+    }
+
+    /**
+     * Fetches, classifies and submits the messages of one mailbox drain page.
+     */
+    @FunctionalInterface
+    public interface PageHandler {
+
+        /**
+         * @param messageIds Unread messages of the page that are not claimed yet
+         * @param listedAt   When the page was listed
+         * @return Completions of the submitted messages, and whether some could not be fetched
+         */
+        PageSubmission submit(List<String> messageIds, LocalDateTime listedAt);
+    }
+
+    /**
+     * Messages of one page handed to the processing pipeline.
+     *
+     * @param completions Completion of every submitted message
+     * @param hasFailures Whether some messages of the page could not be fetched
+     */
+    public record PageSubmission(List<CompletableFuture<Boolean>> completions, boolean hasFailures) {
+    }
+
+    /**
+     * Mutable progress of one running drain.
+     */
+    private static final class Drain {
+        private final String key;
+        private final String leaseKey;
+        private final Long categoryId;
+        private final String name;
+        private final String filterQuery;
+        private final PageHandler pageHandler;
+        private final Runnable onDrained;
+        private final Instant startedAtInstant = Instant.now();
+        private final LocalDateTime startedAt = LocalDateTime.ofInstant(startedAtInstant, ZoneId.systemDefault());
+        private final AtomicLong estimatedSize = new AtomicLong();
+        private final AtomicLong listed = new AtomicLong();
+        private final AtomicLong submitted = new AtomicLong();
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicBoolean failed = new AtomicBoolean();
+
+        private Drain(String key, String leaseKey, Long categoryId, String name, String filterQuery,
+                PageHandler pageHandler, Runnable onDrained) {
+            this.key = key;
+            this.leaseKey = leaseKey;
+            this.categoryId = categoryId;
+            this.name = name;
+            this.filterQuery = filterQuery;
+            this.pageHandler = pageHandler;
+            this.onDrained = onDrained;
+        }
+
+        private BacklogStatus toStatus() {
+            long estimated = estimatedSize.get();
+            long listedSoFar = listed.get();
+            return new BacklogStatus(categoryId, name, estimated, listedSoFar,
+                    Math.max(0, estimated - listedSoFar), submitted.get(), processed.get(), startedAt);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.redalert.backend.application.usecase;
+
+import com.google.api.client.util.DateTime;
+import com.google.api.services.calendar.Calendar;
+import com.google.api.services.calendar.model.Event;
+import com.google.api.services.calendar.model.Events;
+import com.redalert.backend.domain.model.CalendarCleanupStatus;
+import com.redalert.backend.domain.model.CalendarCleanupStatus.State;
+import com.redalert.backend.domain.model.MirroredCalendarEvent;
+import com.redalert.backend.infrastructure.calendar.adapter.CalendarBatchExecutor;
+import com.redalert.backend.infrastructure.calendar.adapter.CalendarBatchExecutor.BatchWriteResult;
+import com.redalert.backend.infrastructure.metrics.ExternalCallMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deletes every calendar event of a day as a background job.
+ *
+ * The events of a day are those starting on it. They are taken from the
+ * local mirror when it covers the day, otherwise listed from Google
+ * following every result page (dropping events that only overlap the day
+ * after starting earlier), and deleted in batches of up to 50 (see
+ * {@link CalendarBatchExecutor}). Progress is kept in memory and can be
+ * polled by job ID until the job expires.
+ */
+@Service
+@Slf4j
+public class CalendarCleanupService {
+
+    private static final String CALENDAR_ID = "primary";
+    private static final int PAGE_SIZE = 250;
+
+    private final Calendar calendar;
+    private final CalendarMirrorService calendarMirror;
+    private final CalendarBatchExecutor batchExecutor;
+    private final ExternalCallMetrics externalCallMetrics;
+    private final Duration jobRetention;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public CalendarCleanupService(
+            Calendar calendar,
+            CalendarMirrorService calendarMirror,
+            CalendarBatchExecutor batchExecutor,
+            ExternalCallMetrics externalCallMetrics,
+            @Value("${calendar.cleanup.job-retention:3600000}") long jobRetentionMs) {
+        this.calendar = calendar;
+        this.calendarMirror = calendarMirror;
+        this.batchExecutor = batchExecutor;
+        this.externalCallMetrics = externalCallMetrics;
+        this.jobRetention = Duration.ofMillis(jobRetentionMs);
+    }
+
+    /**
+     * Starts deleting all events of the given day in the background.
+     *
+     * @return Initial status of the job
+     */
+    public CalendarCleanupStatus startCleanup(LocalDate date) {
+        evictExpired();
+
+        Job job = new Job(UUID.randomUUID().toString(), date);
+        jobs.put(job.jobId, job);
+        executor.submit(() -> run(job));
+
+        log.info("Calendar cleanup job {} started for date: {}", job.jobId, date);
+        return job.toStatus();
+    }
+
+    /**
+     * Status of a cleanup job, if it exists and has not expired.
+     */
+    public Optional<CalendarCleanupStatus> getStatus(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(Job::toStatus);
+    }
+
+    /**
+     * Status of every job kept, most recent first.
+     */
+    public List<CalendarCleanupStatus> getStatus() {
+        return jobs.values().stream()
+                .map(Job::toStatus)
+                .sorted(Comparator.comparing(CalendarCleanupStatus::startedAt).reversed())
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(Job job) {
+        try {
+            List<String> eventIds = calendarMirror.covers(job.date)
+                    ? calendarMirror.getEventsOn(job.date).stream().map(MirroredCalendarEvent::getEventId).toList()
+                    : listEventIds(job);
+            job.found.set(eventIds.size());
+            delete(job, eventIds);
+
+            job.finish(State.COMPLETED, null);
+            log.info("Calendar cleanup job {} completed. Deleted {} of {} events on {}.", job.jobId,
+                    job.deleted.get(), job.found.get(), job.date);
+
+        } catch (Exception e) {
+            log.error("Calendar cleanup job {} failed after {} deletion(s)", job.jobId, job.deleted.get(), e);
+            job.finish(State.FAILED, e.getMessage());
+        }
+    }
+
+    /**
+     * Lists the IDs of every event starting on the day, following
+     * nextPageToken. All pages are listed before deleting so deletions cannot shift the
+     * pages still to be read.
+     */
+    private List<String> listEventIds(Job job) throws IOException {
+        ZoneId zone = ZoneId.systemDefault();
+        DateTime timeMin = new DateTime(job.date.atStartOfDay(zone).toInstant().toEpochMilli());
+        DateTime timeMax = new DateTime(job.date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+
+        List<String> eventIds = new ArrayList<>();
+        String pageToken = null;
+        do {
+            Calendar.Events.List request = calendar.events().list(CALENDAR_ID)
+                    .setTimeMin(timeMin)
+                    .setTimeMax(timeMax)
+                    .setSingleEvents(true)
+                    .setMaxResults(PAGE_SIZE)
+                    .setPageToken(pageToken);
+            Events page = externalCallMetrics.calendar("events.list", request::execute);
+
+            if (page.getItems() != null) {
+                page.getItems().stream()
+                        .filter(event -> CalendarMirrorService.startDateOf(event)
+                                .filter(job.date::equals)
+                                .isPresent())
+                        .map(Event::getId)
+                        .forEach(eventIds::add);
+                job.found.set(eventIds.size());
+            }
+            pageToken = page.getNextPageToken();
+        } while (pageToken != null);
+        return eventIds;
+    }
+
+    private void delete(Job job, List<String> eventIds) {
+        for (int from = 0; from < eventIds.size(); from += CalendarBatchExecutor.MAX_BATCH_SIZE) {
+            List<String> chunk = eventIds.subList(from,
+                    Math.min(from + CalendarBatchExecutor.MAX_BATCH_SIZE, eventIds.size()));
+
+            BatchWriteResult result = batchExecutor.deleteAll(chunk);
+            calendarMirror.remove(result.writtenIds());
+            job.deleted.addAndGet(result.written().size());
+            job.failed.addAndGet(result.failures().size());
+
+            result.failures().forEach((eventId, failure) ->
+                    log.error("Failed to delete event ID: {} ({} {})", eventId, failure.code(), failure.message()));
+        }
+    }
+
+    private void evictExpired() {
+        LocalDateTime expiredBefore = LocalDateTime.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(expiredBefore));
+    }
+
+    /**
+     * Mutable progress of one cleanup job.
+     */
+    private static final class Job {
+        private final String jobId;
+        private final LocalDate date;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicLong found = new AtomicLong();
+        private final AtomicLong deleted = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private volatile State state = State.RUNNING;
+        private volatile String error;
+        private volatile LocalDateTime finishedAt;
+
+        private Job(String jobId, LocalDate date) {
+            this.jobId = jobId;
+            this.date = date;
+        }
+
+        private void finish(State finalState, String finalError) {
+            error = finalError;
+            finishedAt = LocalDateTime.now();
+            state = finalState;
+        }
+
+        private CalendarCleanupStatus toStatus() {
+            return new CalendarCleanupStatus(jobId, date, state, found.get(), deleted.get(), failed.get(), error,
+                    startedAt, finishedAt);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.redalert.backend.application.usecase;
+
+import com.redalert.backend.domain.matching.TextNormalizer;
+import com.redalert.backend.domain.model.ClassAlertDto;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Deterministic Google Calendar event IDs for alerts.
+ *
+ * Calendar accepts client-supplied IDs made of base32hex characters
+ * (a-v, 0-9), 5 to 1024 long. Deriving the ID from the alert makes inserts
+ * idempotent: inserting the same alert twice yields 409 Conflict instead
+ * of a duplicate event.
+ */
+public final class CalendarEventIds {
+
+    private static final char[] BASE32HEX = "0123456789abcdefghijklmnopqrstuv".toCharArray();
+    private static final String PREFIX = "ra";
+    private static final int HASH_CHARS = 26; // 130 bits
+
+    private CalendarEventIds() {
+    }
+
+    /**
+     * ID derived from the Gmail message the alert came from.
+     */
+    public static String fromMessageId(String messageId) {
+        return PREFIX + hash("gmail:" + messageId);
+    }
+
+    /**
+     * ID derived from the normalized title and the day of the alert, so the
+     * same event announced by several emails maps to one calendar event.
+     */
+    public static String fromTitleAndDate(ClassAlertDto alert) {
+        return PREFIX + hash("alert:" + TextNormalizer.normalize(alert.title()) + "|" + alert.date().toLocalDate());
+    }
+
+    private static String hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return encodeBase32Hex(digest, HASH_CHARS);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String encodeBase32Hex(byte[] data, int length) {
+        StringBuilder out = new StringBuilder(length);
+        int buffer = 0;
+        int bits = 0;
+        for (int i = 0; i < data.length && out.length() < length; i++) {
+            buffer = (buffer << 8) | (data[i] & 0xff);
+            bits += 8;
+            while (bits >= 5 && out.length() < length) {
+                bits -= 5;
+                out.append(BASE32HEX[(buffer >> bits) & 0x1f]);
+            }
+        }
+        return out.toString();
+    }
+}
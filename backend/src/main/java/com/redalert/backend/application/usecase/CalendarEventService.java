@@ -0,0 +1,228 @@
+package com.redalert.backend.application.usecase;
+
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.services.calendar.Calendar;
+import com.google.api.services.calendar.model.Event;
+import com.google.api.services.calendar.model.EventDateTime;
+import com.redalert.backend.domain.model.ClassAlertDto;
+import com.redalert.backend.domain.model.MirroredCalendarEvent;
+import com.redalert.backend.infrastructure.calendar.adapter.CalendarBatchExecutor;
+import com.redalert.backend.infrastructure.calendar.adapter.CalendarBatchExecutor.BatchWriteResult;
+import com.redalert.backend.infrastructure.calendar.adapter.CalendarBatchExecutor.Failure;
+import com.redalert.backend.infrastructure.metrics.ExternalCallMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Use case for Google Calendar events created from alerts.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CalendarEventService {
+
+    private static final String CALENDAR_ID = "primary";
+    private static final int HTTP_CONFLICT = 409;
+    private static final String STATUS_CANCELLED = "cancelled";
+    private static final String STATUS_CONFIRMED = "confirmed";
+    private static final String EVENT_ID_STRATEGY_MESSAGE = "message";
+
+    private final Calendar calendar;
+    private final CalendarMirrorService calendarMirror;
+    private final CalendarBatchExecutor batchExecutor;
+    private final ExternalCallMetrics externalCallMetrics;
+
+    /**
+     * How event IDs are derived: title-date (one event per title and day,
+     * shared by every email announcing it) or message (one event per email).
+     */
+    @Value("${calendar.event-id-strategy:title-date}")
+    private String eventIdStrategy;
+
+    /**
+     * Creates a Google Calendar event for the alert.
+     *
+     * Events with a similar title on the same day are looked up in the local
+     * mirror first. Otherwise the event ID is derived from the alert (see
+     * {@link CalendarEventIds}), so a 409 Conflict on insert means the event
+     * already exists.
+     *
+     * @param alert           The alert
+     * @param sourceMessageId Gmail message ID the alert came from
+     * @return The HTML link to the created (or existing) event
+     */
+    public String createCalendarEvent(ClassAlertDto alert, String sourceMessageId) {
+        Optional<String> duplicateLink = findDuplicateLink(alert);
+        if (duplicateLink.isPresent()) {
+            return duplicateLink.get();
+        }
+
+        String eventId = eventIdFor(alert, sourceMessageId);
+        Event event = toEvent(alert).setId(eventId);
+
+        try {
+            Event createdEvent = externalCallMetrics.calendar("events.insert",
+                    () -> calendar.events().insert(CALENDAR_ID, event).execute());
+            calendarMirror.record(createdEvent);
+
+            log.info("✅ SUCCESS: Calendar event created! Link: {}", createdEvent.getHtmlLink());
+            return createdEvent.getHtmlLink();
+
+        } catch (GoogleJsonResponseException e) {
+            if (e.getStatusCode() == HTTP_CONFLICT) {
+                return resolveExisting(eventId, event, alert);
+            }
+            log.error("❌ FAILURE: Could not create calendar event for '{}'. Error: {}", alert.title(),
+                    e.getMessage());
+            return null;
+        } catch (Exception e) {
+            log.error("❌ FAILURE: Could not create calendar event for '{}'. Error: {}", alert.title(),
+                    e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Creates Google Calendar events for several alerts with batched inserts
+     * (see {@link CalendarBatchExecutor}). Alerts resolving to the same event
+     * ID share a single insert.
+     *
+     * @param alertsBySourceMessageId Alerts keyed by the Gmail message ID they came from
+     * @return The HTML link of each alert's event (null if it could not be created),
+     *         keyed by source message ID
+     */
+    public Map<String, String> createCalendarEvents(Map<String, ClassAlertDto> alertsBySourceMessageId) {
+        Map<String, String> links = new LinkedHashMap<>();
+        Map<String, String> eventIdBySource = new LinkedHashMap<>();
+        Map<String, Event> pending = new LinkedHashMap<>();
+        Map<String, ClassAlertDto> alertByEventId = new LinkedHashMap<>();
+
+        alertsBySourceMessageId.forEach((sourceMessageId, alert) -> {
+            Optional<String> duplicateLink = findDuplicateLink(alert);
+            if (duplicateLink.isPresent()) {
+                links.put(sourceMessageId, duplicateLink.get());
+                return;
+            }
+            String eventId = eventIdFor(alert, sourceMessageId);
+            eventIdBySource.put(sourceMessageId, eventId);
+            pending.computeIfAbsent(eventId, id -> toEvent(alert).setId(id));
+            alertByEventId.putIfAbsent(eventId, alert);
+        });
+
+        if (!pending.isEmpty()) {
+            BatchWriteResult result = batchExecutor.insertAll(new ArrayList<>(pending.values()));
+            Map<String, String> linkByEventId = new LinkedHashMap<>();
+
+            result.written().forEach((eventId, created) -> {
+                calendarMirror.record(created);
+                linkByEventId.put(eventId, created.getHtmlLink());
+            });
+            result.failures().forEach((eventId, failure) -> {
+                ClassAlertDto alert = alertByEventId.get(eventId);
+                linkByEventId.put(eventId, failure.code() == HTTP_CONFLICT
+                        ? resolveExisting(eventId, pending.get(eventId), alert)
+                        : logFailure(alert, failure));
+            });
+
+            log.info("✅ Batch created {} calendar event(s), {} failure(s)", result.written().size(),
+                    result.failures().size());
+            eventIdBySource.forEach((sourceMessageId, eventId) ->
+                    links.put(sourceMessageId, linkByEventId.get(eventId)));
+        }
+
+        // Keep the caller's ordering
+        Map<String, String> ordered = new LinkedHashMap<>();
+        alertsBySourceMessageId.keySet().forEach(sourceMessageId ->
+                ordered.put(sourceMessageId, links.get(sourceMessageId)));
+        return ordered;
+    }
+
+    /**
+     * Looks up an event with a similar title on the same day in the local
+     * mirror.
+     */
+    private Optional<String> findDuplicateLink(ClassAlertDto alert) {
+        Optional<MirroredCalendarEvent> duplicate = calendarMirror.findDuplicate(alert.title(),
+                alert.date().toLocalDate());
+        duplicate.ifPresent(event -> log.info(
+                "⚠️ DUPLICATE DETECTED: Event '{}' already exists in calendar as '{}'. Using link: {}",
+                alert.title(), event.getSummary(), event.getHtmlLink()));
+        return duplicate.map(MirroredCalendarEvent::getHtmlLink);
+    }
+
+    private String logFailure(ClassAlertDto alert, Failure failure) {
+        log.error("❌ FAILURE: Could not create calendar event for '{}'. Error: {} {}", alert.title(),
+                failure.code(), failure.message());
+        return null;
+    }
+
+    /**
+     * Returns the link of an event that already exists with the given ID,
+     * restoring it if it was deleted (Calendar keeps IDs of cancelled events).
+     */
+    private String resolveExisting(String eventId, Event event, ClassAlertDto alert) {
+        try {
+            Event existing = externalCallMetrics.calendar("events.get",
+                    () -> calendar.events().get(CALENDAR_ID, eventId).execute());
+
+            if (STATUS_CANCELLED.equals(existing.getStatus())) {
+                Event restored = externalCallMetrics.calendar("events.update", () -> calendar.events()
+                        .update(CALENDAR_ID, eventId, event.setStatus(STATUS_CONFIRMED))
+                        .execute());
+                calendarMirror.record(restored);
+                log.info("♻️ Restored deleted calendar event '{}'. Link: {}", alert.title(), restored.getHtmlLink());
+                return restored.getHtmlLink();
+            }
+
+            log.info("⚠️ DUPLICATE DETECTED: Event '{}' already exists in calendar. Using link: {}", alert.title(),
+                    existing.getHtmlLink());
+            calendarMirror.record(existing);
+            return existing.getHtmlLink();
+
+        } catch (IOException e) {
+            log.error("❌ FAILURE: Could not load existing calendar event for '{}'. Error: {}", alert.title(),
+                    e.getMessage());
+            return null;
+        }
+    }
+
+    private String eventIdFor(ClassAlertDto alert, String sourceMessageId) {
+        if (EVENT_ID_STRATEGY_MESSAGE.equalsIgnoreCase(eventIdStrategy) && sourceMessageId != null) {
+            return CalendarEventIds.fromMessageId(sourceMessageId);
+        }
+        return CalendarEventIds.fromTitleAndDate(alert);
+    }
+
+    private Event toEvent(ClassAlertDto alert) {
+        Event event = new Event()
+                .setSummary(alert.title())
+                .setDescription(alert.description())
+                .setLocation(alert.url() != null ? alert.url() : "Online");
+
+        Date startDate = Date.from(alert.date().atZone(ZoneId.systemDefault()).toInstant());
+        Date endDate = Date.from(alert.date().plusHours(1).atZone(ZoneId.systemDefault()).toInstant());
+
+        EventDateTime start = new EventDateTime()
+                .setDateTime(new com.google.api.client.util.DateTime(startDate))
+                .setTimeZone(ZoneId.systemDefault().getId());
+
+        EventDateTime end = new EventDateTime()
+                .setDateTime(new com.google.api.client.util.DateTime(endDate))
+                .setTimeZone(ZoneId.systemDefault().getId());
+
+        event.setStart(start);
+        event.setEnd(end);
+        return event;
+    }
+}
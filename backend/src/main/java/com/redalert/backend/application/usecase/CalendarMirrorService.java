@@ -0,0 +1,542 @@
+package com.redalert.backend.application.usecase;
+
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.util.DateTime;
+import com.google.api.services.calendar.Calendar;
+import com.google.api.services.calendar.model.Event;
+import com.google.api.services.calendar.model.EventDateTime;
+import com.google.api.services.calendar.model.Events;
+import com.redalert.backend.domain.matching.TextNormalizer;
+import com.redalert.backend.domain.model.MirroredCalendarEvent;
+import com.redalert.backend.domain.model.SyncCheckpoint;
+import com.redalert.backend.domain.repository.MirroredCalendarEventRepository;
+import com.redalert.backend.domain.repository.SyncCheckpointRepository;
+import com.redalert.backend.infrastructure.metrics.ExternalCallMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local mirror of the upcoming events of the primary Google Calendar.
+ *
+ * Events are stored in calendar_events and indexed in memory by day. The
+ * mirror is refreshed with events.list incremental sync: the nextSyncToken
+ * of each sync is stored in sync_checkpoints, and the next sync only
+ * receives events changed since then. When Google expires the token
+ * (410 Gone), a full sync is done instead: every page is listed first and
+ * then swapped in at once (table in one transaction, index under the write
+ * lock), and the mirror reports itself as not ready until then, so a
+ * partial listing is never served as a complete day.
+ *
+ * Duplicate detection and day listings run against the mirror without a
+ * Google round-trip.
+ *
+ * The sync token and the table are shared by every replica, so only the
+ * holder of the mailbox polling lease syncs with Google; the other nodes
+ * reload their in-memory index from the table on the same interval.
+ */
+@Service
+@Slf4j
+public class CalendarMirrorService {
+
+    private static final String CALENDAR_ID = "primary";
+    private static final String CHECKPOINT_KEY = "calendar.sync";
+    private static final String STATUS_CANCELLED = "cancelled";
+    private static final int HTTP_GONE = 410;
+    private static final int PAGE_SIZE = 250;
+    private static final Pattern DIGIT_RUN = Pattern.compile("\\d+");
+
+    private final Calendar calendar;
+    private final MirroredCalendarEventRepository eventRepository;
+    private final SyncCheckpointRepository syncCheckpointRepository;
+    private final ExternalCallMetrics externalCallMetrics;
+    private final PollLeaseService pollLeaseService;
+    private final TransactionTemplate transactionTemplate;
+    private final double titleSimilarityThreshold;
+    private final int retentionDays;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, MirroredCalendarEvent> eventsById = new HashMap<>();
+    private final TreeMap<LocalDate, Set<String>> eventIdsByDay = new TreeMap<>();
+    private volatile boolean ready;
+
+    public CalendarMirrorService(
+            Calendar calendar,
+            MirroredCalendarEventRepository eventRepository,
+            SyncCheckpointRepository syncCheckpointRepository,
+            ExternalCallMetrics externalCallMetrics,
+            PollLeaseService pollLeaseService,
+            TransactionTemplate transactionTemplate,
+            @Value("${calendar.mirror.title-similarity-threshold:0.85}") double titleSimilarityThreshold,
+            @Value("${calendar.mirror.retention-days:1}") int retentionDays) {
+        this.calendar = calendar;
+        this.eventRepository = eventRepository;
+        this.syncCheckpointRepository = syncCheckpointRepository;
+        this.externalCallMetrics = externalCallMetrics;
+        this.pollLeaseService = pollLeaseService;
+        this.transactionTemplate = transactionTemplate;
+        this.titleSimilarityThreshold = titleSimilarityThreshold;
+        this.retentionDays = Math.max(0, retentionDays);
+    }
+
+    /**
+     * Loads the mirror from the database and syncs it with Google.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        List<MirroredCalendarEvent> stored = eventRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            stored.forEach(this::index);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Calendar mirror loaded with {} event(s)", stored.size());
+        sync();
+    }
+
+    /**
+     * Pulls calendar changes since the last sync on the mailbox lease
+     * holder; reloads the mirror from the table on the other nodes.
+     */
+    @Scheduled(fixedDelayString = "${calendar.mirror.sync-interval:60000}",
+            initialDelayString = "${calendar.mirror.sync-interval:60000}")
+    public synchronized void sync() {
+        if (!pollLeaseService.verify(PollLeaseService.MAILBOX_KEY)) {
+            reload();
+            return;
+        }
+
+        Optional<String> syncToken = getSyncToken();
+        try {
+            String nextSyncToken = syncToken.isPresent() ? syncIncremental(syncToken.get()) : syncFull();
+            saveSyncToken(nextSyncToken);
+            pruneEnded();
+            ready = true;
+
+        } catch (GoogleJsonResponseException e) {
+            if (e.getStatusCode() == HTTP_GONE && syncToken.isPresent()) {
+                log.info("Calendar sync token expired. Starting full resync.");
+                syncCheckpointRepository.findByCheckpointKey(CHECKPOINT_KEY).ifPresent(syncCheckpointRepository::delete);
+                sync();
+                return;
+            }
+            log.error("Calendar mirror sync failed: {}", e.getMessage());
+        } catch (Exception e) {
+            log.error("Calendar mirror sync failed", e);
+        }
+    }
+
+    /**
+     * Replaces the in-memory index with the rows synced by the lease holder.
+     */
+    private void reload() {
+        try {
+            List<MirroredCalendarEvent> stored = eventRepository.findAll();
+            boolean synced = getSyncToken().isPresent();
+            lock.writeLock().lock();
+            try {
+                eventsById.clear();
+                eventIdsByDay.clear();
+                stored.forEach(this::index);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ready = synced;
+        } catch (Exception e) {
+            log.error("Calendar mirror reload failed", e);
+        }
+    }
+
+    /**
+     * Whether the mirror has completed at least one sync.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Whether the mirror holds every event of the given day: it is synced
+     * and the day is within the retention window.
+     */
+    public boolean covers(LocalDate date) {
+        return ready && !date.isBefore(LocalDate.now().minusDays(retentionDays));
+    }
+
+    /**
+     * Mirrored events starting on the given day, ordered by start time.
+     */
+    public List<MirroredCalendarEvent> getEventsOn(LocalDate date) {
+        lock.readLock().lock();
+        try {
+            Set<String> ids = eventIdsByDay.get(date);
+            if (ids == null) {
+                return List.of();
+            }
+            return ids.stream()
+                    .map(eventsById::get)
+                    .sorted(Comparator.comparing(MirroredCalendarEvent::getStartAt))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds an event on the same day whose title is equal or similar to the
+     * given one (normalized, edit-distance based). Titles must carry the
+     * same numbers: "Aula 3" and "Aula 4" are different events however
+     * close the rest of the text is.
+     */
+    public Optional<MirroredCalendarEvent> findDuplicate(String title, LocalDate date) {
+        String normalized = TextNormalizer.normalize(title);
+        if (normalized.isEmpty()) {
+            return Optional.empty();
+        }
+
+        MirroredCalendarEvent best = null;
+        double bestSimilarity = 0;
+        for (MirroredCalendarEvent event : getEventsOn(date)) {
+            String summary = TextNormalizer.normalize(event.getSummary());
+            if (!digitRuns(normalized).equals(digitRuns(summary))) {
+                continue;
+            }
+            double similarity = similarity(normalized, summary);
+            if (similarity >= titleSimilarityThreshold && similarity > bestSimilarity) {
+                best = event;
+                bestSimilarity = similarity;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    /**
+     * Records an event written by this application, so it is visible before
+     * the next sync.
+     */
+    public void record(Event event) {
+        try {
+            apply(List.of(event));
+        } catch (Exception e) {
+            log.warn("Failed to record calendar event {} in the mirror: {}", event.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Removes events deleted by this application from the mirror.
+     */
+    public void remove(Collection<String> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        eventRepository.deleteByEventIdIn(eventIds);
+        lock.writeLock().lock();
+        try {
+            eventIds.forEach(this::unindex);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private String syncFull() throws IOException {
+        log.info("Starting full calendar mirror sync");
+        // Not complete until every page is in; covers() sends day listings to Google meanwhile
+        ready = false;
+
+        // Events that ended before the retention window would be discarded anyway
+        LocalDateTime keepAfter = LocalDate.now().minusDays(retentionDays).atStartOfDay();
+        List<Event> events = new ArrayList<>();
+        String nextSyncToken = listAll(null, new DateTime(keepAfter.atZone(ZoneId.systemDefault()).toInstant()
+                .toEpochMilli()), events::addAll);
+        replaceAll(events);
+        return nextSyncToken;
+    }
+
+    private String syncIncremental(String syncToken) throws IOException {
+        return listAll(syncToken, null, this::apply);
+    }
+
+    /**
+     * Lists every page of events (changes only when a sync token is given)
+     * and hands each page to the consumer.
+     *
+     * @param timeMin Lower bound of the event end time, full sync only
+     *                (Google rejects it together with a sync token)
+     * @return The nextSyncToken of the last page
+     */
+    private String listAll(String syncToken, DateTime timeMin, Consumer<List<Event>> onPage) throws IOException {
+        String pageToken = null;
+        int changes = 0;
+        Events page;
+        do {
+            Calendar.Events.List request = calendar.events().list(CALENDAR_ID)
+                    .setSingleEvents(true)
+                    .setShowDeleted(syncToken != null)
+                    .setMaxResults(PAGE_SIZE)
+                    .setPageToken(pageToken);
+            if (syncToken != null) {
+                request.setSyncToken(syncToken);
+            } else if (timeMin != null) {
+                request.setTimeMin(timeMin);
+            }
+
+            page = externalCallMetrics.calendar("events.list", request::execute);
+            if (page.getItems() != null) {
+                onPage.accept(page.getItems());
+                changes += page.getItems().size();
+            }
+            pageToken = page.getNextPageToken();
+        } while (pageToken != null);
+
+        if (changes > 0) {
+            log.info("Calendar mirror synced {} change(s)", changes);
+        }
+        return page.getNextSyncToken();
+    }
+
+    /**
+     * Replaces the whole mirror with the events of a full listing: the table
+     * in one transaction, so other replicas never reload it half-filled, then
+     * the in-memory index.
+     */
+    private void replaceAll(List<Event> events) {
+        LocalDateTime keepAfter = LocalDate.now().minusDays(retentionDays).atStartOfDay();
+        Map<String, MirroredCalendarEvent> kept = new HashMap<>();
+        for (Event event : events) {
+            MirroredCalendarEvent mirrored = toMirrored(event);
+            if (!STATUS_CANCELLED.equals(event.getStatus()) && mirrored != null
+                    && !endOf(mirrored).isBefore(keepAfter)) {
+                kept.put(event.getId(), mirrored);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            eventRepository.deleteAllInBatch();
+            eventRepository.saveAll(kept.values());
+        });
+
+        lock.writeLock().lock();
+        try {
+            eventsById.clear();
+            eventIdsByDay.clear();
+            kept.values().forEach(this::index);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Upserts changed events and removes cancelled ones. Events that ended
+     * before the retention window are not kept.
+     */
+    private void apply(List<Event> events) {
+        LocalDateTime keepAfter = LocalDate.now().minusDays(retentionDays).atStartOfDay();
+
+        List<String> removed = new ArrayList<>();
+        Map<String, MirroredCalendarEvent> upserts = new HashMap<>();
+        for (Event event : events) {
+            MirroredCalendarEvent mirrored = toMirrored(event);
+            if (STATUS_CANCELLED.equals(event.getStatus()) || mirrored == null
+                    || endOf(mirrored).isBefore(keepAfter)) {
+                removed.add(event.getId());
+            } else {
+                upserts.put(event.getId(), mirrored);
+            }
+        }
+
+        if (!upserts.isEmpty()) {
+            // Reuse primary keys of events already stored
+            eventRepository.findByEventIdIn(upserts.keySet())
+                    .forEach(existing -> upserts.get(existing.getEventId()).setId(existing.getId()));
+            eventRepository.saveAll(upserts.values());
+        }
+        if (!removed.isEmpty()) {
+            eventRepository.deleteByEventIdIn(removed);
+        }
+
+        lock.writeLock().lock();
+        try {
+            removed.forEach(this::unindex);
+            upserts.values().forEach(event -> {
+                unindex(event.getEventId());
+                index(event);
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void pruneEnded() {
+        LocalDateTime before = LocalDate.now().minusDays(retentionDays).atStartOfDay();
+        eventRepository.deleteEndedBefore(before);
+
+        lock.writeLock().lock();
+        try {
+            List<String> ended = eventsById.values().stream()
+                    .filter(event -> endOf(event).isBefore(before))
+                    .map(MirroredCalendarEvent::getEventId)
+                    .toList();
+            ended.forEach(this::unindex);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(MirroredCalendarEvent event) {
+        eventsById.put(event.getEventId(), event);
+        eventIdsByDay.computeIfAbsent(event.getStartAt().toLocalDate(), day -> new LinkedHashSet<>())
+                .add(event.getEventId());
+    }
+
+    private void unindex(String eventId) {
+        MirroredCalendarEvent previous = eventsById.remove(eventId);
+        if (previous == null) {
+            return;
+        }
+        LocalDate day = previous.getStartAt().toLocalDate();
+        Set<String> ids = eventIdsByDay.get(day);
+        if (ids != null) {
+            ids.remove(eventId);
+            if (ids.isEmpty()) {
+                eventIdsByDay.remove(day);
+            }
+        }
+    }
+
+    private static MirroredCalendarEvent toMirrored(Event event) {
+        LocalDateTime start = toLocalDateTime(event.getStart());
+        if (start == null) {
+            return null;
+        }
+        return MirroredCalendarEvent.builder()
+                .eventId(event.getId())
+                .summary(event.getSummary())
+                .location(event.getLocation())
+                .htmlLink(event.getHtmlLink())
+                .status(event.getStatus())
+                .startAt(start)
+                .endAt(toLocalDateTime(event.getEnd()))
+                .allDay(event.getStart().getDate() != null)
+                .build();
+    }
+
+    /**
+     * Day a Google event is indexed under: the day it starts on, as in
+     * {@link #getEventsOn(LocalDate)}.
+     */
+    static Optional<LocalDate> startDateOf(Event event) {
+        return Optional.ofNullable(toLocalDateTime(event.getStart())).map(LocalDateTime::toLocalDate);
+    }
+
+    private static LocalDateTime toLocalDateTime(EventDateTime dateTime) {
+        if (dateTime == null) {
+            return null;
+        }
+        if (dateTime.getDateTime() != null) {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(dateTime.getDateTime().getValue()),
+                    ZoneId.systemDefault());
+        }
+        if (dateTime.getDate() != null) {
+            // All-day events carry a date only (UTC midnight)
+            return LocalDate.ofInstant(Instant.ofEpochMilli(dateTime.getDate().getValue()), ZoneId.of("UTC"))
+                    .atStartOfDay();
+        }
+        return null;
+    }
+
+    private static LocalDateTime endOf(MirroredCalendarEvent event) {
+        return event.getEndAt() != null ? event.getEndAt() : event.getStartAt();
+    }
+
+    /**
+     * Similarity of two normalized titles in [0, 1], based on Levenshtein
+     * distance.
+     */
+    static double similarity(String a, String b) {
+        if (a.equals(b)) {
+            return 1.0;
+        }
+        int maxLength = Math.max(a.length(), b.length());
+        if (maxLength == 0) {
+            return 1.0;
+        }
+        return 1.0 - (double) levenshtein(a, b) / maxLength;
+    }
+
+    /**
+     * Numbers appearing in a normalized title, in order.
+     */
+    private static List<String> digitRuns(String text) {
+        List<String> runs = new ArrayList<>();
+        Matcher matcher = DIGIT_RUN.matcher(text);
+        while (matcher.find()) {
+            // Leading zeros do not make a different number
+            runs.add(matcher.group().replaceFirst("^0+(?=\\d)", ""));
+        }
+        return runs;
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private Optional<String> getSyncToken() {
+        return syncCheckpointRepository.findByCheckpointKey(CHECKPOINT_KEY)
+                .map(SyncCheckpoint::getCheckpointValue);
+    }
+
+    /**
+     * Stores the sync token, fenced by the mailbox lease token.
+     */
+    private void saveSyncToken(String syncToken) {
+        if (syncToken == null) {
+            return;
+        }
+        Optional<PollLeaseService.Lease> lease = pollLeaseService.lease(PollLeaseService.MAILBOX_KEY);
+        int updated = lease.isEmpty() ? 0 : syncCheckpointRepository.saveFenced(CHECKPOINT_KEY, syncToken,
+                PollLeaseService.MAILBOX_KEY, pollLeaseService.getNodeId(), lease.get().fencingToken());
+        if (updated == 0) {
+            log.warn("Mailbox lease lost; calendar sync token not saved");
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.redalert.backend.application.usecase;
+
+import com.google.api.services.gmail.model.Message;
+import com.redalert.backend.domain.matching.CategoryMatcher;
+import com.redalert.backend.infrastructure.gmail.adapter.GmailBatchFetcher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fetches full messages for classification, optionally in two phases.
+ *
+ * With two-phase fetch enabled, From and Subject are first fetched in bulk
+ * with format=metadata and triaged against the category rules. Only the
+ * messages that can still match a category are then fetched with
+ * format=full; the rest are returned as ruled out, for the caller to claim
+ * once it has checked it still owns the mailbox.
+ */
+@Component
+@Slf4j
+public class CandidateMessageFetcher {
+
+    private static final List<String> TRIAGE_HEADERS = List.of("From", "Subject");
+
+    private final GmailBatchFetcher batchFetcher;
+    private final EmailContentExtractor contentExtractor;
+    private final boolean twoPhaseFetch;
+
+    private final Counter candidates;
+    private final Counter skipped;
+
+    public CandidateMessageFetcher(
+            GmailBatchFetcher batchFetcher,
+            EmailContentExtractor contentExtractor,
+            MeterRegistry meterRegistry,
+            @Value("${email.polling.two-phase-fetch:true}") boolean twoPhaseFetch) {
+        this.batchFetcher = batchFetcher;
+        this.contentExtractor = contentExtractor;
+        this.twoPhaseFetch = twoPhaseFetch;
+
+        this.candidates = Counter.builder("redalert.fetch.triage")
+                .tag("result", "candidate")
+                .description("Messages triaged on metadata before fetching the full body")
+                .register(meterRegistry);
+        this.skipped = Counter.builder("redalert.fetch.triage")
+                .tag("result", "skipped")
+                .description("Messages triaged on metadata before fetching the full body")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Fetches the full content of the messages that may match a category.
+     *
+     * @param messageIds IDs of new messages
+     * @param matcher    Compiled matcher of the active categories
+     * @return Full candidate messages, IDs ruled out by triage and failures of either phase
+     */
+    public CandidateFetchResult fetch(List<String> messageIds, CategoryMatcher matcher) {
+        if (!twoPhaseFetch || messageIds.isEmpty()) {
+            GmailBatchFetcher.BatchFetchResult full = batchFetcher.fetchFull(messageIds);
+            return new CandidateFetchResult(full.messages(), List.of(), full.failures());
+        }
+
+        // Phase one: headers only
+        GmailBatchFetcher.BatchFetchResult metadata = batchFetcher.fetchMetadata(messageIds, TRIAGE_HEADERS);
+
+        List<String> candidateIds = new ArrayList<>();
+        List<String> ruledOutIds = new ArrayList<>();
+        for (Message message : metadata.messages()) {
+            String from = contentExtractor.extractHeader(message, "From");
+            String subject = contentExtractor.extractHeader(message, "Subject");
+
+            if (!matcher.triage(from, subject).isEmpty()) {
+                candidateIds.add(message.getId());
+            } else {
+                log.debug("Message {} ruled out by metadata triage", message.getId());
+                ruledOutIds.add(message.getId());
+            }
+        }
+
+        candidates.increment(candidateIds.size());
+        skipped.increment(metadata.messages().size() - candidateIds.size());
+        log.info("Metadata triage: {} of {} message(s) need a full fetch", candidateIds.size(),
+                metadata.messages().size());
+
+        // Phase two: full payload for candidates only
+        GmailBatchFetcher.BatchFetchResult full = batchFetcher.fetchFull(candidateIds);
+
+        Map<String, String> failures = new LinkedHashMap<>(metadata.failures());
+        failures.putAll(full.failures());
+        return new CandidateFetchResult(full.messages(), ruledOutIds, failures);
+    }
+
+    /**
+     * Result of a candidate fetch.
+     *
+     * @param messages    Full candidate messages
+     * @param ruledOutIds Messages that cannot match any category
+     * @param failures    Failed message IDs with their error, from either phase
+     */
+    public record CandidateFetchResult(List<Message> messages, List<String> ruledOutIds,
+            Map<String, String> failures) {
+
+        public boolean hasFailures() {
+            return !failures.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.redalert.backend.application.usecase;
+
+import com.redalert.backend.domain.model.Category;
+import com.redalert.backend.domain.model.CategoryPollResult;
+import com.redalert.backend.domain.model.PollCycleSummary;
+import com.redalert.backend.infrastructure.tracing.TracingSupport;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Runs category polls concurrently on virtual threads.
+ *
+ * A semaphore bounds how many categories are in flight at once, and each
+ * category poll gets its own timeout so one slow category cannot hold up
+ * the rest of the cycle. Each category poll and each cycle is timed
+ * (redalert.poll.category.duration, redalert.poll.cycle.duration), and
+ * category polls run in the tracing span of the cycle that started them.
+ */
+@Component
+@Slf4j
+public class CategoryPollExecutor {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final int maxConcurrentCategories;
+    private final long categoryTimeoutMs;
+    private final MeterRegistry meterRegistry;
+    private final TracingSupport tracing;
+    private final Timer cycleTimer;
+
+    public CategoryPollExecutor(
+            MeterRegistry meterRegistry,
+            TracingSupport tracing,
+            @Value("${email.polling.max-concurrent-categories:8}") int maxConcurrentCategories,
+            @Value("${email.polling.category-timeout:120000}") long categoryTimeoutMs) {
+        this.maxConcurrentCategories = Math.max(1, maxConcurrentCategories);
+        this.categoryTimeoutMs = categoryTimeoutMs;
+        this.meterRegistry = meterRegistry;
+        this.tracing = tracing;
+        this.cycleTimer = Timer.builder("redalert.poll.cycle.duration")
+                .description("Time spent polling every due category in a cycle")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Polls all given categories concurrently and waits for every result.
+     *
+     * @param categories Categories to poll
+     * @param task       Poll task executed for each category
+     * @param onResult   Receives each category result as soon as it is known
+     * @return Summary with one result per category
+     */
+    public PollCycleSummary pollAll(List<Category> categories, CategoryPollTask task,
+            Consumer<CategoryPollResult> onResult) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+
+        Semaphore permits = new Semaphore(maxConcurrentCategories);
+
+        List<CompletableFuture<CategoryPollResult>> futures = categories.stream()
+                .map(category -> CompletableFuture.supplyAsync(
+                        tracing.wrapSupplier(() -> pollAndRecord(category, task, permits)), executor)
+                        .whenComplete((result, error) -> {
+                            if (result != null) {
+                                onResult.accept(result);
+                            }
+                        }))
+                .toList();
+
+        List<CategoryPollResult> results = futures.stream()
+                .map(CompletableFuture::join)
+                .toList();
+
+        long durationMs = elapsedMs(start);
+        cycleTimer.record(durationMs, TimeUnit.MILLISECONDS);
+        return new PollCycleSummary(startedAt, durationMs, results);
+    }
+
+    private CategoryPollResult pollAndRecord(Category category, CategoryPollTask task, Semaphore permits) {
+        CategoryPollResult result = pollWithPermit(category, task, permits);
+        Timer.builder("redalert.poll.category.duration")
+                .description("Time spent polling a category, excluding the wait for a polling slot")
+                .tag("category", category.getName())
+                .tag("status", result.status().name().toLowerCase())
+                .register(meterRegistry)
+                .record(result.durationMs(), TimeUnit.MILLISECONDS);
+        return result;
+    }
+
+    private CategoryPollResult pollWithPermit(Category category, CategoryPollTask task, Semaphore permits) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CategoryPollResult.failed(category, 0, "Interrupted while waiting for a polling slot");
+        }
+
+        long start = System.nanoTime();
+        Future<Integer> future = executor.submit(tracing.wrap(() -> task.poll(category)));
+
+        try {
+            int processed = future.get(categoryTimeoutMs, TimeUnit.MILLISECONDS);
+            return CategoryPollResult.success(category, processed, elapsedMs(start));
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Polling category '{}' timed out after {} ms", category.getName(), categoryTimeoutMs);
+            return CategoryPollResult.timedOut(category, elapsedMs(start));
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.error("Error polling category '{}': {}", category.getName(), cause.getMessage());
+            return CategoryPollResult.failed(category, elapsedMs(start), cause.getMessage());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            return CategoryPollResult.failed(category, elapsedMs(start), "Interrupted");
+        } finally {
+            permits.release();
+        }
+    }
+
+    private long elapsedMs(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Poll task executed for a single category.
+     */
+    @FunctionalInterface
+    public interface CategoryPollTask {
+
+        /**
+         * Polls the category.
+         *
+         * @param category The category to poll
+         * @return Number of messages processed
+         */
+        int poll(Category category) throws Exception;
+    }
+}
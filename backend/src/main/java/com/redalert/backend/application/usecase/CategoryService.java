@@ -49,6 +49,7 @@ public class CategoryService {
         if (categoryRepository.existsByName(category.getName())) {
             throw new IllegalArgumentException("Category with name '" + category.getName() + "' already exists");
         }
+        validatePollIntervals(category);
 
         log.info("Creating new category: {}", category.getName());
         return categoryRepository.save(category);
@@ -66,6 +67,7 @@ public class CategoryService {
                 categoryRepository.existsByName(updatedCategory.getName())) {
             throw new IllegalArgumentException("Category with name '" + updatedCategory.getName() + "' already exists");
         }
+        validatePollIntervals(updatedCategory);
 
         existing.setName(updatedCategory.getName());
         existing.setDescription(updatedCategory.getDescription());
@@ -73,6 +75,8 @@ public class CategoryService {
         existing.setSubjectKeywords(updatedCategory.getSubjectKeywords());
         existing.setBodyKeywords(updatedCategory.getBodyKeywords());
         existing.setIsActive(updatedCategory.getIsActive());
+        existing.setMinPollIntervalMs(updatedCategory.getMinPollIntervalMs());
+        existing.setMaxPollIntervalMs(updatedCategory.getMaxPollIntervalMs());
 
         log.info("Updating category: {} with query: {}", existing.getName(), existing.buildGmailQuery());
         return categoryRepository.save(existing);
@@ -99,4 +103,19 @@ public class CategoryService {
         log.info("Deleting category: {}", category.getName());
         categoryRepository.delete(category);
     }
+
+    /**
+     * Validates the optional adaptive polling bounds of a category.
+     */
+    private void validatePollIntervals(Category category) {
+        Long min = category.getMinPollIntervalMs();
+        Long max = category.getMaxPollIntervalMs();
+
+        if ((min != null && min <= 0) || (max != null && max <= 0)) {
+            throw new IllegalArgumentException("Poll intervals must be positive");
+        }
+        if (min != null && max != null && min > max) {
+            throw new IllegalArgumentException("Minimum poll interval cannot exceed the maximum poll interval");
+        }
+    }
 }
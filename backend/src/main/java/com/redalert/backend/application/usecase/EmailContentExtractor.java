@@ -0,0 +1,77 @@
+package com.redalert.backend.application.usecase;
+
+import com.google.api.services.gmail.model.Message;
+import com.redalert.backend.infrastructure.gmail.mime.MimeBodyDecoder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Extracts headers, body text and dates from full Gmail messages.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmailContentExtractor {
+
+    private final MimeBodyDecoder mimeBodyDecoder;
+
+    private static final String NOT_FOUND = "(Not Found)";
+
+    // Common email date format: "Mon, 16 Dec 2025 19:01:33 -0300"
+    private static final DateTimeFormatter EMAIL_DATE_FORMAT = DateTimeFormatter.ofPattern(
+            "EEE, d MMM yyyy HH:mm:ss Z", Locale.ENGLISH);
+
+    /**
+     * Extracts any header from Gmail message.
+     */
+    public String extractHeader(Message message, String headerName) {
+        if (message.getPayload() != null && message.getPayload().getHeaders() != null) {
+            return message.getPayload().getHeaders().stream()
+                    .filter(h -> headerName.equalsIgnoreCase(h.getName()))
+                    .findFirst()
+                    .map(h -> h.getValue())
+                    .orElse(NOT_FOUND);
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Extracts email body from Gmail message.
+     * Prioritizes plain text and strips HTML if needed.
+     */
+    public String extractEmailBody(Message message) {
+        try {
+            return mimeBodyDecoder.decodeBody(message.getPayload());
+        } catch (Exception e) {
+            log.error("Error extracting email body", e);
+            return null;
+        }
+    }
+
+    /**
+     * Parses email date string to LocalDateTime.
+     * Handles common email date formats (RFC 2822).
+     *
+     * @param dateString The date string from email header
+     * @return LocalDateTime or current time if parsing fails
+     */
+    public LocalDateTime parseEmailDate(String dateString) {
+        if (dateString == null || dateString.isBlank()) {
+            return LocalDateTime.now();
+        }
+
+        try {
+            ZonedDateTime zonedDateTime = ZonedDateTime.parse(dateString.trim(), EMAIL_DATE_FORMAT);
+            return zonedDateTime.toLocalDateTime();
+        } catch (Exception e) {
+            log.warn("Failed to parse email date '{}', using current time", dateString);
+            return LocalDateTime.now();
+        }
+    }
+}
@@ -1,45 +1,52 @@
 package com.redalert.backend.application.usecase;
 
-import com.google.api.services.calendar.Calendar;
-import com.google.api.services.calendar.model.Event;
-import com.google.api.services.calendar.model.EventDateTime;
 import com.google.api.services.gmail.Gmail;
-import com.google.api.services.gmail.model.ListMessagesResponse;
 import com.google.api.services.gmail.model.Message;
-import com.google.api.services.gmail.model.ModifyMessageRequest;
-import com.redalert.backend.application.exception.CalendarIntegrationException;
+import com.redalert.backend.application.dedup.ProcessedMessageIndex;
 import com.redalert.backend.application.exception.GmailIntegrationException;
+import com.redalert.backend.application.pipeline.EmailProcessingPipeline;
+import com.redalert.backend.application.pipeline.MessageContext;
+import com.redalert.backend.domain.matching.CategoryMatcher;
 import com.redalert.backend.domain.model.Category;
-import com.redalert.backend.domain.model.ClassAlertDto;
-import com.redalert.backend.domain.port.AiAnalysisPort;
-import com.redalert.backend.domain.port.NotificationPort;
+import com.redalert.backend.domain.model.CategoryPollResult;
+import com.redalert.backend.domain.model.MailboxDelta;
+import com.redalert.backend.domain.model.PollCycleSummary;
+import com.redalert.backend.infrastructure.gmail.adapter.GmailMessageIterator;
+import com.redalert.backend.infrastructure.metrics.ExternalCallMetrics;
+import com.redalert.backend.infrastructure.tracing.TracingSupport;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.Base64;
-import java.util.Collections;
-import java.util.Date;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Core use case for email polling and alert processing.
  * 
  * This service:
- * 1. Polls Gmail using ACTIVE categories from database
- * 2. Analyzes each email using AI
- * 3. Creates calendar events for urgent alerts
- * 4. Sends notifications via WebSocket
- * 5. Marks processed emails as read
+ * 1. Polls Gmail incrementally (History API), with one merged query, or per
+ *    ACTIVE category (concurrently), classifying messages against categories;
+ *    push notifications trigger incremental fetches between polls, and
+ *    backlogs larger than one page are drained in the background
+ * 2. Hands matched messages to the staged processing pipeline, which
+ *    analyzes them with AI, creates calendar events, sends notifications
+ *    via WebSocket and marks them as read
+ *
+ * Cycles are started by {@link PollJobService} (scheduler ticks and manual
+ * triggers) and by push notifications; they never overlap. With several
+ * replicas, each polls only the work it holds a lease on (see
+ * {@link PollLeaseService}).
  */
 @Service
 @RequiredArgsConstructor
@@ -47,507 +54,589 @@ import java.util.Set;
 public class EmailPollingService {
 
     private final Gmail gmail;
-    private final Calendar calendar;
-    private final AiAnalysisPort aiAnalysisPort;
-    private final NotificationPort notificationPort;
-    private final AlertHistoryService alertHistoryService;
     private final CategoryService categoryService;
-    private final ProcessedEmailService processedEmailService;
+    private final CategoryPollExecutor categoryPollExecutor;
+    private final MailboxSyncService mailboxSyncService;
+    private final CandidateMessageFetcher candidateMessageFetcher;
+    private final ProcessedMessageIndex processedMessageIndex;
+    private final EmailContentExtractor contentExtractor;
+    private final EmailProcessingPipeline emailProcessingPipeline;
+    private final BacklogDrainService backlogDrainService;
+    private final AdaptivePollScheduler adaptivePollScheduler;
+    private final GmailWatchService gmailWatchService;
+    private final ExternalCallMetrics externalCallMetrics;
+    private final TracingSupport tracing;
+    private final PollLeaseService pollLeaseService;
 
-    private static final String USER_ID = "me";
-    private static final String LABEL_UNREAD = "UNREAD";
+    @Value("${email.polling.sync-mode:incremental}")
+    private String syncMode;
 
-    // Track processed message IDs to avoid duplicates
-    private final Set<String> processedMessageIds = new HashSet<>();
+    @Value("${email.polling.fixed-delay:60000}")
+    private long fixedDelayMs;
+
+    @Value("${email.push.safety-net-interval:600000}")
+    private long safetyNetIntervalMs;
+
+    @Value("${email.polling.merged-max-results:100}")
+    private long mergedMaxResults;
+
+    @Value("${email.polling.page-size:10}")
+    private long pageSize;
+
+    @Value("${email.polling.scan-page-size:100}")
+    private long scanPageSize;
+
+    @Value("${email.polling.max-messages-per-category:10}")
+    private int maxMessagesPerCategory;
+
+    private static final String SYNC_MODE_INCREMENTAL = "incremental";
+    private static final String SYNC_MODE_MERGED = "merged";
+
+    private final ReentrantLock cycleLock = new ReentrantLock();
+    private volatile long nextCycleDueAt;
+    private volatile List<String> categoryVersions;
+
+    /**
+     * Scheduler tick that polls Gmail for unread emails.
+     * In per-category mode only the categories due according to the adaptive
+     * scheduler are polled; in incremental and merged mode a full cycle runs
+     * every email.polling.fixed-delay.
+     *
+     * @param listener Receives the progress of the cycle, if one runs
+     */
+    @CircuitBreaker(name = "gmailService", fallbackMethod = "fallbackPolling")
+    public void pollEmails(PollProgressListener listener) {
+        poll(false, listener);
+    }
 
     /**
-     * Scheduled task that polls Gmail for unread emails.
-     * Uses ACTIVE categories from database to build queries.
+     * Fetches mailbox changes since the history checkpoint right away
+     * (push notifications), regardless of the configured sync mode.
      */
-    @Scheduled(fixedDelayString = "${email.polling.fixed-delay}")
     @CircuitBreaker(name = "gmailService", fallbackMethod = "fallbackPolling")
-    public void pollEmails() {
+    public void pollIncrementalNow() {
+        cycleLock.lock();
         try {
-            log.info("Starting email polling cycle");
+            if (!pollLeaseService.holds(PollLeaseService.MAILBOX_KEY)) {
+                log.info("Mailbox is polled by another node, ignoring push-triggered fetch");
+                return;
+            }
+            List<Category> activeCategories = categoryService.getActiveCategories();
+            if (activeCategories.isEmpty()) {
+                return;
+            }
+
+            PollCycleSummary summary = tracing.inSpan("email.poll", Map.of("mode", SYNC_MODE_INCREMENTAL),
+                    () -> pollIncremental(activeCategories));
+            log.info("Push-triggered fetch completed in {} ms. Processed {} messages.", summary.durationMs(),
+                    summary.totalProcessed());
+
+        } catch (Exception e) {
+            log.error("Error during push-triggered fetch", e);
+            throw new GmailIntegrationException("Failed to fetch mailbox changes", e);
+        } finally {
+            cycleLock.unlock();
+        }
+    }
+
+    /**
+     * Polls Gmail right away, ignoring schedules (manual trigger).
+     *
+     * @param listener Receives the progress of the cycle
+     */
+    @CircuitBreaker(name = "gmailService", fallbackMethod = "fallbackPolling")
+    public void pollNow(PollProgressListener listener) {
+        poll(true, listener);
+    }
+
+    private void poll(boolean force, PollProgressListener listener) {
+        String mode = syncMode.toLowerCase();
+        boolean perCategory = !SYNC_MODE_INCREMENTAL.equals(mode) && !SYNC_MODE_MERGED.equals(mode);
+
+        if (!force && !perCategory && System.currentTimeMillis() < nextCycleDueAt) {
+            return;
+        }
 
+        cycleLock.lock();
+        try {
             // Get all active categories from database
             List<Category> activeCategories = categoryService.getActiveCategories();
 
             if (activeCategories.isEmpty()) {
-                log.info("No active categories configured. Skipping polling.");
+                if (force || !perCategory) {
+                    log.info("No active categories configured. Skipping polling.");
+                }
                 return;
             }
 
-            log.info("Polling {} active categories", activeCategories.size());
+            // Only poll the work leased to this node
+            if (!perCategory && !pollLeaseService.holds(PollLeaseService.MAILBOX_KEY)) {
+                if (force) {
+                    log.info("Mailbox is polled by another node. Skipping polling.");
+                }
+                return;
+            }
+            List<Category> ownedCategories = perCategory
+                    ? pollLeaseService.ownedCategories(activeCategories)
+                    : activeCategories;
 
-            int totalProcessed = 0;
+            List<Category> dueCategories = perCategory && !force
+                    ? adaptivePollScheduler.selectDue(ownedCategories)
+                    : ownedCategories;
 
-            // Process each category
-            for (Category category : activeCategories) {
-                try {
-                    int processed = pollCategory(category);
-                    totalProcessed += processed;
-                } catch (Exception e) {
-                    log.error("Error polling category '{}': {}", category.getName(), e.getMessage());
-                    // Continue with other categories
-                }
+            if (dueCategories.isEmpty()) {
+                return;
             }
 
-            log.info("Email polling completed. Processed {} messages.", totalProcessed);
+            log.info("Starting email polling cycle");
+            listener.cycleStarted(mode, perCategory ? dueCategories : activeCategories);
+
+            PollCycleSummary summary = tracing.inSpan("email.poll", Map.of("mode", mode), () -> switch (mode) {
+                case SYNC_MODE_INCREMENTAL -> pollIncremental(activeCategories);
+                case SYNC_MODE_MERGED -> pollMerged(activeCategories, () -> { });
+                default -> pollAllCategories(dueCategories, listener);
+            });
+            listener.cycleCompleted(summary);
+
+            log.info("Email polling completed in {} ms. Processed {} messages ({} categories, {} failed, {} timed out).",
+                    summary.durationMs(),
+                    summary.totalProcessed(),
+                    summary.results().size(),
+                    summary.countByStatus(CategoryPollResult.Status.FAILED),
+                    summary.countByStatus(CategoryPollResult.Status.TIMED_OUT));
 
         } catch (Exception e) {
             log.error("Error during email polling", e);
             throw new GmailIntegrationException("Failed to poll emails", e);
+        } finally {
+            // With an active Gmail watch, full cycles are only a slow safety net
+            long interval = gmailWatchService.isWatchActive() ? safetyNetIntervalMs : fixedDelayMs;
+            nextCycleDueAt = System.currentTimeMillis() + interval;
+            cycleLock.unlock();
         }
     }
 
     /**
-     * Polls Gmail for a specific category.
-     * Uses the category's filter fields to build the Gmail query.
-     * 
-     * @param category The category to poll
-     * @return Number of messages processed
+     * Polls every given category with its own Gmail query and adapts each
+     * category's polling interval to the result.
      */
-    private int pollCategory(Category category) throws IOException {
-        // Build query from category's filter fields
-        String query = category.buildGmailQuery();
-
-        log.info("Polling category '{}' with query: {}", category.getName(), query);
-
-        List<Message> messages = fetchMessages(query);
-
-        if (messages == null || messages.isEmpty()) {
-            log.debug("No messages found for category '{}'", category.getName());
-            return 0;
+    private PollCycleSummary pollAllCategories(List<Category> categories, PollProgressListener listener) {
+        log.info("Polling {} due categories", categories.size());
+
+        // Poll categories concurrently; one slow category does not hold up the rest
+        PollCycleSummary summary = categoryPollExecutor.pollAll(categories, this::pollCategory,
+                listener::categoryCompleted);
+
+        Map<Long, Category> byId = new HashMap<>();
+        categories.forEach(category -> byId.put(category.getId(), category));
+        for (CategoryPollResult result : summary.results()) {
+            Category category = byId.get(result.categoryId());
+            if (backlogDrainService.isDraining(category)) {
+                // Resume at the shortest interval once the backlog has been drained
+                adaptivePollScheduler.markHot(category);
+            } else {
+                adaptivePollScheduler.recordPoll(category, result);
+            }
         }
 
-        log.info("Found {} message(s) for category '{}'", messages.size(), category.getName());
-
-        int processed = 0;
-        int limitPerCycle = 3; // Limit to avoid AI Rate Limit 429
+        return summary;
+    }
 
-        for (Message message : messages) {
-            if (processed >= limitPerCycle) {
-                log.info("Reached processing limit ({} messages) for this cycle. Remaining will be polled next time.",
-                        limitPerCycle);
-                break;
-            }
+    /**
+     * Polls all categories with a single merged Gmail query and classifies
+     * each message locally against every category in one pass. When more
+     * mail matches than one page holds, the rest is left to a mailbox
+     * backlog drain.
+     *
+     * @param onComplete Run once every matching message was listed and
+     *                   fetched, either by this poll or by the drain it started
+     */
+    private PollCycleSummary pollMerged(List<Category> categories, Runnable onComplete) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+
+        releaseUnmatchedOnCategoryChange(categories);
+        CategoryMatcher matcher = CategoryMatcher.compile(categories);
+        String query = matcher.buildMergedQuery();
+
+        log.info("Polling {} active categories with merged query: {}", categories.size(), query);
+
+        // One page of unclaimed mail per cycle; claimed messages still unread do not count towards a backlog
+        GmailMessageIterator iterator = new GmailMessageIterator(gmail, query, mergedMaxResults, externalCallMetrics,
+                ExternalCallMetrics.NO_CATEGORY);
+        List<String> newMessageIds = nextUnclaimed(iterator, mergedMaxResults + 1);
+        boolean backlog = newMessageIds.size() > mergedMaxResults;
+        if (backlog) {
+            newMessageIds = newMessageIds.subList(0, (int) mergedMaxResults);
+        }
+        LocalDateTime listedAt = LocalDateTime.now();
+
+        // Fetch new messages in batched round-trips, full bodies only for triage candidates
+        CandidateMessageFetcher.CandidateFetchResult fetched = candidateMessageFetcher.fetch(newMessageIds, matcher);
+        LocalDateTime fetchedAt = LocalDateTime.now();
+        if (fetched.hasFailures()) {
+            log.error("Failed to fetch {} message(s) for merged query: {}", fetched.failures().size(),
+                    fetched.failures());
+        }
 
-            // Skip already processed messages
-            if (processedMessageIds.contains(message.getId())) {
-                continue;
-            }
+        if (!stillOwnsMailbox()) {
+            return buildSummary(categories, Map.of(), startedAt, start);
+        }
+        claimUnmatched(fetched.ruledOutIds());
 
-            processMessage(message, category);
-            processedMessageIds.add(message.getId());
-            processed++;
+        Map<Long, Integer> processedByCategory = countByPrimaryCategory(
+                awaitProcessed(submitMatched(fetched.messages(), matcher, listedAt, fetchedAt)));
 
-            // Keep processed IDs cache small
-            if (processedMessageIds.size() > 1000) {
-                processedMessageIds.clear();
-            }
+        if (backlog) {
+            // More matching mail than one page: drain the rest in the background
+            startMergedDrain(categories, matcher, iterator.getResultSizeEstimate(), onComplete);
+        } else if (!fetched.hasFailures() && !backlogDrainService.isMailboxDraining()) {
+            // A running drain completes the work it was started for
+            onComplete.run();
         }
 
-        return processed;
+        return buildSummary(categories, processedByCategory, startedAt, start);
     }
 
     /**
-     * Fetches messages from Gmail using the given query.
+     * Starts a mailbox drain for the backlog of a merged poll. Without a
+     * merged filter (a category has no sender filter) one drain would list
+     * the whole mailbox, so each category is drained with its own filters
+     * instead. If some category has no filter at all, nothing is drained.
      */
-    private List<Message> fetchMessages(String query) throws IOException {
-        ListMessagesResponse response = gmail.users()
-                .messages()
-                .list(USER_ID)
-                .setQ(query)
-                .setMaxResults(10L) // Limit to prevent overload
-                .execute();
-
-        return response.getMessages();
+    private void startMergedDrain(List<Category> categories, CategoryMatcher matcher, long estimate,
+            Runnable onComplete) {
+        BacklogDrainService.PageHandler pageHandler =
+                (messageIds, listedAt) -> submitDrainPage(messageIds, matcher, listedAt);
+
+        String filterQuery = matcher.buildMergedFilterQuery();
+        if (!filterQuery.isEmpty()) {
+            if (backlogDrainService.startMailboxDrain(filterQuery, pageHandler, onComplete)) {
+                log.info("Backlog of ~{} message(s) detected for the merged query, switching to backlog mode",
+                        estimate);
+            }
+            return;
+        }
+
+        List<String> unfiltered = categories.stream()
+                .filter(category -> category.buildFilterQuery().isEmpty())
+                .map(Category::getName)
+                .toList();
+        if (!unfiltered.isEmpty()) {
+            log.warn("Backlog of ~{} message(s) detected for the merged query, but categories {} have no filters: "
+                    + "not draining the whole mailbox, later merged polls take one page per cycle",
+                    estimate, unfiltered);
+            return;
+        }
+
+        if (backlogDrainService.startMailboxDrains(categories, pageHandler, onComplete)) {
+            log.info("Backlog of ~{} message(s) detected for the merged query; not every category has a sender "
+                    + "filter, so switching to backlog mode per category", estimate);
+        }
     }
 
     /**
-     * Processes a single email message.
+     * Polls only the messages added since the last history checkpoint and
+     * routes them to categories locally. Falls back to a full merged poll
+     * when the checkpoint is missing or expired, or the categories changed;
+     * the checkpoint then only moves once every matching message was
+     * listed and fetched.
      */
-    private void processMessage(Message message, Category category) {
-        try {
-            String messageId = message.getId();
-
-            // Fetch full message content
-            Message fullMessage = gmail.users()
-                    .messages()
-                    .get(USER_ID, messageId)
-                    .setFormat("full")
-                    .execute();
-
-            // Extract from, subject
-            String from = extractHeader(fullMessage, "From");
-            String subject = extractSubject(fullMessage);
-            String date = extractHeader(fullMessage, "Date");
-
-            // Extract email body
-            String emailBody = extractEmailBody(fullMessage);
-
-            // LOG JSON DETALHADO
-            log.info("---------- JSON EMAIL INICIO ----------");
-            log.info("{{");
-            log.info("  \"messageId\": \"{}\",", messageId);
-            log.info("  \"category\": \"{}\",", category.getName());
-            log.info("  \"query\": \"{}\",", category.buildGmailQuery());
-            log.info("  \"from\": \"{}\",", from);
-            log.info("  \"subject\": \"{}\",", subject);
-            log.info("  \"date\": \"{}\",", date);
-            log.info("  \"bodyLength\": {},", emailBody != null ? emailBody.length() : 0);
-            log.info("  \"bodyPreview\": \"{}\"",
-                    emailBody != null
-                            ? emailBody.substring(0, Math.min(500, emailBody.length())).replace("\n", " ").replace("\"",
-                                    "'")
-                            : "null");
-            log.info("}}");
-            log.info("---------- JSON EMAIL FIM ----------");
-
-            if (emailBody == null || emailBody.isBlank()) {
-                log.warn("Empty email body for message ID: {}", messageId);
-                markAsRead(messageId);
-                return;
-            }
+    private PollCycleSummary pollIncremental(List<Category> categories) throws IOException {
+        MailboxDelta delta = mailboxSyncService.fetchChanges();
+        LocalDateTime listedAt = LocalDateTime.now();
+
+        // History only reports new mail: messages released by a category change need a merged poll
+        if (delta.fullResyncRequired() || releaseUnmatchedOnCategoryChange(categories)) {
+            // The checkpoint write is fenced by the mailbox lease, also when a drain completes later
+            return pollMerged(categories, () -> mailboxSyncService.saveCheckpoint(delta.latestHistoryId()));
+        }
 
-            log.info("📧 Processing email: '{}' from '{}'", subject, from);
-
-            // Extract snippet (first 200 chars of body)
-            String snippet = emailBody.length() > 200
-                    ? emailBody.substring(0, 200) + "..."
-                    : emailBody;
-            snippet = snippet.replace("\n", " ").replace("\r", " ");
-
-            // Parse received date
-            LocalDateTime receivedAt = parseEmailDate(date);
-
-            // Save to database
-            processedEmailService.saveIfNotExists(
-                    messageId,
-                    from,
-                    subject,
-                    snippet,
-                    receivedAt,
-                    category);
-
-            // Add a small delay between AI calls to avoid rate limits (429)
-            try {
-                Thread.sleep(3000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
 
-            // Analyze with AI
-            ClassAlertDto alert = aiAnalysisPort.analyzeEmailContent(emailBody, receivedAt);
-
-            log.info("=== ALERT PROCESSING START ===");
-            log.info("AI Analysis result: {}", alert != null ? "Found" : "NULL");
-
-            // 1. If AI failed, create a basic alert object
-            if (alert == null) {
-                log.info("AI analysis returned null, creating basic alert from email data.");
-                alert = new ClassAlertDto(
-                        subject,
-                        receivedAt,
-                        null,
-                        String.format("Email from: %s\n\n%s", from, snippet),
-                        true,
-                        null);
-            }
+        List<String> newMessageIds = delta.addedMessageIds().stream()
+                .filter(messageId -> !processedMessageIndex.contains(messageId))
+                .toList();
 
-            // 2. ALWAYS attempt to create a calendar event for any alert reaching this
-            // point
-            log.info("Processing calendar event for: '{}'", alert.title());
-            String calendarLink = createCalendarEvent(alert);
-
-            // 3. Re-create final alert object with the link and forced urgency
-            alert = new ClassAlertDto(
-                    alert.title(),
-                    alert.date(),
-                    alert.url(),
-                    alert.description(),
-                    true, // FORCE URGENT for all filtered emails
-                    calendarLink);
-
-            log.info("🗓️ Calendar Event Status: {}", calendarLink != null ? "Created/Linked" : "Failed");
-
-            // 4. Save to history (THIS WAS MISSING!)
-            alertHistoryService.addAlert(alert);
-
-            // ALWAYS send WebSocket notification (urgent or not)
-            log.info("---------- FINAL ALERT DATA TO SEND ----------");
-            log.info("Title: {}", alert.title());
-            log.info("Is Urgent: {}", alert.isUrgent());
-            log.info("Date: {}", alert.date());
-            log.info("Link: {}", alert.url());
-            log.info("Calendar Link: {}", alert.calendarLink());
-            log.info("Description: {}", alert.description());
-            log.info("-----------------------------------------------");
-
-            log.info(">>> CALLING notificationPort.sendAlert() with alert: title='{}'", alert.title());
-            notificationPort.sendAlert(alert);
-            log.info(">>> notificationPort.sendAlert() COMPLETED");
-            log.info("=== ALERT PROCESSING END ===");
-
-            // Mark as read to avoid reprocessing
-            markAsRead(messageId);
+        // Fetch new messages in batched round-trips, full bodies only for triage candidates
+        CategoryMatcher matcher = CategoryMatcher.compile(categories);
+        CandidateMessageFetcher.CandidateFetchResult fetched = candidateMessageFetcher.fetch(newMessageIds, matcher);
+        LocalDateTime fetchedAt = LocalDateTime.now();
 
-        } catch (Exception e) {
-            log.error("Error processing message: {}", message.getId(), e);
+        if (!stillOwnsMailbox()) {
+            return buildSummary(categories, Map.of(), startedAt, start);
+        }
+        claimUnmatched(fetched.ruledOutIds());
+        Map<Long, Integer> processedByCategory = countByPrimaryCategory(
+                awaitProcessed(submitMatched(fetched.messages(), matcher, listedAt, fetchedAt)));
+
+        if (fetched.hasFailures()) {
+            // Keep the checkpoint so the failed messages are picked up again next cycle
+            log.error("Failed to fetch {} message(s) from history: {}", fetched.failures().size(),
+                    fetched.failures());
+        } else {
+            mailboxSyncService.saveCheckpoint(delta.latestHistoryId());
         }
-    }
 
-    /**
-     * Extracts subject from Gmail message.
-     */
-    private String extractSubject(Message message) {
-        return extractHeader(message, "Subject");
+        return buildSummary(categories, processedByCategory, startedAt, start);
     }
 
     /**
-     * Extracts any header from Gmail message.
+     * Handles one page of a mailbox backlog drain the way a merged poll
+     * handles its page.
      */
-    private String extractHeader(Message message, String headerName) {
-        if (message.getPayload() != null && message.getPayload().getHeaders() != null) {
-            return message.getPayload().getHeaders().stream()
-                    .filter(h -> headerName.equalsIgnoreCase(h.getName()))
-                    .findFirst()
-                    .map(h -> h.getValue())
-                    .orElse("(Not Found)");
+    private BacklogDrainService.PageSubmission submitDrainPage(List<String> messageIds, CategoryMatcher matcher,
+            LocalDateTime listedAt) {
+        CandidateMessageFetcher.CandidateFetchResult fetched = candidateMessageFetcher.fetch(messageIds, matcher);
+        LocalDateTime fetchedAt = LocalDateTime.now();
+        if (fetched.hasFailures()) {
+            log.error("Failed to fetch {} backlog message(s): {}", fetched.failures().size(), fetched.failures());
         }
-        return "(Not Found)";
+
+        claimUnmatched(fetched.ruledOutIds());
+        List<CompletableFuture<Boolean>> completions = submitMatched(fetched.messages(), matcher, listedAt,
+                fetchedAt).stream()
+                .map(MessageContext::getCompletion)
+                .toList();
+        return new BacklogDrainService.PageSubmission(completions, fetched.hasFailures());
     }
 
     /**
-     * Extracts email body from Gmail message.
-     * Prioritizes plain text and strips HTML if needed.
+     * Classifies fetched messages against all categories and submits the
+     * ones that matched at least one to the processing pipeline.
+     *
+     * @param listedAt  When the list or history call that found the messages returned
+     * @param fetchedAt When their full content was fetched
+     * @return Contexts of the submitted messages
      */
-    private String extractEmailBody(Message message) {
-        try {
-            if (message.getPayload() == null) {
-                return null;
+    private List<MessageContext> submitMatched(List<Message> fullMessages, CategoryMatcher matcher,
+            LocalDateTime listedAt, LocalDateTime fetchedAt) {
+        List<MessageContext> submitted = new ArrayList<>();
+
+        for (Message fullMessage : fullMessages) {
+            String from = contentExtractor.extractHeader(fullMessage, "From");
+            String subject = contentExtractor.extractHeader(fullMessage, "Subject");
+            String emailBody = contentExtractor.extractEmailBody(fullMessage);
+
+            // Claim every classified message, matched or not, so it is not fetched again
+            if (!processedMessageIndex.tryClaim(fullMessage.getId())) {
+                continue;
             }
 
-            String body = findBodyPart(message.getPayload(), "text/plain");
-            if (body == null) {
-                body = findBodyPart(message.getPayload(), "text/html");
-                if (body != null) {
-                    body = stripHtml(body);
-                }
+            List<Category> matched = matcher.match(from, subject, emailBody);
+
+            if (matched.isEmpty()) {
+                log.debug("Message {} does not match any active category", fullMessage.getId());
+                processedMessageIndex.markUnmatched(fullMessage.getId());
+                continue;
             }
 
-            return body;
-        } catch (Exception e) {
-            log.error("Error extracting email body", e);
-            return null;
+            // Reuse what classification already decoded
+            MessageContext context = new MessageContext(fullMessage, matched, listedAt, fetchedAt);
+            context.setFrom(from);
+            context.setSubject(subject);
+            context.setEmailBody(emailBody);
+
+            emailProcessingPipeline.submit(context);
+            submitted.add(context);
         }
+        return submitted;
     }
 
-    private String findBodyPart(com.google.api.services.gmail.model.MessagePart part, String mimeType) {
-        if (mimeType.equalsIgnoreCase(part.getMimeType()) && part.getBody() != null
-                && part.getBody().getData() != null) {
-            return decodeBase64(part.getBody().getData());
+    /**
+     * @return Number of processed messages per primary category ID
+     */
+    private Map<Long, Integer> countByPrimaryCategory(List<MessageContext> processed) {
+        Map<Long, Integer> processedByCategory = new HashMap<>();
+        for (MessageContext context : processed) {
+            processedByCategory.merge(context.getPrimaryCategory().getId(), 1, Integer::sum);
         }
+        return processedByCategory;
+    }
 
-        if (part.getParts() != null) {
-            for (var subPart : part.getParts()) {
-                String result = findBodyPart(subPart, mimeType);
-                if (result != null) {
-                    return result;
+    /**
+     * Waits until every submitted message has left the pipeline, so the
+     * history checkpoint only moves past messages that were handled.
+     *
+     * @return Contexts whose alert was sent
+     */
+    private List<MessageContext> awaitProcessed(List<MessageContext> contexts) {
+        List<MessageContext> processed = new ArrayList<>();
+        try {
+            for (MessageContext context : contexts) {
+                if (context.getCompletion().get()) {
+                    processed.add(context);
                 }
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while waiting for {} message(s) in the pipeline", contexts.size());
+        } catch (ExecutionException e) {
+            log.error("Pipeline completion failed", e.getCause());
         }
-        return null;
+        return processed;
     }
 
-    private String stripHtml(String html) {
-        if (html == null)
-            return null;
-        // Basic HTML stripping
-        return html.replaceAll("<style([\\s\\S]*?)</style>", "")
-                .replaceAll("<script([\\s\\S]*?)</script>", "")
-                .replaceAll("<[^>]*>", " ")
-                .replaceAll("&nbsp;", " ")
-                .replaceAll("\\s+", " ")
-                .trim();
-    }
+    private PollCycleSummary buildSummary(List<Category> categories, Map<Long, Integer> processedByCategory,
+            LocalDateTime startedAt, long startNanos) {
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        List<CategoryPollResult> results = categories.stream()
+                .map(category -> CategoryPollResult.success(category,
+                        processedByCategory.getOrDefault(category.getId(), 0), durationMs))
+                .toList();
 
-    /**
-     * Decodes Base64 encoded email content.
-     */
-    private String decodeBase64(String encodedData) {
-        byte[] decodedBytes = Base64.getUrlDecoder().decode(encodedData);
-        return new String(decodedBytes);
+        return new PollCycleSummary(startedAt, durationMs, results);
     }
 
     /**
-     * Creates a Google Calendar event for the alert.
+     * Polls Gmail for a specific category.
+     * Uses the category's filter fields to build the Gmail query.
+     * Hands the category to backlog mode when more than one page of
+     * unclaimed messages matches.
      * 
-     * @return The HTML link to the created event
+     * @param category The category to poll
+     * @return Number of messages processed
      */
-    private String createCalendarEvent(ClassAlertDto alert) {
-        try {
-            log.info("📅 Checking for existing calendar events with title: '{}'", alert.title());
-
-            // Define time range (same day)
-            ZonedDateTime startOfDay = alert.date().toLocalDate().atStartOfDay(ZoneId.systemDefault());
-            ZonedDateTime endOfDay = alert.date().toLocalDate().atTime(23, 59, 59).atZone(ZoneId.systemDefault());
-
-            com.google.api.client.util.DateTime timeMin = new com.google.api.client.util.DateTime(
-                    Date.from(startOfDay.toInstant()));
-            com.google.api.client.util.DateTime timeMax = new com.google.api.client.util.DateTime(
-                    Date.from(endOfDay.toInstant()));
-
-            // Search for existing events
-            var events = calendar.events().list("primary")
-                    .setTimeMin(timeMin)
-                    .setTimeMax(timeMax)
-                    .setQ(alert.title())
-                    .execute();
-
-            if (events.getItems() != null && !events.getItems().isEmpty()) {
-                String existingLink = events.getItems().get(0).getHtmlLink();
-                log.info("⚠️ DUPLICATE DETECTED: Event '{}' already exists in calendar. Using link: {}", alert.title(),
-                        existingLink);
-                return existingLink;
-            }
+    private int pollCategory(Category category) throws IOException {
+        return tracing.inSpan("email.poll.category", Map.of("category", category.getName()),
+                () -> pollCategoryInSpan(category));
+    }
 
-            log.info("🚀 CREATING NEW CALENDAR EVENT: '{}'", alert.title());
+    private int pollCategoryInSpan(Category category) throws IOException {
+        // Build query from category's filter fields
+        String query = category.buildGmailQuery();
 
-            Event event = new Event()
-                    .setSummary(alert.title())
-                    .setDescription(alert.description())
-                    .setLocation(alert.url() != null ? alert.url() : "Online");
+        if (backlogDrainService.isDraining(category)) {
+            log.debug("Category '{}' is draining its backlog, skipping steady-state poll", category.getName());
+            return 0;
+        }
 
-            Date startDate = Date.from(alert.date().atZone(ZoneId.systemDefault()).toInstant());
-            Date endDate = Date.from(alert.date().plusHours(1).atZone(ZoneId.systemDefault()).toInstant());
+        log.info("Polling category '{}' with query: {}", category.getName(), query);
 
-            EventDateTime start = new EventDateTime()
-                    .setDateTime(new com.google.api.client.util.DateTime(startDate))
-                    .setTimeZone(ZoneId.systemDefault().getId());
+        GmailMessageIterator iterator = new GmailMessageIterator(gmail, query, scanPageSize, externalCallMetrics,
+                category.getName());
 
-            EventDateTime end = new EventDateTime()
-                    .setDateTime(new com.google.api.client.util.DateTime(endDate))
-                    .setTimeZone(ZoneId.systemDefault().getId());
+        // Claimed messages still unread (e.g. pending acknowledgements) do not count towards a backlog
+        List<String> unclaimed = nextUnclaimed(iterator, pageSize + 1);
+        LocalDateTime listedAt = LocalDateTime.now();
 
-            event.setStart(start);
-            event.setEnd(end);
+        if (unclaimed.size() > pageSize) {
+            // More new mail than one steady-state page: drain it in backlog mode
+            log.info("Backlog of ~{} message(s) detected for category '{}', switching to backlog mode",
+                    iterator.getResultSizeEstimate(), category.getName());
+            backlogDrainService.startDrain(category);
+            return 0;
+        }
 
-            Event createdEvent = calendar.events().insert("primary", event).execute();
+        if (unclaimed.isEmpty()) {
+            log.debug("No new messages found for category '{}'", category.getName());
+            return 0;
+        }
 
-            log.info("✅ SUCCESS: Calendar event created! Link: {}", createdEvent.getHtmlLink());
-            return createdEvent.getHtmlLink();
+        log.info("Found {} new message(s) for category '{}'", unclaimed.size(), category.getName());
 
-        } catch (Exception e) {
-            log.error("❌ FAILURE: Could not create/check calendar event for '{}'. Error: {}", alert.title(),
-                    e.getMessage());
-            return null;
+        // Fencing: the category may have moved to another node while listing
+        if (!pollLeaseService.verify(PollLeaseService.categoryKey(category))) {
+            log.warn("Lease on category '{}' lost to another node; leaving its messages to the new owner",
+                    category.getName());
+            return 0;
         }
-    }
 
-    /**
-     * Marks an email message as read.
-     */
-    private void markAsRead(String messageId) {
-        try {
-            ModifyMessageRequest modifyRequest = new ModifyMessageRequest()
-                    .setRemoveLabelIds(Collections.singletonList(LABEL_UNREAD));
+        // Claim unprocessed messages up to the per-cycle limit
+        List<String> claimed = new ArrayList<>();
+        for (String messageId : unclaimed) {
+            if (claimed.size() >= maxMessagesPerCategory) {
+                log.info("Reached processing limit ({} messages) for this cycle. Remaining will be polled next time.",
+                        maxMessagesPerCategory);
+                break;
+            }
+            if (processedMessageIndex.tryClaim(messageId)) {
+                claimed.add(messageId);
+            }
+        }
 
-            gmail.users()
-                    .messages()
-                    .modify(USER_ID, messageId, modifyRequest)
-                    .execute();
+        if (claimed.isEmpty()) {
+            return 0;
+        }
 
-            log.debug("Marked message as read: {}", messageId);
+        // The ingest stage fetches claimed messages in batched round-trips
+        List<MessageContext> submitted = claimed.stream()
+                .map(messageId -> new MessageContext(messageId, List.of(category), listedAt))
+                .toList();
+        submitted.forEach(emailProcessingPipeline::submit);
 
-        } catch (IOException e) {
-            log.error("Failed to mark message as read: {}", messageId, e);
-        }
+        return awaitProcessed(submitted).size();
     }
 
     /**
-     * Fallback method when Gmail service is unavailable.
+     * Lists messages until the given number of unclaimed ones was found or
+     * the listing is exhausted; claimed messages are skipped.
+     *
+     * @return IDs of the unclaimed messages, in listing order
      */
-    private void fallbackPolling(Throwable throwable) {
-        log.error("Gmail service unavailable, skipping polling cycle. Error: {}", throwable.getMessage());
+    private List<String> nextUnclaimed(GmailMessageIterator iterator, long limit) {
+        List<String> unclaimed = new ArrayList<>();
+        while (unclaimed.size() < limit && iterator.hasNext()) {
+            String messageId = iterator.next().getId();
+            if (!processedMessageIndex.contains(messageId)) {
+                unclaimed.add(messageId);
+            }
+        }
+        return unclaimed;
     }
 
     /**
-     * Clears all calendar events for a specific date.
-     * Useful for cleaning up duplicates or testing data.
+     * Claims messages ruled out by metadata triage so they are not triaged
+     * again while the categories stay the same.
      */
-    public int clearCalendarEvents(java.time.LocalDate date) {
-        try {
-            log.info("Starting calendar cleanup for date: {}", date);
-
-            // Define start and end of the day
-            LocalDateTime startOfDay = date.atStartOfDay();
-            LocalDateTime endOfDay = date.atTime(23, 59, 59);
-
-            com.google.api.client.util.DateTime timeMin = new com.google.api.client.util.DateTime(
-                    java.util.Date.from(startOfDay.atZone(ZoneId.systemDefault()).toInstant()));
-
-            com.google.api.client.util.DateTime timeMax = new com.google.api.client.util.DateTime(
-                    java.util.Date.from(endOfDay.atZone(ZoneId.systemDefault()).toInstant()));
-
-            // List all events for that day
-            var events = calendar.events().list("primary")
-                    .setTimeMin(timeMin)
-                    .setTimeMax(timeMax)
-                    .setSingleEvents(true)
-                    .execute();
-
-            List<Event> items = events.getItems();
-            if (items == null || items.isEmpty()) {
-                log.info("No events found to delete for date {}", date);
-                return 0;
-            }
-
-            log.info("Found {} events to delete on {}", items.size(), date);
-            int deletedCount = 0;
-
-            // Delete each event
-            for (Event event : items) {
-                try {
-                    calendar.events().delete("primary", event.getId()).execute();
-                    log.info("Deleted event: {} (ID: {})", event.getSummary(), event.getId());
-                    deletedCount++;
-                } catch (IOException e) {
-                    log.error("Failed to delete event ID: {}", event.getId(), e);
-                }
-            }
-
-            log.info("Calendar cleanup completed. Deleted {} events.", deletedCount);
-            return deletedCount;
-
-        } catch (IOException e) {
-            log.error("Failed to list calendar events for cleanup", e);
-            throw new CalendarIntegrationException("Failed to clean calendar", e);
-        }
+    private void claimUnmatched(List<String> messageIds) {
+        messageIds.forEach(processedMessageIndex::tryClaimUnmatched);
     }
 
     /**
-     * Parses email date string to LocalDateTime.
-     * Handles common email date formats (RFC 2822).
+     * Releases the claims of messages that matched no category when a
+     * category was added, edited, enabled or removed since the last cycle,
+     * so those messages are classified again against the new rules.
      *
-     * @param dateString The date string from email header
-     * @return LocalDateTime or current time if parsing fails
+     * @return true if the categories changed
      */
-    private LocalDateTime parseEmailDate(String dateString) {
-        if (dateString == null || dateString.isBlank()) {
-            return LocalDateTime.now();
+    private boolean releaseUnmatchedOnCategoryChange(List<Category> categories) {
+        List<String> versions = categories.stream()
+                .map(category -> category.getId() + "@" + category.getUpdatedAt())
+                .sorted()
+                .toList();
+        List<String> previous = categoryVersions;
+        categoryVersions = versions;
+        if (previous == null || previous.equals(versions)) {
+            return false;
         }
+        int released = processedMessageIndex.releaseUnmatched();
+        log.info("Active categories changed; {} unmatched message(s) will be classified again", released);
+        return true;
+    }
 
-        try {
-            // Common email date format: "Mon, 16 Dec 2025 19:01:33 -0300"
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("EEE, d MMM yyyy HH:mm:ss Z",
-                    java.util.Locale.ENGLISH);
-            ZonedDateTime zonedDateTime = ZonedDateTime.parse(dateString.trim(), formatter);
-            return zonedDateTime.toLocalDateTime();
-        } catch (Exception e) {
-            log.warn("Failed to parse email date '{}', using current time", dateString);
-            return LocalDateTime.now();
+    /**
+     * Fencing check before acting on mailbox-wide work (incremental and
+     * merged mode).
+     */
+    private boolean stillOwnsMailbox() {
+        if (pollLeaseService.verify(PollLeaseService.MAILBOX_KEY)) {
+            return true;
         }
+        log.warn("Mailbox lease lost to another node; leaving this cycle's messages to the new owner");
+        return false;
+    }
+
+    /**
+     * Fallback method when Gmail service is unavailable.
+     */
+    private void fallbackPolling(Throwable throwable) {
+        log.error("Gmail service unavailable, skipping polling cycle. Error: {}", throwable.getMessage());
+    }
+
+    private void fallbackPolling(PollProgressListener listener, Throwable throwable) {
+        fallbackPolling(throwable);
+        listener.cycleFailed(throwable.getMessage());
     }
 }
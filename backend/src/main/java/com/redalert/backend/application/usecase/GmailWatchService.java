@@ -0,0 +1,117 @@
+package com.redalert.backend.application.usecase;
+
+import com.google.api.services.gmail.Gmail;
+import com.google.api.services.gmail.model.WatchRequest;
+import com.google.api.services.gmail.model.WatchResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Registers the Gmail push watch (users.watch) on a Cloud Pub/Sub topic.
+ *
+ * Gmail watches expire after at most seven days, so the watch is renewed
+ * periodically. While the watch is active, mailbox changes arrive through
+ * the push endpoint and the scheduled poller only runs as a safety net.
+ */
+@Service
+@Slf4j
+public class GmailWatchService {
+
+    private static final String USER_ID = "me";
+    private static final String LABEL_FILTER_INCLUDE = "include";
+
+    private final Gmail gmail;
+    private final boolean enabled;
+    private final String topicName;
+    private final List<String> labelIds;
+    private final String verificationToken;
+
+    private volatile Long expirationMs;
+
+    public GmailWatchService(
+            Gmail gmail,
+            @Value("${email.push.enabled:false}") boolean enabled,
+            @Value("${email.push.topic-name:}") String topicName,
+            @Value("${email.push.label-ids:INBOX}") List<String> labelIds,
+            @Value("${email.push.verification-token:}") String verificationToken) {
+        this.gmail = gmail;
+        this.enabled = enabled;
+        this.topicName = topicName;
+        this.labelIds = labelIds;
+        this.verificationToken = verificationToken;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void registerOnStartup() {
+        if (enabled) {
+            register();
+        }
+    }
+
+    /**
+     * Renews the watch before Gmail expires it.
+     */
+    @Scheduled(fixedDelayString = "${email.push.watch-renewal-interval:86400000}",
+            initialDelayString = "${email.push.watch-renewal-interval:86400000}")
+    public void renew() {
+        if (enabled) {
+            register();
+        }
+    }
+
+    /**
+     * Registers (or re-registers) the Gmail watch.
+     *
+     * @return true if the watch is active
+     */
+    public synchronized boolean register() {
+        if (topicName == null || topicName.isBlank()) {
+            log.warn("Push ingestion enabled but email.push.topic-name is not set; staying on polling");
+            return false;
+        }
+        if (verificationToken == null || verificationToken.isBlank()) {
+            // The push endpoint rejects every request without a token
+            log.warn("Push ingestion enabled but email.push.verification-token is not set; staying on polling");
+            return false;
+        }
+
+        try {
+            WatchRequest request = new WatchRequest()
+                    .setTopicName(topicName)
+                    .setLabelIds(labelIds)
+                    .setLabelFilterBehavior(LABEL_FILTER_INCLUDE);
+
+            WatchResponse response = gmail.users().watch(USER_ID, request).execute();
+            expirationMs = response.getExpiration();
+
+            log.info("📡 Gmail watch registered on '{}' (historyId {}, expires {})", topicName,
+                    response.getHistoryId(), expirationMs != null ? Instant.ofEpochMilli(expirationMs) : "unknown");
+            return true;
+
+        } catch (IOException e) {
+            log.error("Failed to register Gmail watch on '{}'; staying on polling", topicName, e);
+            expirationMs = null;
+            return false;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Whether push notifications are currently expected to arrive.
+     */
+    public boolean isWatchActive() {
+        Long expiration = expirationMs;
+        return enabled && expiration != null && expiration > System.currentTimeMillis();
+    }
+}
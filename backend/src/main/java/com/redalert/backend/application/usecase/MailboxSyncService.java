@@ -0,0 +1,151 @@
+package com.redalert.backend.application.usecase;
+
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.services.gmail.Gmail;
+import com.google.api.services.gmail.model.History;
+import com.google.api.services.gmail.model.HistoryMessageAdded;
+import com.google.api.services.gmail.model.ListHistoryResponse;
+import com.google.api.services.gmail.model.Message;
+import com.redalert.backend.domain.model.MailboxDelta;
+import com.redalert.backend.domain.model.SyncCheckpoint;
+import com.redalert.backend.domain.repository.SyncCheckpointRepository;
+import com.redalert.backend.infrastructure.metrics.ExternalCallMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Incremental mailbox sync using the Gmail History API.
+ *
+ * Keeps the last seen historyId as a persisted checkpoint and asks
+ * users.history.list only for messages added since then. When there is no
+ * checkpoint yet, or Gmail no longer keeps history that old, a full resync
+ * is requested instead.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MailboxSyncService {
+
+    private final Gmail gmail;
+    private final SyncCheckpointRepository syncCheckpointRepository;
+    private final ExternalCallMetrics externalCallMetrics;
+    private final PollLeaseService pollLeaseService;
+
+    private static final String USER_ID = "me";
+    private static final String CHECKPOINT_KEY = "gmail.history";
+    private static final String LABEL_UNREAD = "UNREAD";
+    private static final String HISTORY_TYPE_MESSAGE_ADDED = "messageAdded";
+    private static final long HISTORY_PAGE_SIZE = 500L;
+
+    /**
+     * Fetches the unread messages added since the stored checkpoint.
+     *
+     * @return The mailbox delta, or a full resync request when the checkpoint
+     *         is missing or expired
+     */
+    public MailboxDelta fetchChanges() throws IOException {
+        Optional<Long> checkpoint = getCheckpoint();
+        if (checkpoint.isEmpty()) {
+            log.info("No mailbox sync checkpoint found. Full resync required.");
+            return MailboxDelta.fullResync(getCurrentHistoryId());
+        }
+
+        try {
+            return listHistorySince(checkpoint.get());
+        } catch (GoogleJsonResponseException e) {
+            if (e.getStatusCode() == 404) {
+                log.warn("Mailbox sync checkpoint {} expired. Full resync required.", checkpoint.get());
+                return MailboxDelta.fullResync(getCurrentHistoryId());
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Stores a new checkpoint. The checkpoint only moves forward, and only
+     * while this node holds the mailbox lease: the write carries the lease's
+     * fencing token, so a node that lost the lease meanwhile cannot move it.
+     *
+     * @param historyId History ID reached by the last successful sync
+     * @return false if the write was fenced out
+     */
+    public boolean saveCheckpoint(long historyId) {
+        Optional<PollLeaseService.Lease> lease = pollLeaseService.lease(PollLeaseService.MAILBOX_KEY);
+        int updated = lease.isEmpty() ? 0 : syncCheckpointRepository.advanceFenced(CHECKPOINT_KEY, historyId,
+                PollLeaseService.MAILBOX_KEY, pollLeaseService.getNodeId(), lease.get().fencingToken());
+        if (updated == 0) {
+            log.warn("Mailbox lease lost; not advancing the sync checkpoint to {}", historyId);
+            return false;
+        }
+        log.debug("Mailbox sync checkpoint at least {}", historyId);
+        return true;
+    }
+
+    /**
+     * Gets the stored checkpoint, if any.
+     */
+    public Optional<Long> getCheckpoint() {
+        return syncCheckpointRepository.findByCheckpointKey(CHECKPOINT_KEY)
+                .map(SyncCheckpoint::getCheckpointValue)
+                .map(Long::parseLong);
+    }
+
+    private MailboxDelta listHistorySince(long startHistoryId) throws IOException {
+        Set<String> addedMessageIds = new LinkedHashSet<>();
+        long latestHistoryId = startHistoryId;
+        String pageToken = null;
+
+        do {
+            String currentPageToken = pageToken;
+            ListHistoryResponse response = externalCallMetrics.gmail("history.list", ExternalCallMetrics.NO_CATEGORY,
+                    () -> gmail.users()
+                            .history()
+                            .list(USER_ID)
+                            .setStartHistoryId(BigInteger.valueOf(startHistoryId))
+                            .setHistoryTypes(List.of(HISTORY_TYPE_MESSAGE_ADDED))
+                            .setMaxResults(HISTORY_PAGE_SIZE)
+                            .setPageToken(currentPageToken)
+                            .execute());
+
+            if (response.getHistory() != null) {
+                for (History history : response.getHistory()) {
+                    collectUnreadAdded(history, addedMessageIds);
+                }
+            }
+
+            if (response.getHistoryId() != null) {
+                latestHistoryId = Math.max(latestHistoryId, response.getHistoryId().longValue());
+            }
+            pageToken = response.getNextPageToken();
+        } while (pageToken != null);
+
+        log.info("Mailbox history since {}: {} new unread message(s)", startHistoryId, addedMessageIds.size());
+        return MailboxDelta.incremental(new ArrayList<>(addedMessageIds), latestHistoryId);
+    }
+
+    private void collectUnreadAdded(History history, Set<String> addedMessageIds) {
+        if (history.getMessagesAdded() == null) {
+            return;
+        }
+        for (HistoryMessageAdded added : history.getMessagesAdded()) {
+            Message message = added.getMessage();
+            if (message != null && message.getLabelIds() != null && message.getLabelIds().contains(LABEL_UNREAD)) {
+                addedMessageIds.add(message.getId());
+            }
+        }
+    }
+
+    private long getCurrentHistoryId() throws IOException {
+        return externalCallMetrics.gmail("getProfile", ExternalCallMetrics.NO_CATEGORY,
+                () -> gmail.users().getProfile(USER_ID).execute()).getHistoryId().longValue();
+    }
+}
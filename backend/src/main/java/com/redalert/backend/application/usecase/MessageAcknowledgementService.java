@@ -0,0 +1,307 @@
+package com.redalert.backend.application.usecase;
+
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.services.gmail.Gmail;
+import com.google.api.services.gmail.model.BatchModifyMessagesRequest;
+import com.redalert.backend.domain.model.PendingAcknowledgement;
+import com.redalert.backend.domain.repository.PendingAcknowledgementRepository;
+import com.redalert.backend.infrastructure.metrics.ExternalCallMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Use case for marking processed Gmail messages as read.
+ *
+ * Acknowledgements are buffered and flushed with users.messages.batchModify,
+ * up to 1000 IDs per call, when the buffer reaches the batch size or on the
+ * flush interval, whichever comes first. IDs of a failed call are stored in
+ * pending_acknowledgements and retried on later flushes with exponential
+ * backoff. A batch rejected with a 4xx (e.g., one invalid or deleted ID) is
+ * split in halves until the offending IDs are isolated, so only those are
+ * dropped.
+ */
+@Service
+@Slf4j
+public class MessageAcknowledgementService {
+
+    /**
+     * Maximum number of IDs accepted by users.messages.batchModify.
+     */
+    public static final int MAX_BATCH_MODIFY_IDS = 1000;
+
+    private static final String USER_ID = "me";
+    private static final String LABEL_UNREAD = "UNREAD";
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final Gmail gmail;
+    private final PendingAcknowledgementRepository pendingAcknowledgementRepository;
+    private final ExternalCallMetrics externalCallMetrics;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final long maxRetryBackoffMs;
+
+    private final Counter acknowledged;
+    private final Counter failed;
+    private final Counter rejected;
+    private final Counter batchCalls;
+
+    private Set<String> buffer = new LinkedHashSet<>();
+
+    public MessageAcknowledgementService(
+            Gmail gmail,
+            PendingAcknowledgementRepository pendingAcknowledgementRepository,
+            ExternalCallMetrics externalCallMetrics,
+            MeterRegistry meterRegistry,
+            @Value("${email.ack.batch-size:1000}") int batchSize,
+            @Value("${email.ack.max-attempts:10}") int maxAttempts,
+            @Value("${email.ack.retry-backoff:5000}") long retryBackoffMs,
+            @Value("${email.ack.max-retry-backoff:300000}") long maxRetryBackoffMs) {
+        this.gmail = gmail;
+        this.pendingAcknowledgementRepository = pendingAcknowledgementRepository;
+        this.externalCallMetrics = externalCallMetrics;
+        this.batchSize = Math.clamp(batchSize, 1, MAX_BATCH_MODIFY_IDS);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMs = Math.max(0, retryBackoffMs);
+        this.maxRetryBackoffMs = Math.max(this.retryBackoffMs, maxRetryBackoffMs);
+
+        this.acknowledged = Counter.builder("redalert.ack.messages")
+                .tag("result", "acknowledged")
+                .description("Messages marked as read")
+                .register(meterRegistry);
+        this.failed = Counter.builder("redalert.ack.messages")
+                .tag("result", "failed")
+                .description("Messages whose mark-as-read failed and were queued for retry")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("redalert.ack.messages")
+                .tag("result", "rejected")
+                .description("Messages Gmail refused to mark as read (4xx on their own), dropped")
+                .register(meterRegistry);
+        this.batchCalls = Counter.builder("redalert.ack.batch.calls")
+                .description("users.messages.batchModify calls")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Buffers a message to be marked as read.
+     */
+    public void acknowledge(String messageId) {
+        acknowledgeAll(List.of(messageId));
+    }
+
+    /**
+     * Buffers messages to be marked as read, flushing right away when the
+     * buffer reaches the batch size.
+     */
+    public void acknowledgeAll(Collection<String> messageIds) {
+        List<String> ready = null;
+        synchronized (this) {
+            buffer.addAll(messageIds);
+            if (buffer.size() >= batchSize) {
+                ready = drainBuffer();
+            }
+        }
+        if (ready != null) {
+            send(ready);
+        }
+    }
+
+    /**
+     * Flushes buffered acknowledgements and retries pending ones.
+     */
+    @Scheduled(fixedDelayString = "${email.ack.flush-interval:5000}")
+    public void flush() {
+        List<String> ready;
+        synchronized (this) {
+            ready = drainBuffer();
+        }
+        if (!ready.isEmpty()) {
+            send(ready);
+        }
+        retryPending();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        List<String> ready;
+        synchronized (this) {
+            ready = drainBuffer();
+        }
+        if (!ready.isEmpty()) {
+            log.info("Flushing {} buffered acknowledgement(s) before shutdown", ready.size());
+            send(ready);
+        }
+    }
+
+    private List<String> drainBuffer() {
+        List<String> drained = new ArrayList<>(buffer);
+        buffer = new LinkedHashSet<>();
+        return drained;
+    }
+
+    /**
+     * Sends acknowledgements in batchModify-sized chunks, storing the IDs of
+     * failed calls for retry.
+     */
+    private void send(List<String> messageIds) {
+        for (int from = 0; from < messageIds.size(); from += MAX_BATCH_MODIFY_IDS) {
+            List<String> chunk = messageIds.subList(from, Math.min(from + MAX_BATCH_MODIFY_IDS, messageIds.size()));
+            List<String> retry = new ArrayList<>();
+            Exception error = markAsReadSplitting(chunk, retry);
+            if (error != null) {
+                log.error("Failed to mark {} message(s) as read, queued for retry: {}", retry.size(),
+                        error.getMessage());
+                failed.increment(retry.size());
+                recordFailures(retry, error);
+            }
+        }
+    }
+
+    /**
+     * Retries the oldest due pending acknowledgements in one batchModify
+     * call (split on a 4xx).
+     */
+    private void retryPending() {
+        List<PendingAcknowledgement> pending;
+        try {
+            pending = pendingAcknowledgementRepository.findByNextAttemptAtLessThanEqualOrderByCreatedAtAsc(
+                    LocalDateTime.now(), PageRequest.of(0, MAX_BATCH_MODIFY_IDS));
+        } catch (Exception e) {
+            log.error("Failed to load pending acknowledgements", e);
+            return;
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<String> messageIds = pending.stream().map(PendingAcknowledgement::getMessageId).toList();
+        List<String> retry = new ArrayList<>();
+        Exception error = markAsReadSplitting(messageIds, retry);
+        try {
+            Set<String> retryIds = Set.copyOf(retry);
+            Map<Boolean, List<PendingAcknowledgement>> byRetry = pending.stream()
+                    .collect(Collectors.partitioningBy(entry -> retryIds.contains(entry.getMessageId())));
+            pendingAcknowledgementRepository.deleteAllInBatch(byRetry.get(false));
+            if (error != null) {
+                log.error("Retry of {} pending acknowledgement(s) failed: {}", retry.size(), error.getMessage());
+                updateFailures(byRetry.get(true), error);
+            } else {
+                log.info("Retried {} pending acknowledgement(s)", pending.size());
+            }
+        } catch (Exception e) {
+            log.error("Failed to update {} pending acknowledgement(s)", pending.size(), e);
+        }
+    }
+
+    /**
+     * Marks messages as read. When Gmail rejects the batch with a 4xx, the
+     * batch is split in halves until the offending IDs are isolated, and
+     * those are dropped. IDs of calls that failed otherwise are added to
+     * {@code retry}.
+     *
+     * @return Error of the failed calls, or null if none failed
+     */
+    private Exception markAsReadSplitting(List<String> messageIds, List<String> retry) {
+        try {
+            markAsRead(messageIds);
+            return null;
+        } catch (GoogleJsonResponseException e) {
+            if (!isRejection(e)) {
+                retry.addAll(messageIds);
+                return e;
+            }
+            if (messageIds.size() == 1) {
+                log.warn("Gmail refused to mark message {} as read ({}), dropping it", messageIds.get(0),
+                        e.getStatusCode());
+                rejected.increment();
+                return null;
+            }
+            int middle = messageIds.size() / 2;
+            Exception first = markAsReadSplitting(messageIds.subList(0, middle), retry);
+            Exception second = markAsReadSplitting(messageIds.subList(middle, messageIds.size()), retry);
+            return first != null ? first : second;
+        } catch (Exception e) {
+            retry.addAll(messageIds);
+            return e;
+        }
+    }
+
+    /**
+     * Whether a batchModify error is caused by the IDs rather than by auth,
+     * quota or rate limits, which fail any batch.
+     */
+    private boolean isRejection(GoogleJsonResponseException e) {
+        int status = e.getStatusCode();
+        return status >= 400 && status < 500 && status != 401 && status != 403 && status != 429;
+    }
+
+    private void markAsRead(List<String> messageIds) throws IOException {
+        BatchModifyMessagesRequest request = new BatchModifyMessagesRequest()
+                .setIds(messageIds)
+                .setRemoveLabelIds(List.of(LABEL_UNREAD));
+
+        externalCallMetrics.gmail("messages.batchModify", ExternalCallMetrics.NO_CATEGORY, () -> gmail.users()
+                .messages()
+                .batchModify(USER_ID, request)
+                .execute());
+
+        batchCalls.increment();
+        acknowledged.increment(messageIds.size());
+        log.debug("Marked {} message(s) as read", messageIds.size());
+    }
+
+    private void recordFailures(List<String> messageIds, Exception error) {
+        try {
+            Map<String, PendingAcknowledgement> existing = pendingAcknowledgementRepository
+                    .findByMessageIdIn(messageIds).stream()
+                    .collect(Collectors.toMap(PendingAcknowledgement::getMessageId, Function.identity()));
+
+            List<PendingAcknowledgement> entries = messageIds.stream()
+                    .map(messageId -> existing.getOrDefault(messageId,
+                            PendingAcknowledgement.builder().messageId(messageId).build()))
+                    .toList();
+            updateFailures(entries, error);
+        } catch (Exception e) {
+            log.error("Failed to store {} pending acknowledgement(s); they will stay unread", messageIds.size(), e);
+        }
+    }
+
+    private void updateFailures(List<PendingAcknowledgement> entries, Exception error) {
+        String message = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+        String lastError = message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+
+        List<PendingAcknowledgement> retry = new ArrayList<>();
+        List<PendingAcknowledgement> abandoned = new ArrayList<>();
+        for (PendingAcknowledgement entry : entries) {
+            entry.setAttempts(entry.getAttempts() + 1);
+            entry.setLastError(lastError);
+            long delayMs = Math.min(maxRetryBackoffMs, retryBackoffMs << Math.min(20, entry.getAttempts() - 1));
+            entry.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(delayMs)));
+            (entry.getAttempts() >= maxAttempts ? abandoned : retry).add(entry);
+        }
+
+        pendingAcknowledgementRepository.saveAll(retry);
+        if (!abandoned.isEmpty()) {
+            log.warn("Giving up on marking {} message(s) as read after {} attempts", abandoned.size(), maxAttempts);
+            pendingAcknowledgementRepository.deleteAll(abandoned.stream().filter(e -> e.getId() != null).toList());
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.redalert.backend.application.usecase;
+
+import com.redalert.backend.domain.model.Category;
+import com.redalert.backend.domain.model.CategoryPollResult;
+import com.redalert.backend.domain.model.PollCycleSummary;
+import com.redalert.backend.domain.model.PollJobStatus;
+import com.redalert.backend.domain.model.PollJobStatus.State;
+import com.redalert.backend.domain.model.PollJobStatus.Trigger;
+import com.redalert.backend.domain.model.PollTrigger;
+import com.redalert.backend.domain.port.PollTriggerPort;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs polling cycles as single-flight jobs.
+ *
+ * At most one job runs at a time, whether started by the scheduler tick or
+ * by a manual request. A manual request made while a job is running joins
+ * it and gets its job ID instead of starting a second cycle; if the job it
+ * joined was a scheduler tick with nothing due, a forced cycle follows
+ * under the same job ID. Manual jobs run in the background and their
+ * per-category progress can be polled by job ID until the job expires.
+ *
+ * With several replicas, a manual request is also forwarded to the other
+ * nodes, so each runs a forced cycle over the work it holds a lease on; a
+ * node holding none reports its job as FORWARDED.
+ */
+@Service
+@Slf4j
+public class PollJobService {
+
+    private final EmailPollingService emailPollingService;
+    private final PollLeaseService pollLeaseService;
+    private final PollTriggerPort pollTriggerPort;
+    private final Duration jobRetention;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    private Job current;
+
+    public PollJobService(
+            EmailPollingService emailPollingService,
+            PollLeaseService pollLeaseService,
+            PollTriggerPort pollTriggerPort,
+            @Value("${email.polling.job-retention:3600000}") long jobRetentionMs) {
+        this.emailPollingService = emailPollingService;
+        this.pollLeaseService = pollLeaseService;
+        this.pollTriggerPort = pollTriggerPort;
+        this.jobRetention = Duration.ofMillis(jobRetentionMs);
+    }
+
+    /**
+     * Scheduler tick. Skipped while another job is running.
+     */
+    @Scheduled(fixedDelayString = "${email.polling.tick-interval:5000}")
+    public void tick() {
+        Job job;
+        synchronized (lock) {
+            if (current != null) {
+                return;
+            }
+            job = start(Trigger.SCHEDULED);
+        }
+        run(job);
+    }
+
+    /**
+     * Starts a polling cycle in the background, or joins the running one.
+     *
+     * @return Status of the started or joined job
+     */
+    public PollJobStatus trigger() {
+        boolean forwarded = forwardToOtherNodes();
+        return triggerLocal(Trigger.MANUAL, forwarded);
+    }
+
+    /**
+     * Runs a manual poll requested on another node over this node's work.
+     */
+    @EventListener
+    public void onForwardedTrigger(PollTrigger trigger) {
+        if (trigger.type() == PollTrigger.Type.POLL) {
+            triggerLocal(Trigger.REMOTE, false);
+        }
+    }
+
+    private PollJobStatus triggerLocal(Trigger trigger, boolean forwarded) {
+        evictExpired();
+
+        synchronized (lock) {
+            if (current != null) {
+                current.joinedRequests.incrementAndGet();
+                current.forwarded |= forwarded;
+                log.info("Manual poll joined running job {}", current.jobId);
+                return current.toStatus();
+            }
+            Job job = start(trigger);
+            job.forwarded = forwarded;
+            executor.submit(() -> run(job));
+            log.info("{} poll job {} started", trigger == Trigger.REMOTE ? "Forwarded" : "Manual", job.jobId);
+            return job.toStatus();
+        }
+    }
+
+    /**
+     * Forwards a manual request to the other live nodes, if any.
+     *
+     * @return true if it was forwarded
+     */
+    private boolean forwardToOtherNodes() {
+        if (pollLeaseService.getLiveNodeIds().size() <= 1) {
+            return false;
+        }
+        try {
+            pollTriggerPort.forward(PollTrigger.poll());
+            return true;
+        } catch (Exception e) {
+            log.warn("Could not forward manual poll to the other nodes: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Status of a job, if it exists and has not expired.
+     */
+    public Optional<PollJobStatus> getStatus(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(Job::toStatus);
+    }
+
+    /**
+     * Status of every job kept, most recent first.
+     */
+    public List<PollJobStatus> getStatus() {
+        return jobs.values().stream()
+                .map(Job::toStatus)
+                .sorted(Comparator.comparing(PollJobStatus::startedAt).reversed())
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Job start(Trigger trigger) {
+        Job job = new Job(UUID.randomUUID().toString(), trigger);
+        current = job;
+        jobs.put(job.jobId, job);
+        return job;
+    }
+
+    private void run(Job job) {
+        try {
+            if (job.trigger != Trigger.SCHEDULED) {
+                emailPollingService.pollNow(job);
+            } else {
+                emailPollingService.pollEmails(job);
+                if (job.mode == null && job.joinedRequests.get() > 0) {
+                    // Nothing was due, but a manual request is waiting for a cycle
+                    emailPollingService.pollNow(job);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Poll job {} failed", job.jobId, e);
+            job.cycleFailed(e.getMessage());
+        } finally {
+            job.finish();
+            synchronized (lock) {
+                current = null;
+            }
+            if (job.state == State.SKIPPED && job.joinedRequests.get() == 0) {
+                // Idle ticks are not worth keeping
+                jobs.remove(job.jobId);
+            }
+        }
+    }
+
+    private void evictExpired() {
+        LocalDateTime expiredBefore = LocalDateTime.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(expiredBefore));
+    }
+
+    /**
+     * Mutable progress of one polling job.
+     */
+    private static final class Job implements PollProgressListener {
+        private final String jobId;
+        private final Trigger trigger;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startNanos = System.nanoTime();
+        private final AtomicInteger joinedRequests = new AtomicInteger();
+        private final Map<Long, String> pending = new LinkedHashMap<>();
+        private final List<CategoryPollResult> results = new ArrayList<>();
+        private volatile String mode;
+        private volatile boolean forwarded;
+        private volatile State state = State.RUNNING;
+        private volatile String error;
+        private volatile LocalDateTime finishedAt;
+        private volatile long durationMs;
+
+        private Job(String jobId, Trigger trigger) {
+            this.jobId = jobId;
+            this.trigger = trigger;
+        }
+
+        @Override
+        public synchronized void cycleStarted(String cycleMode, List<Category> categories) {
+            mode = cycleMode;
+            categories.forEach(category -> pending.put(category.getId(), category.getName()));
+        }
+
+        @Override
+        public synchronized void categoryCompleted(CategoryPollResult result) {
+            pending.remove(result.categoryId());
+            results.add(result);
+        }
+
+        @Override
+        public synchronized void cycleCompleted(PollCycleSummary summary) {
+            pending.clear();
+            results.clear();
+            results.addAll(summary.results());
+        }
+
+        @Override
+        public void cycleFailed(String cycleError) {
+            error = cycleError;
+        }
+
+        private void finish() {
+            durationMs = elapsedMs();
+            finishedAt = LocalDateTime.now();
+            state = error != null ? State.FAILED
+                    : mode != null ? State.COMPLETED
+                    : forwarded ? State.FORWARDED
+                    : State.SKIPPED;
+        }
+
+        private long elapsedMs() {
+            return Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+        }
+
+        private synchronized PollJobStatus toStatus() {
+            List<CategoryPollResult> categories = List.copyOf(results);
+            return new PollJobStatus(jobId, trigger, state, mode, joinedRequests.get(), categories,
+                    List.copyOf(pending.values()),
+                    categories.stream().mapToInt(CategoryPollResult::processedCount).sum(),
+                    error, startedAt, finishedAt, finishedAt != null ? durationMs : elapsedMs());
+        }
+    }
+}
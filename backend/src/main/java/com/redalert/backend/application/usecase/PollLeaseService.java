@@ -0,0 +1,291 @@
+package com.redalert.backend.application.usecase;
+
+import com.redalert.backend.domain.model.Category;
+import com.redalert.backend.domain.model.PollLease;
+import com.redalert.backend.domain.repository.PollLeaseRepository;
+import com.redalert.backend.domain.repository.PollNodeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shares the polling work between backend replicas with leases stored in
+ * Postgres.
+ *
+ * Each unit of work (a category in per-category mode, the whole mailbox in
+ * incremental and merged mode) is assigned to one live node by rendezvous
+ * hashing over the live node IDs, so every node computes the same
+ * assignment and only the work of a joining or leaving node moves. On each
+ * heartbeat a node renews the leases it is assigned and releases the ones
+ * it no longer is; a crashed node's leases expire after the lease TTL.
+ *
+ * A lease carries a fencing token that grows every time it changes owner.
+ * Pollers check that their token is still current before handing messages
+ * to the pipeline, and checkpoint writes are conditional on the token in
+ * the same statement, so a node that stalled past its lease cannot move a
+ * checkpoint that has moved on.
+ *
+ * Heartbeats run on their own thread, so long scheduled jobs (poll cycles,
+ * calendar syncs) cannot delay them past the lease TTL.
+ */
+@Service
+@Slf4j
+public class PollLeaseService {
+
+    /**
+     * Lease key of the whole mailbox (incremental and merged mode).
+     */
+    public static final String MAILBOX_KEY = "mailbox";
+
+    private static final String CATEGORY_KEY_PREFIX = "category:";
+
+    private final PollNodeRepository pollNodeRepository;
+    private final PollLeaseRepository pollLeaseRepository;
+    private final CategoryService categoryService;
+    private final String nodeId;
+    private final long leaseTtlMs;
+    private final long heartbeatIntervalMs;
+
+    private final ScheduledExecutorService heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("poll-lease-heartbeat").daemon().factory());
+
+    private final Map<String, Lease> held = new ConcurrentHashMap<>();
+    private volatile List<String> liveNodeIds = List.of();
+
+    public PollLeaseService(
+            PollNodeRepository pollNodeRepository,
+            PollLeaseRepository pollLeaseRepository,
+            CategoryService categoryService,
+            MeterRegistry meterRegistry,
+            @Value("${email.polling.lease.node-id:}") String nodeId,
+            @Value("${email.polling.lease.ttl:30000}") long leaseTtlMs,
+            @Value("${email.polling.lease.heartbeat-interval:10000}") long heartbeatIntervalMs) {
+        this.pollNodeRepository = pollNodeRepository;
+        this.pollLeaseRepository = pollLeaseRepository;
+        this.categoryService = categoryService;
+        this.nodeId = nodeId.isBlank() ? defaultNodeId() : nodeId;
+        this.leaseTtlMs = Math.max(1000, leaseTtlMs);
+        this.heartbeatIntervalMs = Math.max(100, heartbeatIntervalMs);
+
+        Gauge.builder("redalert.poll.leases.held", held, Map::size)
+                .description("Polling leases held by this node")
+                .register(meterRegistry);
+        Gauge.builder("redalert.poll.nodes.live", this, service -> service.liveNodeIds.size())
+                .description("Live polling nodes seen by this node")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts the heartbeats once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        heartbeatExecutor.scheduleWithFixedDelay(this::heartbeat, 0, heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Refreshes this node's heartbeat and rebalances leases: acquires or
+     * renews the units of work assigned to it, releases the others.
+     */
+    public void heartbeat() {
+        try {
+            pollNodeRepository.heartbeat(nodeId);
+            List<String> nodes = pollNodeRepository.findLiveNodeIds(leaseTtlMs);
+            if (!nodes.equals(liveNodeIds)) {
+                log.info("Polling nodes changed: {} (this node: {})", nodes, nodeId);
+            }
+            liveNodeIds = nodes;
+
+            List<String> keys = new ArrayList<>();
+            keys.add(MAILBOX_KEY);
+            categoryService.getActiveCategories().forEach(category -> keys.add(categoryKey(category)));
+
+            List<String> released = new ArrayList<>();
+            for (String key : keys) {
+                if (nodeId.equals(ownerOf(key, nodes))) {
+                    acquire(key);
+                } else if (held.remove(key) != null) {
+                    released.add(key);
+                }
+            }
+            // Leases of deactivated categories
+            held.keySet().stream().filter(key -> !keys.contains(key)).toList().forEach(key -> {
+                held.remove(key);
+                released.add(key);
+            });
+
+            if (!released.isEmpty()) {
+                pollLeaseRepository.release(released, nodeId);
+                log.info("Released {} polling lease(s) to other nodes: {}", released.size(), released);
+            }
+            pollNodeRepository.deleteExpired(leaseTtlMs * 10);
+
+        } catch (Exception e) {
+            // Keep the leases we have; they lapse on their own if the database stays unreachable
+            log.error("Polling lease heartbeat failed", e);
+        }
+    }
+
+    /**
+     * Releases every lease on shutdown, so other nodes take over without
+     * waiting for them to expire.
+     */
+    @PreDestroy
+    public void leave() {
+        heartbeatExecutor.shutdownNow();
+        held.clear();
+        try {
+            pollLeaseRepository.releaseAll(nodeId);
+            pollNodeRepository.deleteById(nodeId);
+        } catch (Exception e) {
+            log.warn("Failed to release polling leases on shutdown: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * This node's lease on the unit of work, if it holds one that has not
+     * expired by the local clock.
+     */
+    public Optional<Lease> lease(String key) {
+        Lease lease = held.get(key);
+        return lease != null && lease.isValid() ? Optional.of(lease) : Optional.empty();
+    }
+
+    /**
+     * Whether this node currently holds the lease, by the local clock.
+     */
+    public boolean holds(String key) {
+        return lease(key).isPresent();
+    }
+
+    /**
+     * Fencing check against the database: whether this node still holds
+     * the lease with the same token. Called before acting on work.
+     */
+    public boolean verify(String key) {
+        Optional<Lease> lease = lease(key);
+        if (lease.isEmpty()) {
+            return false;
+        }
+        try {
+            return pollLeaseRepository.isHeld(key, nodeId, lease.get().fencingToken());
+        } catch (Exception e) {
+            log.warn("Could not verify polling lease '{}': {}", key, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * The categories whose lease this node holds.
+     */
+    public List<Category> ownedCategories(List<Category> categories) {
+        return categories.stream().filter(category -> holds(categoryKey(category))).toList();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public List<String> getLiveNodeIds() {
+        return liveNodeIds;
+    }
+
+    /**
+     * Every lease, held by any node.
+     */
+    public List<PollLease> getLeases() {
+        return pollLeaseRepository.findAllByOrderByLeaseKeyAsc();
+    }
+
+    public static String categoryKey(Category category) {
+        return CATEGORY_KEY_PREFIX + category.getId();
+    }
+
+    private void acquire(String key) {
+        long requestedAt = System.nanoTime();
+        List<Long> token = pollLeaseRepository.acquire(key, nodeId, leaseTtlMs);
+        if (token.isEmpty()) {
+            // Still held by its previous owner until it releases it or the lease expires
+            held.remove(key);
+            return;
+        }
+        // Expiry measured from before the request, so the local view never outlives the database one
+        Lease lease = new Lease(key, token.get(0), requestedAt + TimeUnit.MILLISECONDS.toNanos(leaseTtlMs));
+        Lease previous = held.put(key, lease);
+        if (previous == null || previous.fencingToken() != lease.fencingToken()) {
+            log.info("Acquired polling lease '{}' (fencing token {})", key, lease.fencingToken());
+        }
+    }
+
+    /**
+     * Rendezvous (highest random weight) hashing: the node with the highest
+     * hash of (node, key) owns the key.
+     */
+    static String ownerOf(String key, List<String> nodes) {
+        String owner = null;
+        long bestScore = Long.MIN_VALUE;
+        for (String node : nodes) {
+            long score = hash(node + '\n' + key);
+            if (owner == null || score > bestScore || (score == bestScore && node.compareTo(owner) < 0)) {
+                owner = node;
+                bestScore = score;
+            }
+        }
+        return owner;
+    }
+
+    /**
+     * 64-bit FNV-1a with a SplitMix64 finalizer; stable across JVMs.
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * A lease held by this node.
+     *
+     * @param key            Unit of work
+     * @param fencingToken   Token of this ownership
+     * @param validUntilNanos Local expiry ({@link System#nanoTime()})
+     */
+    public record Lease(String key, long fencingToken, long validUntilNanos) {
+
+        public boolean isValid() {
+            return System.nanoTime() - validUntilNanos < 0;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.redalert.backend.application.usecase;
+
+import com.redalert.backend.domain.model.Category;
+import com.redalert.backend.domain.model.CategoryPollResult;
+import com.redalert.backend.domain.model.PollCycleSummary;
+
+import java.util.List;
+
+/**
+ * Receives the progress of a polling cycle.
+ */
+public interface PollProgressListener {
+
+    /**
+     * Listener ignoring every event.
+     */
+    PollProgressListener NONE = new PollProgressListener() {
+    };
+
+    /**
+     * A cycle started polling the given categories.
+     */
+    default void cycleStarted(String mode, List<Category> categories) {
+    }
+
+    /**
+     * A category poll finished (per-category mode only; other modes report
+     * every category at the end of the cycle).
+     */
+    default void categoryCompleted(CategoryPollResult result) {
+    }
+
+    default void cycleCompleted(PollCycleSummary summary) {
+    }
+
+    default void cycleFailed(String error) {
+    }
+}
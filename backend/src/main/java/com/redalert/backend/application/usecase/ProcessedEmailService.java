@@ -1,5 +1,6 @@
 package com.redalert.backend.application.usecase;
 
+import com.redalert.backend.application.dedup.ProcessedMessageIndex;
 import com.redalert.backend.domain.model.Category;
 import com.redalert.backend.domain.model.ProcessedEmail;
 import com.redalert.backend.domain.repository.ProcessedEmailRepository;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
 
 /**
@@ -21,6 +23,7 @@ import java.util.List;
 public class ProcessedEmailService {
 
     private final ProcessedEmailRepository processedEmailRepository;
+    private final ProcessedMessageIndex processedMessageIndex;
 
     /**
      * Saves a processed email if it doesn't already exist.
@@ -41,6 +44,31 @@ public class ProcessedEmailService {
             String snippet,
             LocalDateTime receivedAt,
             Category category) {
+        return saveIfNotExists(emailId, fromAddress, subject, snippet, receivedAt,
+                category != null ? List.of(category) : List.of());
+    }
+
+    /**
+     * Saves a processed email if it doesn't already exist, recording every
+     * category that matched it. The first category is the primary one.
+     *
+     * @param emailId           Gmail message ID
+     * @param fromAddress       Email sender
+     * @param subject           Email subject
+     * @param snippet           Email snippet
+     * @param receivedAt        When email was received
+     * @param matchedCategories Categories that matched, primary first
+     * @return The saved or existing ProcessedEmail
+     */
+    @Transactional
+    public ProcessedEmail saveIfNotExists(
+            String emailId,
+            String fromAddress,
+            String subject,
+            String snippet,
+            LocalDateTime receivedAt,
+            List<Category> matchedCategories) {
+        Category category = matchedCategories.isEmpty() ? null : matchedCategories.get(0);
         return processedEmailRepository.findByEmailId(emailId)
                 .orElseGet(() -> {
                     ProcessedEmail email = ProcessedEmail.builder()
@@ -50,6 +78,7 @@ public class ProcessedEmailService {
                             .snippet(snippet)
                             .receivedAt(receivedAt)
                             .category(category)
+                            .matchedCategories(new HashSet<>(matchedCategories))
                             .build();
 
                     log.info("Saving processed email: {} - {}", emailId, subject);
@@ -85,7 +114,8 @@ public class ProcessedEmailService {
     }
 
     /**
-     * Deletes a processed email by ID.
+     * Deletes a processed email by ID. The message becomes eligible for
+     * processing again.
      */
     @Transactional
     public void deleteProcessedEmail(Long id) {
@@ -94,15 +124,19 @@ public class ProcessedEmailService {
 
         log.info("Deleting processed email: {} - {}", email.getEmailId(), email.getSubject());
         processedEmailRepository.delete(email);
+        processedMessageIndex.release(email.getEmailId());
     }
 
     /**
-     * Deletes all processed emails.
+     * Deletes all processed emails and rebuilds the dedup index, so every
+     * message becomes eligible for processing again.
      */
     @Transactional
     public void deleteAllProcessedEmails() {
         log.info("Deleting all processed emails");
         processedEmailRepository.deleteAll();
+        processedEmailRepository.flush();
+        processedMessageIndex.rebuild();
     }
 
     /**
@@ -125,6 +159,7 @@ public class ProcessedEmailService {
                 email.getReceivedAt(),
                 email.getCategory() != null ? email.getCategory().getName() : null,
                 email.getCategory() != null ? email.getCategory().getId() : null,
+                email.getMatchedCategories().stream().map(Category::getName).sorted().toList(),
                 email.getProcessedAt());
     }
 }
@@ -0,0 +1,178 @@
+package com.redalert.backend.application.usecase;
+
+import com.redalert.backend.domain.model.PollTrigger;
+import com.redalert.backend.domain.port.PollTriggerPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Turns Gmail push notifications into incremental fetches.
+ *
+ * Notifications carry the mailbox historyId at the time of the change.
+ * Ones at or below the stored checkpoint are ignored; the rest are
+ * debounced, so a burst of notifications results in a single incremental
+ * fetch shortly after the first one. Fetches run one at a time.
+ *
+ * Only the holder of the mailbox lease fetches: a node without it forwards
+ * the notification to the other nodes (see {@link PollTriggerPort}), so a
+ * push reaching any replica behind the load balancer is handled.
+ */
+@Service
+@Slf4j
+public class PushIngestionService {
+
+    private final EmailPollingService emailPollingService;
+    private final MailboxSyncService mailboxSyncService;
+    private final PollLeaseService pollLeaseService;
+    private final PollTriggerPort pollTriggerPort;
+    private final long debounceMs;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofVirtual().name("push-ingestion").factory());
+    private final AtomicBoolean fetchScheduled = new AtomicBoolean();
+    private final AtomicLong latestHistoryId = new AtomicLong();
+
+    private final Counter accepted;
+    private final Counter stale;
+    private final Counter forwarded;
+    private final Counter malformed;
+    private final Counter fetches;
+
+    public PushIngestionService(
+            EmailPollingService emailPollingService,
+            MailboxSyncService mailboxSyncService,
+            PollLeaseService pollLeaseService,
+            PollTriggerPort pollTriggerPort,
+            MeterRegistry meterRegistry,
+            @Value("${email.push.debounce:2000}") long debounceMs) {
+        this.emailPollingService = emailPollingService;
+        this.mailboxSyncService = mailboxSyncService;
+        this.pollLeaseService = pollLeaseService;
+        this.pollTriggerPort = pollTriggerPort;
+        this.debounceMs = Math.max(0, debounceMs);
+
+        this.accepted = Counter.builder("redalert.push.notifications")
+                .tag("result", "accepted")
+                .description("Gmail push notifications scheduled for an incremental fetch")
+                .register(meterRegistry);
+        this.stale = Counter.builder("redalert.push.notifications")
+                .tag("result", "stale")
+                .description("Gmail push notifications ignored as at or below the checkpoint")
+                .register(meterRegistry);
+        this.forwarded = Counter.builder("redalert.push.notifications")
+                .tag("result", "forwarded")
+                .description("Gmail push notifications forwarded to the mailbox lease holder")
+                .register(meterRegistry);
+        this.malformed = Counter.builder("redalert.push.notifications")
+                .tag("result", "malformed")
+                .description("Gmail push notifications dropped for a missing or malformed historyId")
+                .register(meterRegistry);
+        this.fetches = Counter.builder("redalert.push.fetches")
+                .description("Incremental fetches triggered by push notifications")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Handles a Gmail push notification.
+     *
+     * @param historyId Mailbox historyId carried by the notification
+     * @return true if the notification will trigger (or join) a fetch, here
+     *         or on the mailbox lease holder
+     * @throws RuntimeException if it had to be forwarded and could not be
+     */
+    public boolean onNotification(long historyId) {
+        if (isStale(historyId)) {
+            return false;
+        }
+        if (!pollLeaseService.holds(PollLeaseService.MAILBOX_KEY)) {
+            pollTriggerPort.forward(PollTrigger.push(historyId));
+            forwarded.increment();
+            return true;
+        }
+        schedule(historyId);
+        return true;
+    }
+
+    /**
+     * Records a notification dropped because its historyId could not be read.
+     */
+    public void onMalformedNotification() {
+        malformed.increment();
+    }
+
+    /**
+     * Handles a notification forwarded by a node without the mailbox lease.
+     */
+    @EventListener
+    public void onForwardedTrigger(PollTrigger trigger) {
+        if (trigger.type() != PollTrigger.Type.PUSH || trigger.historyId() == null) {
+            return;
+        }
+        if (!pollLeaseService.holds(PollLeaseService.MAILBOX_KEY)) {
+            // Not forwarded again: the scheduled poller catches up while the lease moves
+            return;
+        }
+        if (!isStale(trigger.historyId())) {
+            schedule(trigger.historyId());
+        }
+    }
+
+    private boolean isStale(long historyId) {
+        long checkpoint = mailboxSyncService.getCheckpoint().orElse(0L);
+        if (historyId <= checkpoint) {
+            log.debug("Ignoring push notification for historyId {} (checkpoint {})", historyId, checkpoint);
+            stale.increment();
+            return true;
+        }
+        return false;
+    }
+
+    private void schedule(long historyId) {
+        latestHistoryId.accumulateAndGet(historyId, Math::max);
+        accepted.increment();
+
+        if (fetchScheduled.compareAndSet(false, true)) {
+            executor.schedule(this::fetch, debounceMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void fetch() {
+        // Notifications arriving from now on schedule another fetch
+        fetchScheduled.set(false);
+
+        long target = latestHistoryId.get();
+        if (target <= mailboxSyncService.getCheckpoint().orElse(0L)) {
+            return;
+        }
+
+        try {
+            if (!pollLeaseService.holds(PollLeaseService.MAILBOX_KEY)) {
+                // The lease moved while the fetch was debounced
+                pollTriggerPort.forward(PollTrigger.push(target));
+                forwarded.increment();
+                return;
+            }
+            log.info("📨 Push notification received (historyId {}), fetching mailbox changes", target);
+            fetches.increment();
+            emailPollingService.pollIncrementalNow();
+        } catch (Exception e) {
+            log.error("Push-triggered incremental fetch failed; the scheduled poller will catch up", e);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.redalert.backend.domain.matching;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Aho-Corasick multi-pattern automaton.
+ *
+ * Finds every occurrence of a fixed set of patterns in a text with a single
+ * left-to-right pass, independently of the number of patterns. Each pattern
+ * is identified by the index it was added with.
+ *
+ * Instances are immutable once built and safe to share between threads.
+ */
+public final class AhoCorasick {
+
+    private final List<Map<Character, Integer>> transitions;
+    private final int[] failure;
+    private final int[][] outputs;
+    private final int[] patternLengths;
+
+    private AhoCorasick(List<Map<Character, Integer>> transitions, int[] failure, int[][] outputs,
+            int[] patternLengths) {
+        this.transitions = transitions;
+        this.failure = failure;
+        this.outputs = outputs;
+        this.patternLengths = patternLengths;
+    }
+
+    /**
+     * Builds an automaton for the given patterns.
+     *
+     * @param patterns Patterns to search for; the list index is the pattern ID
+     * @return The compiled automaton
+     */
+    public static AhoCorasick build(List<String> patterns) {
+        List<Map<Character, Integer>> transitions = new ArrayList<>();
+        List<List<Integer>> nodeOutputs = new ArrayList<>();
+        transitions.add(new HashMap<>());
+        nodeOutputs.add(new ArrayList<>());
+        int[] patternLengths = new int[patterns.size()];
+
+        // 1. Build the trie
+        for (int patternId = 0; patternId < patterns.size(); patternId++) {
+            String pattern = patterns.get(patternId);
+            if (pattern == null || pattern.isEmpty()) {
+                continue;
+            }
+            patternLengths[patternId] = pattern.length();
+            int node = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                Integer next = transitions.get(node).get(c);
+                if (next == null) {
+                    next = transitions.size();
+                    transitions.add(new HashMap<>());
+                    nodeOutputs.add(new ArrayList<>());
+                    transitions.get(node).put(c, next);
+                }
+                node = next;
+            }
+            nodeOutputs.get(node).add(patternId);
+        }
+
+        // 2. Compute failure links breadth-first and merge outputs along them
+        int[] failure = new int[transitions.size()];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int child : transitions.get(0).values()) {
+            queue.add(child);
+        }
+
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (Map.Entry<Character, Integer> edge : transitions.get(node).entrySet()) {
+                char c = edge.getKey();
+                int child = edge.getValue();
+
+                int fallback = failure[node];
+                while (fallback != 0 && !transitions.get(fallback).containsKey(c)) {
+                    fallback = failure[fallback];
+                }
+                Integer target = transitions.get(fallback).get(c);
+                failure[child] = target != null ? target : 0;
+
+                nodeOutputs.get(child).addAll(nodeOutputs.get(failure[child]));
+                queue.add(child);
+            }
+        }
+
+        int[][] outputs = new int[nodeOutputs.size()][];
+        for (int node = 0; node < outputs.length; node++) {
+            outputs[node] = nodeOutputs.get(node).stream().mapToInt(Integer::intValue).distinct().toArray();
+        }
+
+        return new AhoCorasick(transitions, failure, outputs, patternLengths);
+    }
+
+    /**
+     * Scans the text once and reports the ID of every pattern found.
+     * A pattern occurring several times is reported once per occurrence.
+     *
+     * @param text    Text to scan
+     * @param onMatch Callback receiving the matched pattern IDs
+     */
+    public void search(CharSequence text, IntConsumer onMatch) {
+        scan(text, false, onMatch);
+    }
+
+    /**
+     * Like {@link #search}, but only reports occurrences that are whole words:
+     * the characters right before and after the occurrence must not be
+     * letters or digits. A pattern may span several words (a phrase).
+     *
+     * @param text    Text to scan
+     * @param onMatch Callback receiving the matched pattern IDs
+     */
+    public void searchWholeWords(CharSequence text, IntConsumer onMatch) {
+        scan(text, true, onMatch);
+    }
+
+    private void scan(CharSequence text, boolean wholeWords, IntConsumer onMatch) {
+        if (text == null) {
+            return;
+        }
+        int node = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            Integer next = transitions.get(node).get(c);
+            while (next == null && node != 0) {
+                node = failure[node];
+                next = transitions.get(node).get(c);
+            }
+            node = next != null ? next : 0;
+
+            for (int patternId : outputs[node]) {
+                if (!wholeWords || isWordBounded(text, i - patternLengths[patternId] + 1, i)) {
+                    onMatch.accept(patternId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether text[start..end] is not glued to a word on either side. Edges
+     * of the occurrence that are not letters or digits themselves (e.g. the
+     * "@" of a sender filter) need no boundary.
+     */
+    private static boolean isWordBounded(CharSequence text, int start, int end) {
+        boolean startBounded = start == 0 || !isWordChar(text.charAt(start))
+                || !isWordChar(text.charAt(start - 1));
+        boolean endBounded = end == text.length() - 1 || !isWordChar(text.charAt(end))
+                || !isWordChar(text.charAt(end + 1));
+        return startBounded && endBounded;
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c);
+    }
+}
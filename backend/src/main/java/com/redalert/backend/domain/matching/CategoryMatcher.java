@@ -0,0 +1,199 @@
+package com.redalert.backend.domain.matching;
+
+import com.redalert.backend.domain.model.Category;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Classifies messages against every active category in one pass.
+ *
+ * All categories' fromFilter, subjectKeywords and bodyKeywords are compiled
+ * into a single Aho-Corasick automaton over normalized text. Classifying a
+ * message scans its From header, subject and body once each, no matter how
+ * many categories exist, and returns every category that matched.
+ *
+ * The semantics mirror {@link Category#buildGmailQuery()}: every configured
+ * filter of a category must match, body keywords are searched in both
+ * subject and body, and keywords only match whole words, as Gmail matches
+ * tokens ("aula" does not match "Paula" or "aulas"; multi-word keywords
+ * match as phrases).
+ */
+public final class CategoryMatcher {
+
+    private static final int FIELD_FROM = 0;
+    private static final int FIELD_SUBJECT = 1;
+    private static final int FIELD_BODY = 2;
+
+    private final List<Category> categories;
+    private final AhoCorasick automaton;
+
+    /**
+     * Targets per pattern ID; each target packs (categoryIndex, field).
+     */
+    private final int[][] patternTargets;
+
+    private final BitSet hasFromFilter = new BitSet();
+    private final BitSet hasSubjectFilter = new BitSet();
+    private final BitSet hasBodyFilter = new BitSet();
+
+    private CategoryMatcher(List<Category> categories) {
+        this.categories = List.copyOf(categories);
+
+        Map<String, List<Integer>> targetsByPattern = new HashMap<>();
+        for (int index = 0; index < this.categories.size(); index++) {
+            Category category = this.categories.get(index);
+
+            if (category.getFromFilter() != null && !category.getFromFilter().isBlank()) {
+                addPattern(targetsByPattern, category.getFromFilter(), index, FIELD_FROM, hasFromFilter);
+            }
+            for (String keyword : category.subjectKeywordList()) {
+                addPattern(targetsByPattern, keyword, index, FIELD_SUBJECT, hasSubjectFilter);
+            }
+            for (String keyword : category.bodyKeywordList()) {
+                addPattern(targetsByPattern, keyword, index, FIELD_BODY, hasBodyFilter);
+            }
+        }
+
+        List<String> patterns = new ArrayList<>(targetsByPattern.keySet());
+        this.patternTargets = new int[patterns.size()][];
+        for (int patternId = 0; patternId < patterns.size(); patternId++) {
+            patternTargets[patternId] = targetsByPattern.get(patterns.get(patternId)).stream()
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+        this.automaton = AhoCorasick.build(patterns);
+    }
+
+    /**
+     * Compiles a matcher for the given categories.
+     *
+     * @param categories Categories to match against (usually the active ones)
+     * @return The compiled matcher
+     */
+    public static CategoryMatcher compile(List<Category> categories) {
+        return new CategoryMatcher(categories);
+    }
+
+    /**
+     * Finds every category the message matches.
+     *
+     * @param from    The From header of the message
+     * @param subject The message subject
+     * @param body    The decoded message body
+     * @return Matching categories, in the order they were compiled
+     */
+    public List<Category> match(String from, String subject, String body) {
+        BitSet fromHits = new BitSet();
+        BitSet subjectHits = new BitSet();
+        BitSet bodyHits = new BitSet();
+
+        automaton.searchWholeWords(TextNormalizer.normalize(from), patternId -> mark(patternId, FIELD_FROM, fromHits));
+        automaton.searchWholeWords(TextNormalizer.normalize(subject), patternId -> {
+            mark(patternId, FIELD_SUBJECT, subjectHits);
+            // Body keywords are searched in the subject as well (Gmail full-text semantics)
+            mark(patternId, FIELD_BODY, bodyHits);
+        });
+        automaton.searchWholeWords(TextNormalizer.normalize(body), patternId -> mark(patternId, FIELD_BODY, bodyHits));
+
+        List<Category> matched = new ArrayList<>();
+        for (int index = 0; index < categories.size(); index++) {
+            if (satisfied(index, hasFromFilter, fromHits)
+                    && satisfied(index, hasSubjectFilter, subjectHits)
+                    && satisfied(index, hasBodyFilter, bodyHits)) {
+                matched.add(categories.get(index));
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * Triages a message from its metadata only. Sender and subject filters
+     * are decided here; body keywords cannot be, so categories whose other
+     * filters pass remain candidates until the full body is known.
+     *
+     * @param from    The From header of the message
+     * @param subject The message subject
+     * @return Categories the message may still match, in the order they were compiled
+     */
+    public List<Category> triage(String from, String subject) {
+        BitSet fromHits = new BitSet();
+        BitSet subjectHits = new BitSet();
+
+        automaton.searchWholeWords(TextNormalizer.normalize(from), patternId -> mark(patternId, FIELD_FROM, fromHits));
+        automaton.searchWholeWords(TextNormalizer.normalize(subject), patternId -> mark(patternId, FIELD_SUBJECT, subjectHits));
+
+        List<Category> candidates = new ArrayList<>();
+        for (int index = 0; index < categories.size(); index++) {
+            if (satisfied(index, hasFromFilter, fromHits) && satisfied(index, hasSubjectFilter, subjectHits)) {
+                candidates.add(categories.get(index));
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Builds a single broad Gmail query covering every compiled category.
+     * When every category has a sender filter, the query is restricted to
+     * those senders; otherwise all unread mail is listed and classified locally.
+     *
+     * @return Gmail query string
+     */
+    public String buildMergedQuery() {
+        return (buildMergedFilterQuery() + " is:unread").trim();
+    }
+
+    /**
+     * Builds the merged query without is:unread, matching read and unread
+     * messages (e.g. for a backlog drain over a fixed window).
+     *
+     * @return Gmail query string, empty when not every category has a sender filter
+     */
+    public String buildMergedFilterQuery() {
+        boolean allHaveSender = !categories.isEmpty() && hasFromFilter.cardinality() == categories.size();
+        if (!allHaveSender) {
+            return "";
+        }
+
+        Set<String> senders = new LinkedHashSet<>();
+        for (Category category : categories) {
+            senders.add(category.getFromFilter().trim());
+        }
+
+        return "from:(" + senders.stream()
+                .map(s -> s.contains(" ") ? "\"" + s + "\"" : s)
+                .collect(Collectors.joining(" OR ")) + ")";
+    }
+
+    public List<Category> getCategories() {
+        return categories;
+    }
+
+    private void addPattern(Map<String, List<Integer>> targetsByPattern, String raw, int categoryIndex, int field,
+            BitSet fieldFilter) {
+        String pattern = TextNormalizer.normalize(raw);
+        if (pattern.isEmpty()) {
+            return;
+        }
+        targetsByPattern.computeIfAbsent(pattern, p -> new ArrayList<>()).add(categoryIndex * 3 + field);
+        fieldFilter.set(categoryIndex);
+    }
+
+    private void mark(int patternId, int field, BitSet hits) {
+        for (int target : patternTargets[patternId]) {
+            if (target % 3 == field) {
+                hits.set(target / 3);
+            }
+        }
+    }
+
+    private boolean satisfied(int categoryIndex, BitSet hasFilter, BitSet hits) {
+        return !hasFilter.get(categoryIndex) || hits.get(categoryIndex);
+    }
+}
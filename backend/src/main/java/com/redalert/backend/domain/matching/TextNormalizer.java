@@ -0,0 +1,55 @@
+package com.redalert.backend.domain.matching;
+
+import java.text.Normalizer;
+import java.util.regex.Pattern;
+
+/**
+ * Normalizes text before keyword matching.
+ *
+ * Lower-cases, strips diacritics (so "AULA" matches "aula" and "ação" matches
+ * "acao") and collapses whitespace, so patterns and texts are compared on
+ * the same canonical form.
+ */
+public final class TextNormalizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Normalizes the given text.
+     *
+     * @param text Raw text (may be null)
+     * @return Normalized text, or an empty string for null input
+     */
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String stripped = DIACRITICS.matcher(decomposed).replaceAll("");
+
+        StringBuilder normalized = new StringBuilder(stripped.length());
+        boolean lastWasSpace = true;
+        for (int i = 0; i < stripped.length(); i++) {
+            char c = stripped.charAt(i);
+            if (Character.isWhitespace(c)) {
+                if (!lastWasSpace) {
+                    normalized.append(' ');
+                    lastWasSpace = true;
+                }
+            } else {
+                normalized.append(Character.toLowerCase(c));
+                lastWasSpace = false;
+            }
+        }
+
+        int length = normalized.length();
+        if (length > 0 && normalized.charAt(length - 1) == ' ') {
+            normalized.setLength(length - 1);
+        }
+        return normalized.toString();
+    }
+}
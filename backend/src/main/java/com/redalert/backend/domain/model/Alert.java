@@ -45,6 +45,22 @@ public class Alert {
     @Column(name = "email_subject", length = 500)
     private String emailSubject;
 
+    // Pipeline timestamps (end-to-end latency = notifiedAt - emailReceivedAt)
+    @Column(name = "email_received_at")
+    private LocalDateTime emailReceivedAt;
+
+    @Column(name = "listed_at")
+    private LocalDateTime listedAt;
+
+    @Column(name = "fetched_at")
+    private LocalDateTime fetchedAt;
+
+    @Column(name = "analyzed_at")
+    private LocalDateTime analyzedAt;
+
+    @Column(name = "notified_at")
+    private LocalDateTime notifiedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     private Category category;
@@ -0,0 +1,67 @@
+package com.redalert.backend.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA Entity representing an alert notification in the outbox.
+ * Written in the same transaction as its alert and delivered by the
+ * outbox relay.
+ */
+@Entity
+@Table(name = "alert_outbox")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertOutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "alert_id", nullable = false)
+    private Long alertId;
+
+    /**
+     * Notification sent to clients (JSON).
+     */
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "state", nullable = false, length = 20)
+    @Builder.Default
+    private State state = State.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    /**
+     * Error of the last failed attempt.
+     */
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    // Set by the database clock, like every outbox timestamp
+    @Column(name = "created_at", insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "next_attempt_at", insertable = false, updatable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "delivered_at", insertable = false, updatable = false)
+    private LocalDateTime deliveredAt;
+
+    public enum State {
+        PENDING,
+        DELIVERED,
+        /** Attempts exhausted */
+        FAILED
+    }
+}
@@ -0,0 +1,32 @@
+package com.redalert.backend.domain.model;
+
+import java.util.List;
+
+/**
+ * Alerts a reconnecting WebSocket client missed while disconnected.
+ *
+ * @param epoch          Sequence epoch of the node answering; sequence
+ *                       numbers are only comparable within one epoch
+ * @param latestSequence Last sequence number broadcast in this epoch
+ * @param complete       False if some missed alerts could not be replayed
+ *                       (the client should reload the alert history)
+ * @param fromHistory    True if the alerts were loaded from the database
+ *                       because the gap was no longer in memory
+ * @param alerts         Missed alerts, oldest first
+ */
+public record AlertReplay(
+        String epoch,
+        long latestSequence,
+        boolean complete,
+        boolean fromHistory,
+        List<ReplayedAlert> alerts) {
+
+    /**
+     * @param sequence Sequence number (null for alerts loaded from history)
+     * @param alertId  ID of the stored alert (null for ad-hoc alerts)
+     * @param sentAt   When the alert was broadcast (epoch ms)
+     * @param alert    The alert
+     */
+    public record ReplayedAlert(Long sequence, Long alertId, long sentAt, ClassAlertDto alert) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.redalert.backend.domain.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * When an alert's email was received and when each pipeline step handled it.
+ * Steps not reached (or not known) are null.
+ *
+ * @param receivedAt When Gmail received the email (internalDate)
+ * @param listedAt   When the poller listed the message
+ * @param fetchedAt  When the full message was fetched
+ * @param analyzedAt When AI analysis finished
+ * @param notifiedAt When the alert was sent to WebSocket clients
+ */
+public record AlertTimeline(
+        LocalDateTime receivedAt,
+        LocalDateTime listedAt,
+        LocalDateTime fetchedAt,
+        LocalDateTime analyzedAt,
+        LocalDateTime notifiedAt) {
+
+    public static AlertTimeline of(Alert alert) {
+        return new AlertTimeline(alert.getEmailReceivedAt(), alert.getListedAt(), alert.getFetchedAt(),
+                alert.getAnalyzedAt(), alert.getNotifiedAt());
+    }
+
+    public AlertTimeline withNotifiedAt(LocalDateTime notified) {
+        return new AlertTimeline(receivedAt, listedAt, fetchedAt, analyzedAt, notified);
+    }
+
+    /**
+     * Time between two steps in ms, or -1 if either is unknown. Negative
+     * spans (clock skew between Gmail and this server) count as 0.
+     */
+    public static long spanMs(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null) {
+            return -1;
+        }
+        return Math.max(0, Duration.between(from, to).toMillis());
+    }
+}
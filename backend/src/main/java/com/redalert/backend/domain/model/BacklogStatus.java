@@ -0,0 +1,26 @@
+package com.redalert.backend.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a category or mailbox backlog being drained.
+ *
+ * @param categoryId    Category ID, or null for a mailbox-wide drain
+ * @param categoryName  Category name, or "(mailbox)" for a mailbox-wide drain
+ * @param estimatedSize Gmail's estimate of matching messages when the drain started
+ * @param listed        Messages listed so far
+ * @param remaining     Estimated messages not yet listed
+ * @param submitted     Messages claimed and handed to the processing pipeline
+ * @param processed     Messages whose alert was sent
+ * @param startedAt     When the drain started
+ */
+public record BacklogStatus(
+        Long categoryId,
+        String categoryName,
+        long estimatedSize,
+        long listed,
+        long remaining,
+        long submitted,
+        long processed,
+        LocalDateTime startedAt) {
+}
@@ -0,0 +1,35 @@
+package com.redalert.backend.domain.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a background calendar cleanup job.
+ *
+ * @param jobId      Job ID
+ * @param date       Day whose events are deleted
+ * @param state      RUNNING, COMPLETED or FAILED
+ * @param found      Events listed for deletion so far
+ * @param deleted    Events deleted so far
+ * @param failed     Events whose deletion failed
+ * @param error      Error that stopped the job, if any
+ * @param startedAt  When the job started
+ * @param finishedAt When the job finished (null while running)
+ */
+public record CalendarCleanupStatus(
+        String jobId,
+        LocalDate date,
+        State state,
+        long found,
+        long deleted,
+        long failed,
+        String error,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt) {
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -57,6 +57,20 @@ public class Category {
     @Column(name = "is_active")
     private Boolean isActive = true;
 
+    /**
+     * Shortest interval between polls of this category, in ms.
+     * NULL uses email.polling.adaptive.min-interval.
+     */
+    @Column(name = "min_poll_interval_ms")
+    private Long minPollIntervalMs;
+
+    /**
+     * Longest interval between polls of this category, in ms.
+     * NULL uses email.polling.adaptive.max-interval.
+     */
+    @Column(name = "max_poll_interval_ms")
+    private Long maxPollIntervalMs;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -80,6 +94,15 @@ public class Category {
      * @return Complete query string for Gmail API
      */
     public String buildGmailQuery() {
+        // Always add is:unread
+        return (buildFilterQuery() + " is:unread").trim();
+    }
+
+    /**
+     * Builds the Gmail query of the filter fields alone, matching read and
+     * unread messages.
+     */
+    public String buildFilterQuery() {
         StringBuilder query = new StringBuilder();
 
         // Add from filter
@@ -111,12 +134,23 @@ public class Category {
             }
         }
 
-        // Always add is:unread
-        query.append("is:unread");
-
         return query.toString().trim();
     }
 
+    /**
+     * Parsed subject keywords.
+     */
+    public List<String> subjectKeywordList() {
+        return subjectKeywords != null ? parseKeywords(subjectKeywords) : List.of();
+    }
+
+    /**
+     * Parsed body keywords.
+     */
+    public List<String> bodyKeywordList() {
+        return bodyKeywords != null ? parseKeywords(bodyKeywords) : List.of();
+    }
+
     /**
      * Parses comma-separated keywords into a list.
      */
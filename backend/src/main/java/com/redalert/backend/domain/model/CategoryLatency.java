@@ -0,0 +1,18 @@
+package com.redalert.backend.domain.model;
+
+import java.util.Map;
+
+/**
+ * Alert latency of one category.
+ *
+ * @param category Category name (or "all" for every category)
+ * @param endToEnd From email receipt to WebSocket delivery
+ * @param stages   Per step: detect (received → listed), fetch (listed →
+ *                 fetched), analyze (fetched → analyzed) and notify
+ *                 (analyzed → notified)
+ */
+public record CategoryLatency(
+        String category,
+        LatencyPercentiles endToEnd,
+        Map<String, LatencyPercentiles> stages) {
+}
@@ -0,0 +1,43 @@
+package com.redalert.backend.domain.model;
+
+/**
+ * Outcome of polling a single category within a polling cycle.
+ *
+ * @param categoryId     Category ID
+ * @param categoryName   Category name
+ * @param status         Final status of the category poll
+ * @param processedCount Number of messages processed for the category
+ * @param durationMs     Time spent polling the category (excluding queue wait)
+ * @param error          Error message when the poll failed or timed out
+ */
+public record CategoryPollResult(
+        Long categoryId,
+        String categoryName,
+        Status status,
+        int processedCount,
+        long durationMs,
+        String error) {
+
+    /**
+     * Final status of a category poll.
+     */
+    public enum Status {
+        SUCCESS,
+        FAILED,
+        TIMED_OUT
+    }
+
+    public static CategoryPollResult success(Category category, int processedCount, long durationMs) {
+        return new CategoryPollResult(category.getId(), category.getName(), Status.SUCCESS, processedCount,
+                durationMs, null);
+    }
+
+    public static CategoryPollResult failed(Category category, long durationMs, String error) {
+        return new CategoryPollResult(category.getId(), category.getName(), Status.FAILED, 0, durationMs, error);
+    }
+
+    public static CategoryPollResult timedOut(Category category, long durationMs) {
+        return new CategoryPollResult(category.getId(), category.getName(), Status.TIMED_OUT, 0, durationMs,
+                "Timed out after " + durationMs + " ms");
+    }
+}
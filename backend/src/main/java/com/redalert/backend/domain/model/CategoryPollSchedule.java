@@ -0,0 +1,22 @@
+package com.redalert.backend.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Adaptive polling state of a single category.
+ *
+ * @param categoryId   Category ID
+ * @param categoryName Category name
+ * @param intervalMs   Current interval between polls
+ * @param hitRate      Smoothed number of new messages per poll
+ * @param lastPolledAt When the category was last polled (null if never)
+ * @param nextDueAt    When the category is polled next
+ */
+public record CategoryPollSchedule(
+        Long categoryId,
+        String categoryName,
+        long intervalMs,
+        double hitRate,
+        LocalDateTime lastPolledAt,
+        LocalDateTime nextDueAt) {
+}
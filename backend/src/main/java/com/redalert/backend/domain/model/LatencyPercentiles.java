@@ -0,0 +1,20 @@
+package com.redalert.backend.domain.model;
+
+/**
+ * Latency distribution summary in milliseconds.
+ *
+ * @param count  Number of recorded values
+ * @param p50Ms  Median
+ * @param p95Ms  95th percentile
+ * @param p99Ms  99th percentile
+ * @param maxMs  Largest recorded value
+ * @param meanMs Mean
+ */
+public record LatencyPercentiles(
+        long count,
+        long p50Ms,
+        long p95Ms,
+        long p99Ms,
+        long maxMs,
+        double meanMs) {
+}
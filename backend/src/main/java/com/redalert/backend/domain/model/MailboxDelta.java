@@ -0,0 +1,25 @@
+package com.redalert.backend.domain.model;
+
+import java.util.List;
+
+/**
+ * Changes in the monitored mailbox since the last sync checkpoint.
+ *
+ * @param addedMessageIds    IDs of unread messages added since the checkpoint
+ * @param latestHistoryId    History ID to store as the next checkpoint
+ * @param fullResyncRequired Whether the checkpoint is missing or expired and a
+ *                           full resync must run instead
+ */
+public record MailboxDelta(
+        List<String> addedMessageIds,
+        long latestHistoryId,
+        boolean fullResyncRequired) {
+
+    public static MailboxDelta fullResync(long currentHistoryId) {
+        return new MailboxDelta(List.of(), currentHistoryId, true);
+    }
+
+    public static MailboxDelta incremental(List<String> addedMessageIds, long latestHistoryId) {
+        return new MailboxDelta(addedMessageIds, latestHistoryId, false);
+    }
+}
@@ -0,0 +1,79 @@
+package com.redalert.backend.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA Entity representing an event of the local Google Calendar mirror.
+ */
+@Entity
+@Table(name = "calendar_events")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MirroredCalendarEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Google Calendar event ID.
+     */
+    @Column(name = "event_id", nullable = false, unique = true, length = 1024)
+    private String eventId;
+
+    /**
+     * Event title.
+     */
+    @Column(name = "summary", length = 1000)
+    private String summary;
+
+    @Column(name = "location", length = 1000)
+    private String location;
+
+    /**
+     * Link to the event in Google Calendar.
+     */
+    @Column(name = "html_link", length = 2000)
+    private String htmlLink;
+
+    /**
+     * Event status (confirmed, tentative).
+     */
+    @Column(name = "status", length = 20)
+    private String status;
+
+    /**
+     * Event start in the server time zone.
+     */
+    @Column(name = "start_at", nullable = false)
+    private LocalDateTime startAt;
+
+    /**
+     * Event end in the server time zone.
+     */
+    @Column(name = "end_at")
+    private LocalDateTime endAt;
+
+    @Column(name = "all_day", nullable = false)
+    private boolean allDay;
+
+    /**
+     * When the event was last synced.
+     */
+    @Column(name = "synced_at")
+    private LocalDateTime syncedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        syncedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,70 @@
+package com.redalert.backend.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA Entity representing a Gmail message whose mark-as-read failed.
+ * Entries are retried by the acknowledgement buffer until they succeed.
+ */
+@Entity
+@Table(name = "pending_acknowledgements")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingAcknowledgement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Gmail message ID to mark as read.
+     */
+    @Column(name = "message_id", nullable = false, unique = true)
+    private String messageId;
+
+    /**
+     * Failed batchModify attempts so far.
+     */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    /**
+     * Error of the last failed attempt.
+     */
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    /**
+     * Earliest time of the next retry.
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
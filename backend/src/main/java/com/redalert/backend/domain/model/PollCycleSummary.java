@@ -0,0 +1,31 @@
+package com.redalert.backend.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Summary of a complete polling cycle, gathering the per-category results.
+ *
+ * @param startedAt  When the cycle started
+ * @param durationMs Total wall-clock duration of the cycle
+ * @param results    Per-category poll results
+ */
+public record PollCycleSummary(
+        LocalDateTime startedAt,
+        long durationMs,
+        List<CategoryPollResult> results) {
+
+    /**
+     * Total number of messages processed across all categories.
+     */
+    public int totalProcessed() {
+        return results.stream().mapToInt(CategoryPollResult::processedCount).sum();
+    }
+
+    /**
+     * Number of categories with the given status.
+     */
+    public long countByStatus(CategoryPollResult.Status status) {
+        return results.stream().filter(r -> r.status() == status).count();
+    }
+}
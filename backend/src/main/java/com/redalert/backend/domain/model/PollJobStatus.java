@@ -0,0 +1,54 @@
+package com.redalert.backend.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Progress of a polling cycle run as a job.
+ *
+ * @param jobId              Job ID
+ * @param trigger            What started the job (scheduler, manual request, or a
+ *                           manual request forwarded by another node)
+ * @param state              RUNNING, COMPLETED, SKIPPED, FORWARDED or FAILED
+ * @param mode               Sync mode of the cycle (null until it starts)
+ * @param joinedRequests     Manual requests that joined this job instead of
+ *                           starting another cycle
+ * @param categories         Results of the categories polled so far
+ * @param pendingCategories  Names of the categories still being polled
+ * @param processed          Messages processed so far
+ * @param error              Error that stopped the job, if any
+ * @param startedAt          When the job started
+ * @param finishedAt         When the job finished (null while running)
+ * @param durationMs         Time spent so far, or the total once finished
+ */
+public record PollJobStatus(
+        String jobId,
+        Trigger trigger,
+        State state,
+        String mode,
+        int joinedRequests,
+        List<CategoryPollResult> categories,
+        List<String> pendingCategories,
+        int processed,
+        String error,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        long durationMs) {
+
+    public enum Trigger {
+        SCHEDULED,
+        MANUAL,
+        /** Manual poll requested on another node */
+        REMOTE
+    }
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        /** Nothing was due; no cycle ran */
+        SKIPPED,
+        /** Nothing to poll on this node; the request was forwarded to the other nodes */
+        FORWARDED,
+        FAILED
+    }
+}
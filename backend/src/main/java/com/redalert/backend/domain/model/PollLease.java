@@ -0,0 +1,47 @@
+package com.redalert.backend.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA Entity representing the ownership of a unit of polling work (a
+ * category, or the whole mailbox) by a backend instance.
+ */
+@Entity
+@Table(name = "poll_leases")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PollLease {
+
+    /**
+     * Unit of work: category:&lt;id&gt; or mailbox.
+     */
+    @Id
+    @Column(name = "lease_key", length = 100)
+    private String leaseKey;
+
+    @Column(name = "owner_node_id", nullable = false, length = 100)
+    private String ownerNodeId;
+
+    /**
+     * Incremented every time the lease changes owner.
+     */
+    @Column(name = "fencing_token", nullable = false)
+    private Long fencingToken;
+
+    @Column(name = "acquired_at", nullable = false)
+    private LocalDateTime acquiredAt;
+
+    /**
+     * When the lease expires unless renewed (database clock).
+     */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
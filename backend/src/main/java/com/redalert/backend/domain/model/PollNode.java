@@ -0,0 +1,34 @@
+package com.redalert.backend.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA Entity representing a backend instance taking part in polling.
+ */
+@Entity
+@Table(name = "poll_nodes")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PollNode {
+
+    @Id
+    @Column(name = "node_id", length = 100)
+    private String nodeId;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    /**
+     * Last heartbeat (database clock).
+     */
+    @Column(name = "heartbeat_at", nullable = false)
+    private LocalDateTime heartbeatAt;
+}
@@ -0,0 +1,31 @@
+package com.redalert.backend.domain.model;
+
+/**
+ * Polling request forwarded between backend nodes, so it reaches the node
+ * that holds the work (see {@link com.redalert.backend.domain.port.PollTriggerPort}).
+ *
+ * @param type      What was requested
+ * @param historyId Mailbox historyId of a push notification (null otherwise)
+ */
+public record PollTrigger(Type type, Long historyId) {
+
+    public enum Type {
+        /**
+         * Gmail push notification: incremental fetch on the mailbox lease holder.
+         */
+        PUSH,
+
+        /**
+         * Manual poll: a forced cycle on every node, over the work it holds.
+         */
+        POLL
+    }
+
+    public static PollTrigger push(long historyId) {
+        return new PollTrigger(Type.PUSH, historyId);
+    }
+
+    public static PollTrigger poll() {
+        return new PollTrigger(Type.POLL, null);
+    }
+}
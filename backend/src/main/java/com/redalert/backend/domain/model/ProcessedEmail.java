@@ -7,6 +7,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * JPA Entity representing a processed email.
@@ -61,6 +63,16 @@ public class ProcessedEmail {
     @JoinColumn(name = "category_id")
     private Category category;
 
+    /**
+     * Every category that matched this email (includes the primary category).
+     */
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(name = "processed_email_categories",
+            joinColumns = @JoinColumn(name = "processed_email_id"),
+            inverseJoinColumns = @JoinColumn(name = "category_id"))
+    @Builder.Default
+    private Set<Category> matchedCategories = new HashSet<>();
+
     /**
      * When the email was processed by the system.
      */
@@ -0,0 +1,50 @@
+package com.redalert.backend.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA Entity representing an incremental sync checkpoint.
+ * Stores the last position reached by a sync (e.g., Gmail historyId).
+ */
+@Entity
+@Table(name = "sync_checkpoints")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Checkpoint identifier (e.g., gmail.history).
+     */
+    @Column(name = "checkpoint_key", nullable = false, unique = true, length = 100)
+    private String checkpointKey;
+
+    /**
+     * Last synced position.
+     */
+    @Column(name = "checkpoint_value", nullable = false, length = 255)
+    private String checkpointValue;
+
+    /**
+     * When the checkpoint was last advanced.
+     */
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
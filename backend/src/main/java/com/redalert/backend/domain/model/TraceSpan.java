@@ -0,0 +1,27 @@
+package com.redalert.backend.domain.model;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * One recorded tracing span.
+ *
+ * @param traceId      Trace the span belongs to
+ * @param spanId       Span ID
+ * @param parentSpanId Parent span ID (null for the root)
+ * @param name         Span name (e.g. gmail.messages.list, pipeline.analyze)
+ * @param startedAt    Start time
+ * @param durationMs   Duration
+ * @param error        Whether the span recorded an error
+ * @param tags         Span attributes
+ */
+public record TraceSpan(
+        String traceId,
+        String spanId,
+        String parentSpanId,
+        String name,
+        Instant startedAt,
+        double durationMs,
+        boolean error,
+        Map<String, String> tags) {
+}
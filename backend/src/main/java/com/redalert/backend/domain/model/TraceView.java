@@ -0,0 +1,27 @@
+package com.redalert.backend.domain.model;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A recorded trace with a breakdown of where its time went.
+ *
+ * @param traceId          Trace ID
+ * @param name             Name of the root span (or the earliest span)
+ * @param startedAt        Start of the earliest span
+ * @param durationMs       Time from the first span start to the last span end
+ * @param messageIds       Gmail message IDs handled in the trace
+ * @param selfTimeMsByName Time spent in each span name excluding child spans,
+ *                         largest first
+ * @param spans            Spans ordered by start time
+ */
+public record TraceView(
+        String traceId,
+        String name,
+        Instant startedAt,
+        double durationMs,
+        List<String> messageIds,
+        Map<String, Double> selfTimeMsByName,
+        List<TraceSpan> spans) {
+}
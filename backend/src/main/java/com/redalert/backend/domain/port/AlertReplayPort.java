@@ -0,0 +1,32 @@
+package com.redalert.backend.domain.port;
+
+import com.redalert.backend.domain.model.AlertReplay.ReplayedAlert;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Port for the alerts recently broadcast to WebSocket clients, numbered in
+ * broadcast order.
+ */
+public interface AlertReplayPort {
+
+    /**
+     * Current sequence epoch. It changes when the node restarts, and differs
+     * between nodes.
+     */
+    String getEpoch();
+
+    /**
+     * Last sequence number broadcast in the current epoch (0 if none).
+     */
+    long getLatestSequence();
+
+    /**
+     * Alerts broadcast after the given sequence number, oldest first.
+     *
+     * @return Empty if the epoch differs or some of those alerts are no
+     *         longer retained
+     */
+    Optional<List<ReplayedAlert>> findSince(String epoch, long sequence);
+}
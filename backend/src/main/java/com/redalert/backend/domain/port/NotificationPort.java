@@ -12,6 +12,17 @@ public interface NotificationPort {
      * Sends alert notification to connected clients.
      * 
      * @param alert The alert to broadcast
+     * @throws RuntimeException if the alert could not be sent
      */
     void sendAlert(ClassAlertDto alert);
+
+    /**
+     * Sends a stored alert notification to connected clients. Clients
+     * receive it once even if it is sent again (e.g. after a retry).
+     *
+     * @param alertId ID of the stored alert
+     * @param alert   The alert to broadcast
+     * @throws RuntimeException if the alert could not be sent
+     */
+    void sendAlert(Long alertId, ClassAlertDto alert);
 }
@@ -0,0 +1,19 @@
+package com.redalert.backend.domain.port;
+
+import com.redalert.backend.domain.model.PollTrigger;
+
+/**
+ * Port for forwarding polling requests to the other backend nodes.
+ *
+ * Triggers received from other nodes are published as application events
+ * of type {@link PollTrigger}.
+ */
+public interface PollTriggerPort {
+
+    /**
+     * Sends the trigger to every other node.
+     *
+     * @throws RuntimeException if the trigger could not be sent
+     */
+    void forward(PollTrigger trigger);
+}
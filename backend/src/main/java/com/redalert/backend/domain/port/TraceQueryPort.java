@@ -0,0 +1,29 @@
+package com.redalert.backend.domain.port;
+
+import com.redalert.backend.domain.model.TraceView;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Port for querying recorded traces.
+ */
+public interface TraceQueryPort {
+
+    /**
+     * Traces that handled the Gmail message: its own trace and the traces of
+     * batches it was part of.
+     */
+    List<TraceView> findByMessageId(String messageId);
+
+    /**
+     * Finds a trace by ID.
+     */
+    Optional<TraceView> findByTraceId(String traceId);
+
+    /**
+     * Slowest recorded traces, optionally only those with a span of the
+     * given name.
+     */
+    List<TraceView> findSlowest(int limit, String spanName);
+}
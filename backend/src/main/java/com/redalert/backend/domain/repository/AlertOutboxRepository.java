@@ -0,0 +1,80 @@
+package com.redalert.backend.domain.repository;
+
+import com.redalert.backend.domain.model.AlertOutboxEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for AlertOutboxEntry entity. Times are taken from the database
+ * clock.
+ */
+@Repository
+public interface AlertOutboxRepository extends JpaRepository<AlertOutboxEntry, Long> {
+
+    /**
+     * Claims up to {@code limit} due entries, oldest first, skipping rows
+     * claimed by concurrent relays. Claimed entries are hidden from other
+     * relays until the claim timeout, and their attempt count is
+     * incremented.
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE alert_outbox
+            SET attempts = attempts + 1,
+                next_attempt_at = now() + make_interval(secs => :claimTimeoutMs / 1000.0)
+            WHERE id IN (
+                SELECT id FROM alert_outbox
+                WHERE state = 'PENDING' AND next_attempt_at <= now()
+                ORDER BY id
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED)
+            RETURNING *
+            """, nativeQuery = true)
+    List<AlertOutboxEntry> claimDue(@Param("limit") int limit, @Param("claimTimeoutMs") long claimTimeoutMs);
+
+    /**
+     * Marks entries as delivered.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE alert_outbox SET state = 'DELIVERED', delivered_at = now(), last_error = NULL "
+            + "WHERE id IN (:ids)", nativeQuery = true)
+    int markDelivered(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Records a failed attempt: the entry is retried after the delay, or
+     * marked FAILED once it reached the maximum number of attempts.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE alert_outbox
+            SET last_error = :error,
+                state = CASE WHEN attempts >= :maxAttempts THEN 'FAILED' ELSE 'PENDING' END,
+                next_attempt_at = now() + make_interval(secs => :retryDelayMs / 1000.0)
+            WHERE id = :id
+            """, nativeQuery = true)
+    int markFailed(@Param("id") Long id, @Param("error") String error, @Param("maxAttempts") int maxAttempts,
+            @Param("retryDelayMs") long retryDelayMs);
+
+    /**
+     * Deletes entries delivered longer ago than the given age.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM alert_outbox WHERE state = 'DELIVERED' "
+            + "AND delivered_at < now() - make_interval(secs => :ageMs / 1000.0)", nativeQuery = true)
+    int deleteDeliveredBefore(@Param("ageMs") long ageMs);
+
+    /**
+     * Counts entries in the given state.
+     */
+    long countByState(AlertOutboxEntry.State state);
+}
@@ -4,10 +4,13 @@ import com.redalert.backend.domain.model.Alert;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -41,6 +44,32 @@ public interface AlertRepository extends JpaRepository<Alert, Long> {
      */
     List<Alert> findByCreatedAtAfterOrderByCreatedAtDesc(LocalDateTime after);
 
+    /**
+     * Finds alerts notified since the given time, with their category.
+     */
+    @Query("SELECT a FROM Alert a LEFT JOIN FETCH a.category WHERE a.notifiedAt >= :since")
+    List<Alert> findNotifiedSince(LocalDateTime since);
+
+    /**
+     * Finds the latest alerts notified since the given time (newest first).
+     */
+    @Query("SELECT a FROM Alert a WHERE a.notifiedAt >= :since ORDER BY a.notifiedAt DESC, a.id DESC")
+    List<Alert> findLatestNotifiedSince(LocalDateTime since, Pageable pageable);
+
+    /**
+     * Finds alerts by ID, with their category.
+     */
+    @Query("SELECT a FROM Alert a LEFT JOIN FETCH a.category WHERE a.id IN :ids")
+    List<Alert> findWithCategoryByIdIn(Collection<Long> ids);
+
+    /**
+     * Records when an alert was sent to clients.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Alert a SET a.notifiedAt = :notifiedAt WHERE a.id = :id")
+    int markNotified(Long id, LocalDateTime notifiedAt);
+
     /**
      * Counts urgent alerts.
      */
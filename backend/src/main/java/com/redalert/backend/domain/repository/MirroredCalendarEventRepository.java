@@ -0,0 +1,40 @@
+package com.redalert.backend.domain.repository;
+
+import com.redalert.backend.domain.model.MirroredCalendarEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for MirroredCalendarEvent entity.
+ */
+@Repository
+public interface MirroredCalendarEventRepository extends JpaRepository<MirroredCalendarEvent, Long> {
+
+    /**
+     * Finds mirrored events by Google event ID.
+     */
+    List<MirroredCalendarEvent> findByEventIdIn(Collection<String> eventIds);
+
+    /**
+     * Deletes mirrored events by Google event ID.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM MirroredCalendarEvent e WHERE e.eventId IN :eventIds")
+    int deleteByEventIdIn(Collection<String> eventIds);
+
+    /**
+     * Deletes events that ended before the given time.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM MirroredCalendarEvent e WHERE COALESCE(e.endAt, e.startAt) < :before")
+    int deleteEndedBefore(LocalDateTime before);
+}
@@ -0,0 +1,28 @@
+package com.redalert.backend.domain.repository;
+
+import com.redalert.backend.domain.model.PendingAcknowledgement;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for PendingAcknowledgement entity.
+ */
+@Repository
+public interface PendingAcknowledgementRepository extends JpaRepository<PendingAcknowledgement, Long> {
+
+    /**
+     * Finds the oldest pending acknowledgements due for a retry.
+     */
+    List<PendingAcknowledgement> findByNextAttemptAtLessThanEqualOrderByCreatedAtAsc(LocalDateTime now,
+            Pageable pageable);
+
+    /**
+     * Finds pending acknowledgements for the given message IDs.
+     */
+    List<PendingAcknowledgement> findByMessageIdIn(Collection<String> messageIds);
+}
@@ -0,0 +1,77 @@
+package com.redalert.backend.domain.repository;
+
+import com.redalert.backend.domain.model.PollLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for PollLease entity. Expiry is evaluated with the database
+ * clock.
+ */
+@Repository
+public interface PollLeaseRepository extends JpaRepository<PollLease, String> {
+
+    /**
+     * Acquires or renews a lease for the node. Succeeds when the lease is
+     * free, expired, or already held by the node; the fencing token is
+     * incremented only when the owner changes.
+     *
+     * @return The fencing token, or empty if another node holds the lease
+     */
+    @Transactional
+    @Query(value = """
+            INSERT INTO poll_leases (lease_key, owner_node_id, fencing_token, acquired_at, expires_at)
+            VALUES (:leaseKey, :nodeId, 1, now(), now() + make_interval(secs => :ttlMs / 1000.0))
+            ON CONFLICT (lease_key) DO UPDATE SET
+                fencing_token = CASE WHEN poll_leases.owner_node_id = EXCLUDED.owner_node_id
+                        THEN poll_leases.fencing_token ELSE poll_leases.fencing_token + 1 END,
+                acquired_at = CASE WHEN poll_leases.owner_node_id = EXCLUDED.owner_node_id
+                        THEN poll_leases.acquired_at ELSE now() END,
+                owner_node_id = EXCLUDED.owner_node_id,
+                expires_at = EXCLUDED.expires_at
+            WHERE poll_leases.owner_node_id = EXCLUDED.owner_node_id OR poll_leases.expires_at <= now()
+            RETURNING fencing_token
+            """, nativeQuery = true)
+    List<Long> acquire(@Param("leaseKey") String leaseKey, @Param("nodeId") String nodeId,
+            @Param("ttlMs") long ttlMs);
+
+    /**
+     * Expires the node's leases right away, so their new owners can take
+     * them on their next heartbeat.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE poll_leases SET expires_at = now() "
+            + "WHERE lease_key IN (:leaseKeys) AND owner_node_id = :nodeId", nativeQuery = true)
+    int release(@Param("leaseKeys") Collection<String> leaseKeys, @Param("nodeId") String nodeId);
+
+    /**
+     * Expires every lease of the node.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE poll_leases SET expires_at = now() WHERE owner_node_id = :nodeId AND expires_at > now()",
+            nativeQuery = true)
+    int releaseAll(@Param("nodeId") String nodeId);
+
+    /**
+     * Whether the node still holds the lease with the given fencing token.
+     */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM poll_leases WHERE lease_key = :leaseKey "
+            + "AND owner_node_id = :nodeId AND fencing_token = :fencingToken AND expires_at > now())",
+            nativeQuery = true)
+    boolean isHeld(@Param("leaseKey") String leaseKey, @Param("nodeId") String nodeId,
+            @Param("fencingToken") long fencingToken);
+
+    /**
+     * Leases ordered by key.
+     */
+    List<PollLease> findAllByOrderByLeaseKeyAsc();
+}
@@ -0,0 +1,45 @@
+package com.redalert.backend.domain.repository;
+
+import com.redalert.backend.domain.model.PollNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Repository for PollNode entity. Times are taken from the database clock,
+ * so nodes with skewed clocks agree on liveness.
+ */
+@Repository
+public interface PollNodeRepository extends JpaRepository<PollNode, String> {
+
+    /**
+     * Registers the node, or refreshes its heartbeat.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO poll_nodes (node_id, started_at, heartbeat_at) VALUES (:nodeId, now(), now()) "
+            + "ON CONFLICT (node_id) DO UPDATE SET heartbeat_at = now()", nativeQuery = true)
+    int heartbeat(@Param("nodeId") String nodeId);
+
+    /**
+     * IDs of the nodes whose last heartbeat is more recent than the TTL.
+     */
+    @Query(value = "SELECT node_id FROM poll_nodes "
+            + "WHERE heartbeat_at > now() - make_interval(secs => :ttlMs / 1000.0) ORDER BY node_id",
+            nativeQuery = true)
+    List<String> findLiveNodeIds(@Param("ttlMs") long ttlMs);
+
+    /**
+     * Removes nodes whose last heartbeat is older than the given age.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM poll_nodes WHERE heartbeat_at < now() - make_interval(secs => :ageMs / 1000.0)",
+            nativeQuery = true)
+    int deleteExpired(@Param("ageMs") long ageMs);
+}
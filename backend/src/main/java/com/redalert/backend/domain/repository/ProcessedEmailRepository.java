@@ -1,9 +1,12 @@
 package com.redalert.backend.domain.repository;
 
 import com.redalert.backend.domain.model.ProcessedEmail;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,13 +27,23 @@ public interface ProcessedEmailRepository extends JpaRepository<ProcessedEmail,
     boolean existsByEmailId(String emailId);
 
     /**
-     * Finds all processed emails ordered by processed date (most recent first).
+     * Gets the Gmail message IDs processed since the given time, oldest first.
      */
+    @Query("SELECT p.emailId FROM ProcessedEmail p WHERE p.processedAt >= :since ORDER BY p.processedAt ASC")
+    List<String> findEmailIdsProcessedSinceOrderByProcessedAt(LocalDateTime since);
+
+    /**
+     * Finds all processed emails ordered by processed date (most recent first),
+     * with their primary and matched categories.
+     */
+    @EntityGraph(attributePaths = {"category", "matchedCategories"})
     List<ProcessedEmail> findAllByOrderByProcessedAtDesc();
 
     /**
-     * Finds processed emails by category ID.
+     * Finds processed emails by category ID, with their primary and matched
+     * categories.
      */
+    @EntityGraph(attributePaths = {"category", "matchedCategories"})
     List<ProcessedEmail> findByCategoryIdOrderByProcessedAtDesc(Long categoryId);
 
     /**
@@ -0,0 +1,66 @@
+package com.redalert.backend.domain.repository;
+
+import com.redalert.backend.domain.model.SyncCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Repository for SyncCheckpoint entity.
+ */
+@Repository
+public interface SyncCheckpointRepository extends JpaRepository<SyncCheckpoint, Long> {
+
+    /**
+     * Finds a checkpoint by its key.
+     */
+    Optional<SyncCheckpoint> findByCheckpointKey(String checkpointKey);
+
+    /**
+     * Advances a numeric checkpoint (it never moves back), only if the node
+     * still holds the lease with the given fencing token.
+     *
+     * @return 0 if the write was fenced out
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO sync_checkpoints (checkpoint_key, checkpoint_value, updated_at)
+            SELECT :checkpointKey, CAST(:value AS VARCHAR), now()
+            WHERE EXISTS (SELECT 1 FROM poll_leases WHERE lease_key = :leaseKey AND owner_node_id = :nodeId
+                    AND fencing_token = :fencingToken AND expires_at > now())
+            ON CONFLICT (checkpoint_key) DO UPDATE SET
+                checkpoint_value = CAST(GREATEST(CAST(sync_checkpoints.checkpoint_value AS BIGINT),
+                        CAST(EXCLUDED.checkpoint_value AS BIGINT)) AS VARCHAR),
+                updated_at = now()
+            """, nativeQuery = true)
+    int advanceFenced(@Param("checkpointKey") String checkpointKey, @Param("value") long value,
+            @Param("leaseKey") String leaseKey, @Param("nodeId") String nodeId,
+            @Param("fencingToken") long fencingToken);
+
+    /**
+     * Stores a checkpoint, only if the node still holds the lease with the
+     * given fencing token.
+     *
+     * @return 0 if the write was fenced out
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO sync_checkpoints (checkpoint_key, checkpoint_value, updated_at)
+            SELECT :checkpointKey, :value, now()
+            WHERE EXISTS (SELECT 1 FROM poll_leases WHERE lease_key = :leaseKey AND owner_node_id = :nodeId
+                    AND fencing_token = :fencingToken AND expires_at > now())
+            ON CONFLICT (checkpoint_key) DO UPDATE SET
+                checkpoint_value = EXCLUDED.checkpoint_value,
+                updated_at = now()
+            """, nativeQuery = true)
+    int saveFenced(@Param("checkpointKey") String checkpointKey, @Param("value") String value,
+            @Param("leaseKey") String leaseKey, @Param("nodeId") String nodeId,
+            @Param("fencingToken") long fencingToken);
+}
@@ -6,6 +6,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.redalert.backend.application.exception.AiAnalysisException;
 import com.redalert.backend.domain.model.ClassAlertDto;
 import com.redalert.backend.domain.port.AiAnalysisPort;
+import com.redalert.backend.infrastructure.ai.ratelimit.AdaptiveRateLimiter;
+import com.redalert.backend.infrastructure.ai.ratelimit.AiRateLimiterRegistry;
+import com.redalert.backend.infrastructure.metrics.ExternalCallMetrics;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -32,6 +35,10 @@ public class GeminiServiceAdapter implements AiAnalysisPort {
 
     private final WebClient.Builder webClientBuilder;
     private final ObjectMapper objectMapper;
+    private final AiRateLimiterRegistry rateLimiterRegistry;
+    private final ExternalCallMetrics externalCallMetrics;
+
+    private static final String PROVIDER = "gemini";
 
     @Value("${gemini.api.key}")
     private String apiKey;
@@ -51,19 +58,25 @@ public class GeminiServiceAdapter implements AiAnalysisPort {
             String prompt = buildPrompt(emailBody, receivedAt);
             String requestBody = buildRequestBody(prompt);
 
+            // Wait for the provider's rate limiter instead of a fixed sleep
+            AdaptiveRateLimiter rateLimiter = rateLimiterRegistry.forProvider(PROVIDER);
+            rateLimiter.acquire(AdaptiveRateLimiter.estimateTokens(prompt));
+
             // Call Gemini API
-            String jsonResponse = webClientBuilder.build()
+            String jsonResponse = externalCallMetrics.ai(PROVIDER, () -> webClientBuilder.build()
                     .post()
                     .uri(apiUrl + "?key=" + apiKey)
                     .contentType(MediaType.APPLICATION_JSON)
                     .bodyValue(requestBody)
                     .retrieve()
                     .bodyToMono(String.class)
-                    .block(); // Blocking is acceptable here as we are in a synchronous polling loop
+                    .block()); // Blocking is acceptable here as we are in a synchronous polling loop
+            rateLimiter.onSuccess();
 
             return parseGeminiResponse(jsonResponse);
 
         } catch (Exception e) {
+            rateLimiterRegistry.recordFailure(PROVIDER, e);
             log.error("Error analyzing email with Gemini", e);
             throw new AiAnalysisException("Failed to analyze email content", e);
         }
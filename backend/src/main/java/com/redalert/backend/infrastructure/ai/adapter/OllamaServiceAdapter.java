@@ -6,6 +6,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.redalert.backend.application.exception.AiAnalysisException;
 import com.redalert.backend.domain.model.ClassAlertDto;
 import com.redalert.backend.domain.port.AiAnalysisPort;
+import com.redalert.backend.infrastructure.ai.ratelimit.AdaptiveRateLimiter;
+import com.redalert.backend.infrastructure.ai.ratelimit.AiRateLimiterRegistry;
+import com.redalert.backend.infrastructure.metrics.ExternalCallMetrics;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,6 +32,10 @@ public class OllamaServiceAdapter implements AiAnalysisPort {
 
     private final WebClient.Builder webClientBuilder;
     private final ObjectMapper objectMapper;
+    private final AiRateLimiterRegistry rateLimiterRegistry;
+    private final ExternalCallMetrics externalCallMetrics;
+
+    private static final String PROVIDER = "ollama";
 
     @Value("${ollama.api.url:http://localhost:11434/api/chat}")
     private String apiUrl;
@@ -45,19 +52,25 @@ public class OllamaServiceAdapter implements AiAnalysisPort {
             String prompt = buildPrompt(emailBody, receivedAt);
             String requestBody = buildRequestBody(prompt);
 
+            // Wait for the provider's rate limiter instead of a fixed sleep
+            AdaptiveRateLimiter rateLimiter = rateLimiterRegistry.forProvider(PROVIDER);
+            rateLimiter.acquire(AdaptiveRateLimiter.estimateTokens(prompt));
+
             // Call Ollama API
-            String jsonResponse = webClientBuilder.build()
+            String jsonResponse = externalCallMetrics.ai(PROVIDER, () -> webClientBuilder.build()
                     .post()
                     .uri(apiUrl)
                     .contentType(MediaType.APPLICATION_JSON)
                     .bodyValue(requestBody)
                     .retrieve()
                     .bodyToMono(String.class)
-                    .block();
+                    .block());
+            rateLimiter.onSuccess();
 
             return parseOllamaResponse(jsonResponse);
 
         } catch (Exception e) {
+            rateLimiterRegistry.recordFailure(PROVIDER, e);
             log.error("Error analyzing email with Ollama", e);
             throw new AiAnalysisException("Failed to analyze email content with Ollama", e);
         }
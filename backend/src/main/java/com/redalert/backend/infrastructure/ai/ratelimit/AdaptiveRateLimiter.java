@@ -0,0 +1,173 @@
+package com.redalert.backend.infrastructure.ai.ratelimit;
+
+import com.redalert.backend.application.exception.AiAnalysisException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adaptive token-bucket rate limiter for one AI provider.
+ *
+ * Requests are spaced at the current rate (requests per second), with an
+ * optional second bucket bounding estimated LLM tokens per minute.
+ * The rate adapts AIMD-style: a throttling response (429 / Retry-After)
+ * halves the rate and pauses the provider, and every success adds a small
+ * step back until the configured maximum is reached again.
+ */
+@Slf4j
+public class AdaptiveRateLimiter {
+
+    private static final double DECREASE_FACTOR = 0.5;
+    private static final int CHARS_PER_TOKEN = 4;
+    private static final int EXPECTED_OUTPUT_TOKENS = 300;
+
+    private final String provider;
+    private final double maxRate;
+    private final double minRate;
+    private final double increaseStep;
+    private final long tokensPerMinute;
+
+    private double currentRate;
+    private long nextFreeNanos = System.nanoTime();
+    private long pausedUntilNanos;
+    private double availableTokens;
+    private long lastTokenRefillNanos = System.nanoTime();
+
+    private long acquired;
+    private long throttled;
+    private Instant lastThrottledAt;
+
+    public AdaptiveRateLimiter(String provider, double maxRate, double minRate, double increaseStep,
+            long tokensPerMinute) {
+        this.provider = provider;
+        this.maxRate = maxRate;
+        this.minRate = Math.min(minRate, maxRate);
+        this.increaseStep = increaseStep;
+        this.tokensPerMinute = tokensPerMinute;
+        this.currentRate = maxRate;
+        this.availableTokens = tokensPerMinute;
+    }
+
+    /**
+     * Blocks until a request carrying the given estimated tokens may be sent.
+     *
+     * @param estimatedTokens Estimated tokens consumed by the request
+     * @throws AiAnalysisException if interrupted while waiting; the request
+     *                             must not be sent
+     */
+    public void acquire(long estimatedTokens) {
+        long waitNanos = reserve(estimatedTokens);
+        if (waitNanos <= 0) {
+            return;
+        }
+
+        log.debug("AI rate limiter '{}' waiting {} ms", provider, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AiAnalysisException("Interrupted while waiting for the '" + provider + "' rate limiter", e);
+        }
+    }
+
+    /**
+     * Records a successful call; the rate grows back additively.
+     */
+    public synchronized void onSuccess() {
+        if (currentRate < maxRate) {
+            currentRate = Math.min(maxRate, currentRate + increaseStep);
+        }
+    }
+
+    /**
+     * Records a throttling response; the rate is cut multiplicatively and
+     * the provider is paused for the Retry-After duration, if any.
+     *
+     * @param retryAfter Duration from the Retry-After header (may be null)
+     */
+    public synchronized void onThrottled(Duration retryAfter) {
+        throttled++;
+        lastThrottledAt = Instant.now();
+        currentRate = Math.max(minRate, currentRate * DECREASE_FACTOR);
+
+        if (retryAfter != null && !retryAfter.isNegative()) {
+            pausedUntilNanos = Math.max(pausedUntilNanos, System.nanoTime() + retryAfter.toNanos());
+        }
+
+        log.warn("AI provider '{}' throttled. Rate lowered to {} req/s{}", provider,
+                String.format("%.2f", currentRate),
+                retryAfter != null ? ", pausing " + retryAfter.toSeconds() + "s" : "");
+    }
+
+    /**
+     * Current state, for monitoring.
+     */
+    public synchronized Snapshot snapshot() {
+        refillTokens(System.nanoTime());
+        return new Snapshot(
+                provider,
+                currentRate,
+                maxRate,
+                minRate,
+                tokensPerMinute > 0 ? tokensPerMinute : null,
+                tokensPerMinute > 0 ? (long) availableTokens : null,
+                Math.max(0, TimeUnit.NANOSECONDS.toMillis(pausedUntilNanos - System.nanoTime())),
+                acquired,
+                throttled,
+                lastThrottledAt);
+    }
+
+    /**
+     * Estimates the tokens a prompt will consume (input plus expected output).
+     */
+    public static long estimateTokens(String prompt) {
+        return (prompt != null ? prompt.length() / CHARS_PER_TOKEN : 0) + EXPECTED_OUTPUT_TOKENS;
+    }
+
+    private synchronized long reserve(long estimatedTokens) {
+        long now = System.nanoTime();
+        long start = Math.max(now, Math.max(nextFreeNanos, pausedUntilNanos));
+
+        if (tokensPerMinute > 0) {
+            refillTokens(now);
+            long tokens = Math.min(estimatedTokens, tokensPerMinute);
+            if (availableTokens < tokens) {
+                double missing = tokens - availableTokens;
+                long refillNanos = (long) (missing / tokensPerMinute * TimeUnit.MINUTES.toNanos(1));
+                start = Math.max(start, now + refillNanos);
+            }
+            availableTokens -= tokens;
+        }
+
+        nextFreeNanos = start + (long) (TimeUnit.SECONDS.toNanos(1) / currentRate);
+        acquired++;
+        return start - now;
+    }
+
+    private void refillTokens(long now) {
+        if (tokensPerMinute <= 0) {
+            return;
+        }
+        double refill = (double) (now - lastTokenRefillNanos) / TimeUnit.MINUTES.toNanos(1) * tokensPerMinute;
+        availableTokens = Math.min(tokensPerMinute, availableTokens + refill);
+        lastTokenRefillNanos = now;
+    }
+
+    /**
+     * Point-in-time state of the limiter.
+     */
+    public record Snapshot(
+            String provider,
+            double currentRequestsPerSecond,
+            double maxRequestsPerSecond,
+            double minRequestsPerSecond,
+            Long tokensPerMinute,
+            Long availableTokens,
+            long pausedForMs,
+            long acquiredTotal,
+            long throttledTotal,
+            Instant lastThrottledAt) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.redalert.backend.infrastructure.ai.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint exposing the current state of the AI rate limiters.
+ * Available at /actuator/airatelimits.
+ */
+@Component
+@Endpoint(id = "airatelimits")
+@RequiredArgsConstructor
+public class AiRateLimitEndpoint {
+
+    private final AiRateLimiterRegistry registry;
+
+    @ReadOperation
+    public List<AdaptiveRateLimiter.Snapshot> rateLimits() {
+        return registry.snapshots();
+    }
+}
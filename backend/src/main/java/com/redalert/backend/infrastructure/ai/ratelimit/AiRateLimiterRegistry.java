@@ -0,0 +1,88 @@
+package com.redalert.backend.infrastructure.ai.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds one adaptive rate limiter per AI provider.
+ *
+ * Limits are read from ai.rate-limit.{provider}.*:
+ * - requests-per-second: maximum (and initial) request rate
+ * - min-requests-per-second: floor the rate never drops below
+ * - increase-step: rate recovered per successful call
+ * - tokens-per-minute: optional estimated token budget (0 = unlimited)
+ */
+@Component
+@RequiredArgsConstructor
+public class AiRateLimiterRegistry {
+
+    private final Environment environment;
+    private final Map<String, AdaptiveRateLimiter> limiters = new ConcurrentHashMap<>();
+
+    /**
+     * Gets (or creates) the limiter for a provider.
+     */
+    public AdaptiveRateLimiter forProvider(String provider) {
+        return limiters.computeIfAbsent(provider, this::createLimiter);
+    }
+
+    /**
+     * Snapshots of all limiters created so far.
+     */
+    public List<AdaptiveRateLimiter.Snapshot> snapshots() {
+        return limiters.values().stream()
+                .map(AdaptiveRateLimiter::snapshot)
+                .toList();
+    }
+
+    /**
+     * Feeds a failed call into the provider's limiter when it was throttled
+     * (429 Too Many Requests or 503 Service Unavailable).
+     */
+    public void recordFailure(String provider, Throwable error) {
+        if (error instanceof WebClientResponseException response
+                && (response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()
+                        || response.getStatusCode().value() == HttpStatus.SERVICE_UNAVAILABLE.value())) {
+            forProvider(provider).onThrottled(parseRetryAfter(response.getHeaders().getFirst("Retry-After")));
+        }
+    }
+
+    private AdaptiveRateLimiter createLimiter(String provider) {
+        String prefix = "ai.rate-limit." + provider + ".";
+        return new AdaptiveRateLimiter(
+                provider,
+                environment.getProperty(prefix + "requests-per-second", Double.class, 1.0),
+                environment.getProperty(prefix + "min-requests-per-second", Double.class, 0.05),
+                environment.getProperty(prefix + "increase-step", Double.class, 0.05),
+                environment.getProperty(prefix + "tokens-per-minute", Long.class, 0L));
+    }
+
+    /**
+     * Parses a Retry-After header, given either in seconds or as an HTTP date.
+     */
+    private Duration parseRetryAfter(String retryAfter) {
+        if (retryAfter == null || retryAfter.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(retryAfter.trim()));
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime until = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Duration.between(ZonedDateTime.now(until.getZone()), until);
+            } catch (Exception ignored) {
+                return null;
+            }
+        }
+    }
+}
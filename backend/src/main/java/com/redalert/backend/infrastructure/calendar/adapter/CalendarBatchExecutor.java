@@ -0,0 +1,165 @@
+package com.redalert.backend.infrastructure.calendar.adapter;
+
+import com.google.api.client.googleapis.batch.BatchRequest;
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.services.calendar.Calendar;
+import com.google.api.services.calendar.model.Event;
+import com.redalert.backend.infrastructure.metrics.ExternalCallMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes Google Calendar events in batches.
+ *
+ * Uses the Google client's BatchRequest to send up to 50 inserts or deletes
+ * in a single multipart HTTP call instead of one round-trip per event.
+ * Failures are reported per event so one bad item does not fail the batch.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CalendarBatchExecutor {
+
+    private final Calendar calendar;
+    private final ExternalCallMetrics externalCallMetrics;
+
+    private static final String CALENDAR_ID = "primary";
+    private static final int HTTP_NOT_FOUND = 404;
+    private static final int HTTP_GONE = 410;
+
+    /**
+     * Maximum number of calls sent in a single Calendar batch request
+     * (Google recommends at most 50).
+     */
+    public static final int MAX_BATCH_SIZE = 50;
+
+    /**
+     * Inserts events, each with its ID already set.
+     *
+     * @param events Events to insert
+     * @return Inserted events by ID and per-item failures
+     */
+    public BatchWriteResult insertAll(List<Event> events) {
+        Map<String, Event> written = new LinkedHashMap<>();
+        Map<String, Failure> failures = new LinkedHashMap<>();
+
+        for (int from = 0; from < events.size(); from += MAX_BATCH_SIZE) {
+            List<Event> chunk = events.subList(from, Math.min(from + MAX_BATCH_SIZE, events.size()));
+            List<String> eventIds = chunk.stream().map(Event::getId).toList();
+            execute("events.insert.batch", eventIds, written, failures, batch -> {
+                for (Event event : chunk) {
+                    calendar.events().insert(CALENDAR_ID, event).queue(batch, callback(event.getId(), written,
+                            failures, false));
+                }
+            });
+        }
+
+        log.debug("Batch inserted {} calendar event(s), {} failure(s)", written.size(), failures.size());
+        return new BatchWriteResult(written, failures);
+    }
+
+    /**
+     * Deletes events. Events that are already gone count as deleted.
+     *
+     * @param eventIds IDs of the events to delete
+     * @return Deleted event IDs and per-item failures
+     */
+    public BatchWriteResult deleteAll(List<String> eventIds) {
+        Map<String, Event> written = new LinkedHashMap<>();
+        Map<String, Failure> failures = new LinkedHashMap<>();
+
+        for (int from = 0; from < eventIds.size(); from += MAX_BATCH_SIZE) {
+            List<String> chunk = eventIds.subList(from, Math.min(from + MAX_BATCH_SIZE, eventIds.size()));
+            execute("events.delete.batch", chunk, written, failures, batch -> {
+                for (String eventId : chunk) {
+                    calendar.events().delete(CALENDAR_ID, eventId).queue(batch, callback(eventId, written,
+                            failures, true));
+                }
+            });
+        }
+
+        log.debug("Batch deleted {} calendar event(s), {} failure(s)", written.size(), failures.size());
+        return new BatchWriteResult(written, failures);
+    }
+
+    private void execute(String operation, List<String> eventIds, Map<String, Event> written,
+            Map<String, Failure> failures, BatchQueuer queuer) {
+        try {
+            BatchRequest batch = calendar.batch();
+            queuer.queue(batch);
+            externalCallMetrics.calendar(operation, () -> {
+                batch.execute();
+                return null;
+            });
+
+        } catch (IOException e) {
+            log.error("Calendar batch of {} call(s) failed: {}", eventIds.size(), e.getMessage());
+            for (String eventId : eventIds) {
+                if (!written.containsKey(eventId)) {
+                    failures.putIfAbsent(eventId, new Failure(0, e.getMessage()));
+                }
+            }
+        }
+    }
+
+    private <T> JsonBatchCallback<T> callback(String eventId, Map<String, Event> written,
+            Map<String, Failure> failures, boolean delete) {
+        return new JsonBatchCallback<>() {
+            @Override
+            public void onSuccess(T result, HttpHeaders responseHeaders) {
+                // Deletes have an empty response
+                written.put(eventId, result instanceof Event event ? event : new Event().setId(eventId));
+            }
+
+            @Override
+            public void onFailure(GoogleJsonError error, HttpHeaders responseHeaders) {
+                if (delete && (error.getCode() == HTTP_NOT_FOUND || error.getCode() == HTTP_GONE)) {
+                    written.put(eventId, new Event().setId(eventId));
+                    return;
+                }
+                failures.put(eventId, new Failure(error.getCode(), error.getMessage()));
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface BatchQueuer {
+        void queue(BatchRequest batch) throws IOException;
+    }
+
+    /**
+     * Failure of one call in a batch.
+     *
+     * @param code    HTTP status of the call (0 if the whole batch failed)
+     * @param message Error description
+     */
+    public record Failure(int code, String message) {
+    }
+
+    /**
+     * Result of a batched write.
+     *
+     * @param written  Successfully written events by ID, in request order
+     *                 (deletes map to an event with the ID only)
+     * @param failures Failure per event ID that could not be written
+     */
+    public record BatchWriteResult(Map<String, Event> written, Map<String, Failure> failures) {
+
+        public List<String> writtenIds() {
+            return new ArrayList<>(written.keySet());
+        }
+
+        public boolean hasFailures() {
+            return !failures.isEmpty();
+        }
+    }
+}
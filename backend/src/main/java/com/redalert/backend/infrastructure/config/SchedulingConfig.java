@@ -0,0 +1,26 @@
+package com.redalert.backend.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Scheduler running the @Scheduled jobs.
+ *
+ * The STOMP broker declares its own TaskScheduler, which makes Boot's
+ * default scheduler back off; without this bean every @Scheduled job would
+ * share the broker's pool (one thread per CPU) with the STOMP heartbeats.
+ * Spring picks the bean named taskScheduler when there are several.
+ */
+@Configuration
+public class SchedulingConfig {
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${scheduling.pool-size:8}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(Math.max(1, poolSize));
+        scheduler.setThreadNamePrefix("scheduling-");
+        return scheduler;
+    }
+}
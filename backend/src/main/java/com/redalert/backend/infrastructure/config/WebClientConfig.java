@@ -1,5 +1,6 @@
 package com.redalert.backend.infrastructure.config;
 
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -14,12 +15,15 @@ public class WebClientConfig {
     /**
      * Provides a WebClient.Builder bean for HTTP calls.
      * Used primarily for Gemini AI API integration.
+     * Requests are observed, so they get client spans and carry the
+     * current trace context in their headers.
      * 
      * @return Configured WebClient.Builder
      */
     @Bean
-    public WebClient.Builder webClientBuilder() {
+    public WebClient.Builder webClientBuilder(ObservationRegistry observationRegistry) {
         return WebClient.builder()
+                .observationRegistry(observationRegistry)
                 .defaultHeader("Content-Type", "application/json");
     }
 }
@@ -0,0 +1,47 @@
+package com.redalert.backend.infrastructure.config;
+
+import com.redalert.backend.infrastructure.messaging.websocket.SlowConsumerPolicy;
+import com.redalert.backend.infrastructure.messaging.websocket.SlowConsumerWebSocketHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.config.annotation.DelegatingWebSocketMessageBrokerConfiguration;
+
+import java.util.Locale;
+
+/**
+ * STOMP message broker infrastructure (what @EnableWebSocketMessageBroker
+ * imports), with a sub-protocol handler that applies the slow-consumer
+ * policy to each session.
+ *
+ * Broker, channel and transport settings are in {@link WebSocketConfig}.
+ */
+@Configuration
+public class WebSocketBrokerConfig extends DelegatingWebSocketMessageBrokerConfiguration {
+
+    private final MeterRegistry meterRegistry;
+    private final SlowConsumerPolicy slowConsumerPolicy;
+
+    public WebSocketBrokerConfig(
+            MeterRegistry meterRegistry,
+            @Value("${websocket.transport.slow-consumer-policy:disconnect}") String slowConsumerPolicy) {
+        this.meterRegistry = meterRegistry;
+        this.slowConsumerPolicy = SlowConsumerPolicy.valueOf(slowConsumerPolicy.trim().toUpperCase(Locale.ROOT));
+    }
+
+    @Bean
+    @Override
+    public WebSocketHandler subProtocolWebSocketHandler(
+            @Qualifier("clientInboundChannel") AbstractSubscribableChannel clientInboundChannel,
+            @Qualifier("clientOutboundChannel") AbstractSubscribableChannel clientOutboundChannel) {
+        SlowConsumerWebSocketHandler handler = new SlowConsumerWebSocketHandler(clientInboundChannel,
+                clientOutboundChannel, slowConsumerPolicy, meterRegistry);
+        handler.setPhase(getPhase());
+        // No handler decorator factories are registered on the transport
+        return handler;
+    }
+}
@@ -1,11 +1,15 @@
 package com.redalert.backend.infrastructure.config;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
-import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 /**
  * WebSocket configuration for real-time notifications.
@@ -13,16 +17,71 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
  * 
  * Configuration:
  * - Endpoint: /ws-Red Alert (with SockJS support)
- * - Message broker: /topic (for broadcasting)
+ * - Message broker: /topic (for broadcasting); each node's simple broker
+ *   only reaches its own sessions, alerts reach the other nodes through
+ *   the cluster fan-out (websocket.fanout)
  * - Application destination prefix: /app
+ * - Inbound/outbound channel thread pools, heartbeats and per-session send
+ *   limits (websocket.*); the broker infrastructure itself is set up by
+ *   {@link WebSocketBrokerConfig}
  */
 @Configuration
-@EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final TaskScheduler messageBrokerTaskScheduler;
+
     @Value("${websocket.allowed-origins}")
     private String allowedOrigins;
 
+    /**
+     * Heartbeat intervals (ms): sent by the server / expected from clients.
+     * The effective interval is negotiated with each client on CONNECT.
+     */
+    @Value("${websocket.heartbeat.server:10000}")
+    private long serverHeartbeat;
+
+    @Value("${websocket.heartbeat.client:10000}")
+    private long clientHeartbeat;
+
+    @Value("${websocket.inbound-channel.core-pool-size:4}")
+    private int inboundCorePoolSize;
+
+    @Value("${websocket.inbound-channel.max-pool-size:16}")
+    private int inboundMaxPoolSize;
+
+    @Value("${websocket.inbound-channel.queue-capacity:1000}")
+    private int inboundQueueCapacity;
+
+    @Value("${websocket.outbound-channel.core-pool-size:8}")
+    private int outboundCorePoolSize;
+
+    @Value("${websocket.outbound-channel.max-pool-size:32}")
+    private int outboundMaxPoolSize;
+
+    @Value("${websocket.outbound-channel.queue-capacity:5000}")
+    private int outboundQueueCapacity;
+
+    @Value("${websocket.channel-keep-alive-seconds:60}")
+    private int channelKeepAliveSeconds;
+
+    @Value("${websocket.transport.send-time-limit:10000}")
+    private int sendTimeLimit;
+
+    @Value("${websocket.transport.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${websocket.transport.message-size-limit:65536}")
+    private int messageSizeLimit;
+
+    /**
+     * @param messageBrokerTaskScheduler Scheduler of the broker itself (lazy:
+     *                                   it is created by the broker
+     *                                   configuration this class configures)
+     */
+    public WebSocketConfig(@Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler messageBrokerTaskScheduler) {
+        this.messageBrokerTaskScheduler = messageBrokerTaskScheduler;
+    }
+
     /**
      * Configures message broker for handling messages.
      * 
@@ -31,12 +90,54 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         // Enable simple broker for broadcasting to /topic
-        config.enableSimpleBroker("/topic");
+        config.enableSimpleBroker("/topic")
+                .setHeartbeatValue(new long[] { serverHeartbeat, clientHeartbeat })
+                .setTaskScheduler(messageBrokerTaskScheduler);
+
+        // Deliver each session's alerts in broadcast (sequence) order
+        config.setPreservePublishOrder(true);
 
         // Set application destination prefix for messages from clients
         config.setApplicationDestinationPrefixes("/app");
     }
 
+    /**
+     * Thread pool handling frames received from clients.
+     */
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(inboundCorePoolSize)
+                .maxPoolSize(inboundMaxPoolSize)
+                .queueCapacity(inboundQueueCapacity)
+                .keepAliveSeconds(channelKeepAliveSeconds);
+    }
+
+    /**
+     * Thread pool writing frames to clients. A thread blocked on a slow
+     * client is released once its send time limit is exceeded.
+     */
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(outboundCorePoolSize)
+                .maxPoolSize(outboundMaxPoolSize)
+                .queueCapacity(outboundQueueCapacity)
+                .keepAliveSeconds(channelKeepAliveSeconds);
+    }
+
+    /**
+     * Per-session limits: a session whose send blocks longer than the send
+     * time limit is closed; when its buffer exceeds the size limit, the
+     * slow-consumer policy applies (see {@link WebSocketBrokerConfig}).
+     */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimit)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit);
+    }
+
     /**
      * Registers STOMP endpoints for WebSocket connections.
      * 
@@ -7,6 +7,7 @@ import com.google.api.services.gmail.model.MessagePartHeader;
 import com.redalert.backend.application.exception.GmailIntegrationException;
 import com.redalert.backend.domain.model.EmailDto;
 import com.redalert.backend.domain.port.GmailPort;
+import com.redalert.backend.infrastructure.metrics.ExternalCallMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -15,7 +16,6 @@ import java.io.IOException;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -28,19 +28,23 @@ import java.util.List;
 public class GmailAdapter implements GmailPort {
 
     private final Gmail gmail;
+    private final GmailBatchFetcher batchFetcher;
+    private final ExternalCallMetrics externalCallMetrics;
     private static final String USER_ID = "me";
+    private static final List<String> METADATA_HEADERS = List.of("From", "Subject", "Date");
 
     @Override
     public List<EmailDto> searchEmails(String query, int maxResults) {
         try {
             log.info("Searching emails with query: {}", query);
 
-            ListMessagesResponse response = gmail.users()
-                    .messages()
-                    .list(USER_ID)
-                    .setQ(query)
-                    .setMaxResults((long) maxResults)
-                    .execute();
+            ListMessagesResponse response = externalCallMetrics.gmail("messages.list", ExternalCallMetrics.NO_CATEGORY,
+                    () -> gmail.users()
+                            .messages()
+                            .list(USER_ID)
+                            .setQ(query)
+                            .setMaxResults((long) maxResults)
+                            .execute());
 
             List<Message> messages = response.getMessages();
             if (messages == null || messages.isEmpty()) {
@@ -48,14 +52,18 @@ public class GmailAdapter implements GmailPort {
                 return List.of();
             }
 
-            List<EmailDto> emails = new ArrayList<>();
-            for (Message message : messages) {
-                try {
-                    EmailDto email = fetchEmailDetails(message.getId());
-                    emails.add(email);
-                } catch (Exception e) {
-                    log.error("Error fetching email details for ID: {}", message.getId(), e);
-                }
+            // Fetch all details in a single batched round-trip
+            GmailBatchFetcher.BatchFetchResult result = batchFetcher.fetchMetadata(
+                    messages.stream().map(Message::getId).toList(),
+                    METADATA_HEADERS);
+
+            List<EmailDto> emails = result.messages().stream()
+                    .map(this::toEmailDto)
+                    .toList();
+
+            if (result.hasFailures()) {
+                log.warn("Could not fetch details for {} email(s): {}", result.failures().size(),
+                        result.failures().keySet());
             }
 
             log.info("Found {} emails", emails.size());
@@ -72,11 +80,12 @@ public class GmailAdapter implements GmailPort {
         try {
             String query = String.format("from:%s is:unread", from);
 
-            ListMessagesResponse response = gmail.users()
-                    .messages()
-                    .list(USER_ID)
-                    .setQ(query)
-                    .execute();
+            ListMessagesResponse response = externalCallMetrics.gmail("messages.list", ExternalCallMetrics.NO_CATEGORY,
+                    () -> gmail.users()
+                            .messages()
+                            .list(USER_ID)
+                            .setQ(query)
+                            .execute());
 
             List<Message> messages = response.getMessages();
             int count = messages != null ? messages.size() : 0;
@@ -91,16 +100,9 @@ public class GmailAdapter implements GmailPort {
     }
 
     /**
-     * Fetches detailed information about an email.
+     * Converts a Gmail message (metadata format) to the domain email DTO.
      */
-    private EmailDto fetchEmailDetails(String messageId) throws IOException {
-        Message message = gmail.users()
-                .messages()
-                .get(USER_ID, messageId)
-                .setFormat("metadata")
-                .setMetadataHeaders(List.of("From", "Subject", "Date"))
-                .execute();
-
+    private EmailDto toEmailDto(Message message) {
         String from = getHeader(message, "From");
         String subject = getHeader(message, "Subject");
         String snippet = message.getSnippet();
@@ -116,7 +118,7 @@ public class GmailAdapter implements GmailPort {
                 message.getLabelIds().contains("UNREAD");
 
         return new EmailDto(
-                messageId,
+                message.getId(),
                 from != null ? from : "Unknown",
                 subject != null ? subject : "No Subject",
                 snippet != null ? snippet : "",
@@ -0,0 +1,142 @@
+package com.redalert.backend.infrastructure.gmail.adapter;
+
+import com.google.api.client.googleapis.batch.BatchRequest;
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.services.gmail.Gmail;
+import com.google.api.services.gmail.model.Message;
+import com.redalert.backend.infrastructure.metrics.ExternalCallMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fetches Gmail message details in batches.
+ *
+ * Uses the Google client's BatchRequest to pull up to 50 messages in a
+ * single multipart HTTP call instead of one round-trip per message.
+ * Failures are reported per message so one bad item does not fail the batch.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GmailBatchFetcher {
+
+    private final Gmail gmail;
+    private final ExternalCallMetrics externalCallMetrics;
+
+    private static final String USER_ID = "me";
+
+    /**
+     * Maximum number of calls sent in a single Gmail batch request. Gmail
+     * accepts 100, but Google recommends at most 50: larger batches trip
+     * the per-user concurrent request limit (429) on messages.get.
+     */
+    public static final int MAX_BATCH_SIZE = 50;
+
+    /**
+     * Fetches full messages (headers and MIME payload).
+     *
+     * @param messageIds IDs of the messages to fetch
+     * @return Fetched messages and per-item failures
+     */
+    public BatchFetchResult fetchFull(List<String> messageIds) {
+        return fetch(messageIds, "full", null);
+    }
+
+    /**
+     * Fetches message metadata (selected headers, labels and snippet).
+     *
+     * @param messageIds      IDs of the messages to fetch
+     * @param metadataHeaders Headers to include in the response
+     * @return Fetched messages and per-item failures
+     */
+    public BatchFetchResult fetchMetadata(List<String> messageIds, List<String> metadataHeaders) {
+        return fetch(messageIds, "metadata", metadataHeaders);
+    }
+
+    private BatchFetchResult fetch(List<String> messageIds, String format, List<String> metadataHeaders) {
+        Map<String, Message> fetched = new HashMap<>();
+        Map<String, String> failures = new LinkedHashMap<>();
+
+        for (int from = 0; from < messageIds.size(); from += MAX_BATCH_SIZE) {
+            List<String> chunk = messageIds.subList(from, Math.min(from + MAX_BATCH_SIZE, messageIds.size()));
+            fetchChunk(chunk, format, metadataHeaders, fetched, failures);
+        }
+
+        // Keep the caller's ordering
+        List<Message> messages = new ArrayList<>(fetched.size());
+        for (String messageId : messageIds) {
+            Message message = fetched.get(messageId);
+            if (message != null) {
+                messages.add(message);
+            }
+        }
+
+        log.debug("Batch fetched {} message(s) ({}), {} failure(s)", messages.size(), format, failures.size());
+        return new BatchFetchResult(messages, failures);
+    }
+
+    private void fetchChunk(List<String> chunk, String format, List<String> metadataHeaders,
+            Map<String, Message> fetched, Map<String, String> failures) {
+        try {
+            BatchRequest batch = gmail.batch();
+
+            for (String messageId : chunk) {
+                Gmail.Users.Messages.Get request = gmail.users()
+                        .messages()
+                        .get(USER_ID, messageId)
+                        .setFormat(format);
+                if (metadataHeaders != null) {
+                    request.setMetadataHeaders(metadataHeaders);
+                }
+                request.queue(batch, new JsonBatchCallback<>() {
+                    @Override
+                    public void onSuccess(Message message, HttpHeaders responseHeaders) {
+                        fetched.put(messageId, message);
+                    }
+
+                    @Override
+                    public void onFailure(GoogleJsonError error, HttpHeaders responseHeaders) {
+                        log.warn("Failed to fetch message {}: {} {}", messageId, error.getCode(), error.getMessage());
+                        failures.put(messageId, error.getCode() + " " + error.getMessage());
+                    }
+                });
+            }
+
+            externalCallMetrics.gmail("messages.get.batch", ExternalCallMetrics.NO_CATEGORY, () -> {
+                batch.execute();
+                return null;
+            });
+
+        } catch (IOException e) {
+            log.error("Batch fetch of {} message(s) failed: {}", chunk.size(), e.getMessage());
+            for (String messageId : chunk) {
+                if (!fetched.containsKey(messageId)) {
+                    failures.putIfAbsent(messageId, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Result of a batched fetch.
+     *
+     * @param messages Successfully fetched messages, in request order
+     * @param failures Error description per message ID that could not be fetched
+     */
+    public record BatchFetchResult(List<Message> messages, Map<String, String> failures) {
+
+        public boolean hasFailures() {
+            return !failures.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.redalert.backend.infrastructure.gmail.adapter;
+
+import com.google.api.services.gmail.Gmail;
+import com.google.api.services.gmail.model.ListMessagesResponse;
+import com.google.api.services.gmail.model.Message;
+import com.redalert.backend.application.exception.GmailIntegrationException;
+import com.redalert.backend.infrastructure.metrics.ExternalCallMetrics;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazily iterates over every message matching a Gmail query.
+ *
+ * Pages are listed one at a time, following nextPageToken only when the
+ * previous page has been consumed, so a large backlog is never held in
+ * memory and iteration can stop early at any point.
+ */
+public class GmailMessageIterator implements Iterator<Message> {
+
+    private static final String USER_ID = "me";
+
+    private final Gmail gmail;
+    private final String query;
+    private final long pageSize;
+    private final ExternalCallMetrics metrics;
+    private final String category;
+
+    private Iterator<Message> page = Collections.emptyIterator();
+    private String nextPageToken;
+    private boolean firstPageLoaded;
+    private long resultSizeEstimate;
+    private long listed;
+
+    /**
+     * @param metrics  Timer for the list calls
+     * @param category Category name the query belongs to (metrics tag)
+     */
+    public GmailMessageIterator(Gmail gmail, String query, long pageSize, ExternalCallMetrics metrics,
+            String category) {
+        this.gmail = gmail;
+        this.query = query;
+        this.pageSize = pageSize;
+        this.metrics = metrics;
+        this.category = category;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!page.hasNext()) {
+            if (firstPageLoaded && nextPageToken == null) {
+                return false;
+            }
+            loadNextPage();
+        }
+        return true;
+    }
+
+    @Override
+    public Message next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        listed++;
+        return page.next();
+    }
+
+    /**
+     * Gmail's estimate of the total number of matching messages, as reported
+     * with the first page. Loads the first page if needed.
+     */
+    public long getResultSizeEstimate() {
+        if (!firstPageLoaded) {
+            loadNextPage();
+        }
+        return resultSizeEstimate;
+    }
+
+    /**
+     * Number of messages returned by {@link #next()} so far.
+     */
+    public long getListed() {
+        return listed;
+    }
+
+    private void loadNextPage() {
+        try {
+            ListMessagesResponse response = metrics.gmail("messages.list", category, () -> gmail.users()
+                    .messages()
+                    .list(USER_ID)
+                    .setQ(query)
+                    .setMaxResults(pageSize)
+                    .setPageToken(nextPageToken)
+                    .execute());
+
+            if (!firstPageLoaded && response.getResultSizeEstimate() != null) {
+                resultSizeEstimate = response.getResultSizeEstimate();
+            }
+            firstPageLoaded = true;
+            nextPageToken = response.getNextPageToken();
+
+            List<Message> messages = response.getMessages();
+            page = messages != null ? messages.iterator() : Collections.emptyIterator();
+        } catch (IOException e) {
+            throw new GmailIntegrationException("Failed to list messages for query: " + query, e);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.redalert.backend.infrastructure.gmail.mime;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Single-pass HTML to plain text conversion.
+ *
+ * Walks the markup once, dropping tags, comments and the content of
+ * script/style elements, decoding common character references and
+ * collapsing whitespace as it goes. Tags are replaced by a single space,
+ * matching the previous regex based stripping.
+ */
+public final class HtmlTextExtractor {
+
+    private static final String[] RAW_TEXT_ELEMENTS = { "script", "style" };
+
+    private static final Map<String, Integer> NAMED_ENTITIES = new HashMap<>();
+
+    static {
+        String[][] entities = {
+                { "nbsp", " " }, { "amp", "&" }, { "lt", "<" }, { "gt", ">" }, { "quot", "\"" },
+                { "apos", "'" }, { "ndash", "–" }, { "mdash", "—" }, { "hellip", "…" }, { "laquo", "«" },
+                { "raquo", "»" }, { "copy", "©" }, { "reg", "®" }, { "euro", "€" }, { "ordm", "º" },
+                { "ordf", "ª" }, { "deg", "°" }, { "middot", "·" }, { "bull", "•" },
+                { "rsquo", "’" }, { "lsquo", "‘" }, { "rdquo", "”" }, { "ldquo", "“" }
+        };
+        for (String[] entity : entities) {
+            NAMED_ENTITIES.put(entity[0], entity[1].codePointAt(0));
+        }
+        // Accented letters (Latin-1), e.g. &aacute; &atilde; &ccedil;
+        String[][] accents = {
+                { "grave", "àèìòù" }, { "acute", "áéíóú" }, { "circ", "âêîôû" },
+                { "tilde", "ã  õ " }, { "uml", "äëïöü" }
+        };
+        String vowels = "aeiou";
+        for (String[] accent : accents) {
+            for (int i = 0; i < vowels.length(); i++) {
+                char letter = accent[1].charAt(i);
+                if (letter != ' ') {
+                    NAMED_ENTITIES.put(vowels.charAt(i) + accent[0], (int) letter);
+                    NAMED_ENTITIES.put(Character.toUpperCase(vowels.charAt(i)) + accent[0],
+                            (int) Character.toUpperCase(letter));
+                }
+            }
+        }
+        NAMED_ENTITIES.put("ccedil", (int) 'ç');
+        NAMED_ENTITIES.put("Ccedil", (int) 'Ç');
+        NAMED_ENTITIES.put("ntilde", (int) 'ñ');
+        NAMED_ENTITIES.put("Ntilde", (int) 'Ñ');
+    }
+
+    private HtmlTextExtractor() {
+    }
+
+    /**
+     * Extracts the visible text of an HTML document.
+     */
+    public static String extract(CharSequence html) {
+        int length = html.length();
+        StringBuilder out = new StringBuilder(Math.min(length, 1 << 16));
+        boolean pendingSpace = false;
+
+        int i = 0;
+        while (i < length) {
+            char c = html.charAt(i);
+
+            if (c == '<') {
+                int end = skipMarkup(html, i);
+                if (end > i) {
+                    pendingSpace = true;
+                    i = end;
+                    continue;
+                }
+            }
+
+            if (c == '&') {
+                int semicolon = indexOf(html, ';', i + 1, Math.min(length, i + 12));
+                if (semicolon > 0) {
+                    int decoded = decodeEntity(html, i + 1, semicolon);
+                    if (decoded >= 0) {
+                        if (Character.isWhitespace(decoded) || decoded == ' ') {
+                            pendingSpace = true;
+                        } else {
+                            pendingSpace = appendSpace(out, pendingSpace);
+                            out.appendCodePoint(decoded);
+                        }
+                        i = semicolon + 1;
+                        continue;
+                    }
+                }
+            }
+
+            if (Character.isWhitespace(c)) {
+                pendingSpace = true;
+            } else {
+                pendingSpace = appendSpace(out, pendingSpace);
+                out.append(c);
+            }
+            i++;
+        }
+
+        return out.toString();
+    }
+
+    private static boolean appendSpace(StringBuilder out, boolean pendingSpace) {
+        if (pendingSpace && !out.isEmpty()) {
+            out.append(' ');
+        }
+        return false;
+    }
+
+    /**
+     * Skips a tag, comment or raw-text element starting at {@code start}.
+     *
+     * @return Index just after the skipped markup, or {@code start} if the
+     *         '<' does not open markup
+     */
+    private static int skipMarkup(CharSequence html, int start) {
+        int length = html.length();
+        if (start + 1 >= length) {
+            return start;
+        }
+
+        char next = html.charAt(start + 1);
+        if (next == '!' && regionMatches(html, start, "<!--")) {
+            int end = indexOf(html, "-->", start + 4);
+            return end < 0 ? length : end + 3;
+        }
+        if (!Character.isLetter(next) && next != '/' && next != '!' && next != '?') {
+            return start;
+        }
+
+        int tagEnd = indexOf(html, '>', start + 1, length);
+        if (tagEnd < 0) {
+            return length;
+        }
+
+        // Skip the whole element for raw-text elements
+        for (String rawText : RAW_TEXT_ELEMENTS) {
+            if (regionMatches(html, start + 1, rawText) && isNameEnd(html, start + 1 + rawText.length())) {
+                int close = indexOf(html, "</" + rawText, tagEnd + 1);
+                if (close < 0) {
+                    return length;
+                }
+                int closeEnd = indexOf(html, '>', close, length);
+                return closeEnd < 0 ? length : closeEnd + 1;
+            }
+        }
+        return tagEnd + 1;
+    }
+
+    private static boolean isNameEnd(CharSequence html, int index) {
+        if (index >= html.length()) {
+            return true;
+        }
+        char c = html.charAt(index);
+        return c == '>' || c == '/' || Character.isWhitespace(c);
+    }
+
+    /**
+     * Decodes the character reference between '&' and ';'.
+     *
+     * @return The code point, or -1 if unknown
+     */
+    private static int decodeEntity(CharSequence html, int from, int to) {
+        if (from >= to) {
+            return -1;
+        }
+        if (html.charAt(from) == '#') {
+            try {
+                boolean hex = from + 1 < to && (html.charAt(from + 1) == 'x' || html.charAt(from + 1) == 'X');
+                int codePoint = hex
+                        ? Integer.parseInt(html, from + 2, to, 16)
+                        : Integer.parseInt(html, from + 1, to, 10);
+                return Character.isValidCodePoint(codePoint) ? codePoint : -1;
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+        Integer named = NAMED_ENTITIES.get(html.subSequence(from, to).toString());
+        return named != null ? named : -1;
+    }
+
+    private static boolean regionMatches(CharSequence html, int offset, String other) {
+        if (offset + other.length() > html.length()) {
+            return false;
+        }
+        for (int i = 0; i < other.length(); i++) {
+            if (Character.toLowerCase(html.charAt(offset + i)) != other.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(CharSequence html, char target, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (html.charAt(i) == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(CharSequence html, String target, int from) {
+        int last = html.length() - target.length();
+        for (int i = from; i <= last; i++) {
+            if (regionMatches(html, i, target)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
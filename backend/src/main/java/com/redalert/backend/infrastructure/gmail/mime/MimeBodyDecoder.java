@@ -0,0 +1,191 @@
+package com.redalert.backend.infrastructure.gmail.mime;
+
+import com.google.api.services.gmail.model.MessagePart;
+import com.google.api.services.gmail.model.MessagePartHeader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Decodes the text body of a Gmail message payload.
+ *
+ * The MIME part tree is walked once: the first text/plain part wins, and
+ * the first text/html part is used (converted to text) when there is no
+ * plain part. Part data is Base64url decoded straight into a pooled
+ * buffer and converted with the charset declared in the part's
+ * Content-Type. Bodies larger than {@code email.body.max-bytes} are
+ * truncated instead of being decoded in full.
+ */
+@Component
+@Slf4j
+public class MimeBodyDecoder {
+
+    private static final String TEXT_PLAIN = "text/plain";
+    private static final String TEXT_HTML = "text/html";
+    private static final int BUFFER_POOL_SIZE = 16;
+
+    private static final byte[] BASE64_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(BASE64_VALUES, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64_VALUES[alphabet.charAt(i)] = (byte) i;
+        }
+        // Accept both the URL-safe and the standard alphabet
+        BASE64_VALUES['-'] = 62;
+        BASE64_VALUES['+'] = 62;
+        BASE64_VALUES['_'] = 63;
+        BASE64_VALUES['/'] = 63;
+    }
+
+    private final int maxBodyBytes;
+    private final BlockingQueue<byte[]> bufferPool = new ArrayBlockingQueue<>(BUFFER_POOL_SIZE);
+
+    public MimeBodyDecoder(@Value("${email.body.max-bytes:1048576}") int maxBodyBytes) {
+        this.maxBodyBytes = Math.max(1024, maxBodyBytes);
+    }
+
+    /**
+     * Decodes the text body of a message payload.
+     *
+     * @return The body as plain text, or null if the payload has no text part
+     */
+    public String decodeBody(MessagePart payload) {
+        if (payload == null) {
+            return null;
+        }
+
+        MessagePart html = null;
+        Deque<MessagePart> pending = new ArrayDeque<>();
+        pending.push(payload);
+
+        // Depth-first, in document order
+        while (!pending.isEmpty()) {
+            MessagePart part = pending.pop();
+
+            if (hasData(part)) {
+                if (TEXT_PLAIN.equalsIgnoreCase(part.getMimeType())) {
+                    return decodePart(part);
+                }
+                if (html == null && TEXT_HTML.equalsIgnoreCase(part.getMimeType())) {
+                    html = part;
+                }
+            }
+
+            List<MessagePart> children = part.getParts();
+            if (children != null) {
+                for (int i = children.size() - 1; i >= 0; i--) {
+                    pending.push(children.get(i));
+                }
+            }
+        }
+
+        return html != null ? HtmlTextExtractor.extract(decodePart(html)).trim() : null;
+    }
+
+    private static boolean hasData(MessagePart part) {
+        return part.getBody() != null && part.getBody().getData() != null;
+    }
+
+    private String decodePart(MessagePart part) {
+        String data = part.getBody().getData();
+        int capacity = (int) Math.min(maxBodyBytes, (long) data.length() * 3 / 4 + 3);
+
+        byte[] buffer = borrowBuffer(capacity);
+        try {
+            int length = decodeBase64(data, buffer, capacity);
+            if (length == capacity && capacity == maxBodyBytes) {
+                log.warn("Message body exceeds {} bytes and was truncated", maxBodyBytes);
+            }
+            return new String(buffer, 0, length, charsetOf(part));
+        } finally {
+            releaseBuffer(buffer);
+        }
+    }
+
+    /**
+     * Decodes Base64 (URL-safe or standard) into {@code target}, stopping at
+     * padding or after {@code limit} bytes. Characters outside the alphabet
+     * are skipped.
+     *
+     * @return Number of decoded bytes
+     */
+    static int decodeBase64(String source, byte[] target, int limit) {
+        int accumulator = 0;
+        int bits = 0;
+        int length = 0;
+
+        for (int i = 0, n = source.length(); i < n && length < limit; i++) {
+            char c = source.charAt(i);
+            if (c == '=') {
+                break;
+            }
+            int value = c < 128 ? BASE64_VALUES[c] : -1;
+            if (value < 0) {
+                continue;
+            }
+
+            accumulator = (accumulator << 6) | value;
+            bits += 6;
+            if (bits >= 8) {
+                bits -= 8;
+                target[length++] = (byte) (accumulator >> bits);
+                accumulator &= (1 << bits) - 1;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Charset declared in the part's Content-Type header, UTF-8 if absent or
+     * unknown.
+     */
+    private static Charset charsetOf(MessagePart part) {
+        List<MessagePartHeader> headers = part.getHeaders();
+        if (headers == null) {
+            return StandardCharsets.UTF_8;
+        }
+
+        for (MessagePartHeader header : headers) {
+            if (!"Content-Type".equalsIgnoreCase(header.getName()) || header.getValue() == null) {
+                continue;
+            }
+            String value = header.getValue();
+            int index = value.toLowerCase(Locale.ROOT).indexOf("charset=");
+            if (index < 0) {
+                break;
+            }
+
+            int start = index + "charset=".length();
+            int end = value.indexOf(';', start);
+            String name = value.substring(start, end < 0 ? value.length() : end).trim().replace("\"", "");
+            try {
+                return Charset.forName(name);
+            } catch (IllegalArgumentException e) {
+                log.debug("Unknown charset '{}', decoding as UTF-8", name);
+                break;
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    private byte[] borrowBuffer(int capacity) {
+        byte[] buffer = bufferPool.poll();
+        return buffer != null && buffer.length >= capacity ? buffer : new byte[Math.max(capacity, 64 * 1024)];
+    }
+
+    private void releaseBuffer(byte[] buffer) {
+        bufferPool.offer(buffer);
+    }
+}
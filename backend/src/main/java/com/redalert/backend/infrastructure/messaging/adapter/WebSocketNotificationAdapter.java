@@ -1,55 +1,60 @@
 package com.redalert.backend.infrastructure.messaging.adapter;
 
+import com.redalert.backend.application.exception.NotificationException;
 import com.redalert.backend.domain.model.ClassAlertDto;
 import com.redalert.backend.domain.port.NotificationPort;
+import com.redalert.backend.infrastructure.messaging.fanout.AlertEvent;
+import com.redalert.backend.infrastructure.messaging.fanout.AlertFanout;
+import com.redalert.backend.infrastructure.messaging.fanout.LocalAlertBroadcaster;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
 /**
  * Adapter implementation for WebSocket notifications.
- * Implements NotificationPort using Spring's SimpMessagingTemplate.
+ * Implements NotificationPort on top of the cluster fan-out.
  * 
  * This adapter broadcasts alerts to all connected WebSocket clients
- * subscribed to /topic/alerts.
+ * subscribed to /topic/alerts, on every backend node (see
+ * {@link AlertFanout}).
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class WebSocketNotificationAdapter implements NotificationPort {
 
-    private final SimpMessagingTemplate messagingTemplate;
-
-    private static final String TOPIC_ALERTS = "/topic/alerts";
+    private final AlertFanout alertFanout;
 
     /**
      * Sends alert to all connected WebSocket clients.
      * 
      * @param alert The alert to broadcast
+     * @throws NotificationException if the alert could not be sent
      */
     @Override
     public void sendAlert(ClassAlertDto alert) {
-        log.info("========================================");
-        log.info("WebSocketNotificationAdapter.sendAlert() CALLED");
-        log.info("Alert Title: {}", alert.title());
-        log.info("Alert isUrgent: {}", alert.isUrgent());
-        log.info("Alert Date: {}", alert.date());
-        log.info("Topic: {}", TOPIC_ALERTS);
-        log.info("SimpMessagingTemplate: {}", messagingTemplate != null ? "INITIALIZED" : "NULL!!!");
+        sendAlert(null, alert);
+    }
+
+    /**
+     * Sends a stored alert to all connected WebSocket clients, once per
+     * client even if delivered again.
+     *
+     * @param alertId ID of the stored alert (dedup key)
+     * @param alert   The alert to broadcast
+     * @throws NotificationException if the alert could not be sent
+     */
+    @Override
+    public void sendAlert(Long alertId, ClassAlertDto alert) {
+        log.info("Sending alert '{}' (ID: {}) to topic {}", alert.title(), alertId,
+                LocalAlertBroadcaster.TOPIC_ALERTS);
 
         try {
-            log.info(">>> Calling messagingTemplate.convertAndSend()...");
-            messagingTemplate.convertAndSend(TOPIC_ALERTS, alert);
-            log.info(">>> SUCCESS! Alert sent to topic: {}", TOPIC_ALERTS);
+            alertFanout.publish(AlertEvent.of(alertId, alert));
         } catch (Exception e) {
             log.error("!!! FAILED to send alert via WebSocket !!!", e);
-            log.error("Exception class: {}", e.getClass().getName());
-            log.error("Exception message: {}", e.getMessage());
-            // Don't throw exception - notification failure shouldn't break the flow
+            // Surfaced so the outbox relay retries the delivery
+            throw new NotificationException("Failed to send alert to " + LocalAlertBroadcaster.TOPIC_ALERTS, e);
         }
-
-        log.info("WebSocketNotificationAdapter.sendAlert() FINISHED");
-        log.info("========================================");
     }
 }
@@ -0,0 +1,23 @@
+package com.redalert.backend.infrastructure.messaging.fanout;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.redalert.backend.domain.model.ClassAlertDto;
+
+import java.util.UUID;
+
+/**
+ * Alert broadcast to the WebSocket clients of every backend node.
+ *
+ * @param key     Dedup key: alert:&lt;alert ID&gt;, or a random key for alerts
+ *                that are not stored (simulations)
+ * @param alertId Alert ID (null for alerts that are not stored)
+ * @param alert   Payload sent to clients
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AlertEvent(String key, Long alertId, ClassAlertDto alert) {
+
+    public static AlertEvent of(Long alertId, ClassAlertDto alert) {
+        String key = alertId != null ? "alert:" + alertId : "adhoc:" + UUID.randomUUID();
+        return new AlertEvent(key, alertId, alert);
+    }
+}
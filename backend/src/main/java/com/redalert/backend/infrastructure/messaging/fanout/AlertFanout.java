@@ -0,0 +1,18 @@
+package com.redalert.backend.infrastructure.messaging.fanout;
+
+/**
+ * Delivers alert events to the WebSocket clients of every backend node.
+ *
+ * Implementations are selected with websocket.fanout.mode: postgres
+ * (LISTEN/NOTIFY, default) or local (this node only).
+ */
+public interface AlertFanout {
+
+    /**
+     * Broadcasts the event to this node's clients and publishes it to the
+     * other nodes.
+     *
+     * @throws RuntimeException if the event could not be broadcast or published
+     */
+    void publish(AlertEvent event);
+}
@@ -0,0 +1,88 @@
+package com.redalert.backend.infrastructure.messaging.fanout;
+
+import com.redalert.backend.domain.model.AlertReplay.ReplayedAlert;
+import com.redalert.backend.domain.port.AlertReplayPort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Ring buffer of the last alerts this node broadcast to its WebSocket
+ * clients, each with a sequence number.
+ *
+ * Sequence numbers increase by one per broadcast within an epoch, which is
+ * generated when the node starts: clients reconnecting to another node, or
+ * to a restarted one, present an unknown epoch and have to fall back to
+ * the alert history.
+ */
+@Component
+public class AlertReplayBuffer implements AlertReplayPort {
+
+    private final String epoch = UUID.randomUUID().toString();
+    private final int capacity;
+    private final Deque<ReplayedAlert> frames;
+    private long latestSequence;
+
+    public AlertReplayBuffer(@Value("${websocket.replay.buffer-size:1000}") int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.frames = new ArrayDeque<>(this.capacity);
+    }
+
+    /**
+     * Numbers an event about to be broadcast and retains it, evicting the
+     * oldest one when the buffer is full.
+     */
+    public synchronized ReplayedAlert record(AlertEvent event) {
+        ReplayedAlert frame = new ReplayedAlert(++latestSequence, event.alertId(), System.currentTimeMillis(),
+                event.alert());
+        if (frames.size() == capacity) {
+            frames.removeFirst();
+        }
+        frames.addLast(frame);
+        return frame;
+    }
+
+    /**
+     * Forgets a frame whose broadcast failed. Its sequence number is not
+     * reused.
+     */
+    public synchronized void discard(ReplayedAlert frame) {
+        frames.removeLastOccurrence(frame);
+    }
+
+    @Override
+    public String getEpoch() {
+        return epoch;
+    }
+
+    @Override
+    public synchronized long getLatestSequence() {
+        return latestSequence;
+    }
+
+    @Override
+    public synchronized Optional<List<ReplayedAlert>> findSince(String epoch, long sequence) {
+        if (!this.epoch.equals(epoch) || sequence > latestSequence) {
+            return Optional.empty();
+        }
+        long oldestRetained = frames.isEmpty() ? latestSequence + 1 : frames.getFirst().sequence();
+        if (sequence + 1 < oldestRetained) {
+            // Part of the gap was already evicted
+            return Optional.empty();
+        }
+
+        List<ReplayedAlert> missed = new ArrayList<>();
+        for (ReplayedAlert frame : frames) {
+            if (frame.sequence() > sequence) {
+                missed.add(frame);
+            }
+        }
+        return Optional.of(missed);
+    }
+}
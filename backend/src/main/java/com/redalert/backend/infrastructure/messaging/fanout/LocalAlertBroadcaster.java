@@ -0,0 +1,107 @@
+package com.redalert.backend.infrastructure.messaging.fanout;
+
+import com.redalert.backend.domain.model.AlertReplay.ReplayedAlert;
+import com.redalert.backend.infrastructure.metrics.ExternalCallMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sends alert events to the STOMP sessions of this node, at most once per
+ * event key.
+ *
+ * The same event can arrive more than once: the publishing node broadcasts
+ * it locally and then receives its own notification, and the outbox relay
+ * may deliver an alert again after a failure. The most recent keys are
+ * remembered to drop these duplicates.
+ *
+ * Each frame is numbered by the {@link AlertReplayBuffer} (alert-epoch and
+ * alert-seq headers), so reconnecting clients can ask for what they missed.
+ * Broadcasts are serialized to keep sequence numbers in send order.
+ */
+@Component
+@Slf4j
+public class LocalAlertBroadcaster {
+
+    /**
+     * Topic the alerts are sent to.
+     */
+    public static final String TOPIC_ALERTS = "/topic/alerts";
+
+    public static final String HEADER_EPOCH = "alert-epoch";
+    public static final String HEADER_SEQUENCE = "alert-seq";
+    public static final String HEADER_ALERT_ID = "alert-id";
+    public static final String HEADER_SENT_AT = "alert-sent-at";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ExternalCallMetrics externalCallMetrics;
+    private final AlertReplayBuffer replayBuffer;
+    private final Map<String, Boolean> recentKeys;
+    private final Object sendLock = new Object();
+
+    public LocalAlertBroadcaster(
+            SimpMessagingTemplate messagingTemplate,
+            ExternalCallMetrics externalCallMetrics,
+            AlertReplayBuffer replayBuffer,
+            @Value("${websocket.fanout.dedup-size:10000}") int dedupSize) {
+        this.messagingTemplate = messagingTemplate;
+        this.externalCallMetrics = externalCallMetrics;
+        this.replayBuffer = replayBuffer;
+        int maxKeys = Math.max(1, dedupSize);
+        this.recentKeys = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > maxKeys;
+            }
+        };
+    }
+
+    /**
+     * Sends the event to this node's clients unless it was already sent.
+     *
+     * @return false if the event was a duplicate
+     */
+    public boolean broadcast(AlertEvent event) {
+        synchronized (recentKeys) {
+            if (recentKeys.putIfAbsent(event.key(), Boolean.TRUE) != null) {
+                log.debug("Dropping duplicate alert event {}", event.key());
+                return false;
+            }
+        }
+        try {
+            synchronized (sendLock) {
+                ReplayedAlert frame = replayBuffer.record(event);
+                try {
+                    externalCallMetrics.websocket(TOPIC_ALERTS,
+                            () -> messagingTemplate.convertAndSend(TOPIC_ALERTS, event.alert(), headers(frame)));
+                } catch (RuntimeException e) {
+                    replayBuffer.discard(frame);
+                    throw e;
+                }
+            }
+            return true;
+        } catch (RuntimeException e) {
+            // Not sent: let a retry through
+            synchronized (recentKeys) {
+                recentKeys.remove(event.key());
+            }
+            throw e;
+        }
+    }
+
+    private Map<String, Object> headers(ReplayedAlert frame) {
+        Map<String, Object> headers = new HashMap<>();
+        headers.put(HEADER_EPOCH, replayBuffer.getEpoch());
+        headers.put(HEADER_SEQUENCE, frame.sequence());
+        headers.put(HEADER_SENT_AT, frame.sentAt());
+        if (frame.alertId() != null) {
+            headers.put(HEADER_ALERT_ID, frame.alertId());
+        }
+        return headers;
+    }
+}
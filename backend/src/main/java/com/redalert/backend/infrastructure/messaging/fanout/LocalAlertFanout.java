@@ -0,0 +1,21 @@
+package com.redalert.backend.infrastructure.messaging.fanout;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fan-out for a single node: events only reach this node's clients.
+ */
+@Component
+@ConditionalOnProperty(name = "websocket.fanout.mode", havingValue = "local")
+@RequiredArgsConstructor
+public class LocalAlertFanout implements AlertFanout {
+
+    private final LocalAlertBroadcaster broadcaster;
+
+    @Override
+    public void publish(AlertEvent event) {
+        broadcaster.broadcast(event);
+    }
+}
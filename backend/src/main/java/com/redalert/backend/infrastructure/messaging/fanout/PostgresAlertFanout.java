@@ -0,0 +1,133 @@
+package com.redalert.backend.infrastructure.messaging.fanout;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redalert.backend.infrastructure.messaging.notify.PostgresChannelListener;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Fans alert events out to every backend node with Postgres LISTEN/NOTIFY.
+ *
+ * The publishing node broadcasts an event to its own clients, then sends it
+ * on the redalert_alerts channel. Every node listens on it (see
+ * {@link PostgresChannelListener}) and rebroadcasts what it receives to its
+ * local STOMP sessions; {@link LocalAlertBroadcaster} drops the echo of the
+ * node's own events and repeated deliveries of the same alert.
+ *
+ * NOTIFY payloads are limited to 8000 bytes: larger events are stored in
+ * alert_fanout_events and the notification carries only their ID. The
+ * listener reconnects after connection failures; events notified while a
+ * node is disconnected do not reach its clients.
+ */
+@Component
+@ConditionalOnProperty(name = "websocket.fanout.mode", havingValue = "postgres", matchIfMissing = true)
+@Slf4j
+public class PostgresAlertFanout implements AlertFanout {
+
+    private static final String CHANNEL = "redalert_alerts";
+    private static final String REFERENCE_PREFIX = "ref:";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final LocalAlertBroadcaster broadcaster;
+    private final int maxNotifyBytes;
+    private final long retentionMs;
+    private final PostgresChannelListener listener;
+
+    public PostgresAlertFanout(
+            JdbcTemplate jdbcTemplate,
+            DataSourceProperties dataSourceProperties,
+            ObjectMapper objectMapper,
+            LocalAlertBroadcaster broadcaster,
+            @Value("${websocket.fanout.max-notify-bytes:7900}") int maxNotifyBytes,
+            @Value("${websocket.fanout.reconnect-delay:5000}") long reconnectDelayMs,
+            @Value("${websocket.fanout.retention:3600000}") long retentionMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.broadcaster = broadcaster;
+        this.maxNotifyBytes = Math.min(maxNotifyBytes, 7999);
+        this.retentionMs = retentionMs;
+        this.listener = new PostgresChannelListener(CHANNEL, dataSourceProperties, reconnectDelayMs, this::receive);
+    }
+
+    /**
+     * Starts listening for events of the other nodes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        listener.start();
+    }
+
+    @Override
+    public void publish(AlertEvent event) {
+        broadcaster.broadcast(event);
+
+        String json = toJson(event);
+        String payload = json.getBytes(StandardCharsets.UTF_8).length <= maxNotifyBytes
+                ? json
+                : REFERENCE_PREFIX + jdbcTemplate.queryForObject(
+                        "INSERT INTO alert_fanout_events (payload) VALUES (?) RETURNING id", Long.class, json);
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, payload);
+    }
+
+    /**
+     * Purges stored events every node has had time to read.
+     */
+    @Scheduled(fixedDelayString = "${websocket.fanout.purge-interval:600000}")
+    public void purgeStoredEvents() {
+        int deleted = jdbcTemplate.update(
+                "DELETE FROM alert_fanout_events WHERE created_at < now() - make_interval(secs => ? / 1000.0)",
+                retentionMs);
+        if (deleted > 0) {
+            log.debug("Purged {} stored alert event(s)", deleted);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        listener.stop();
+    }
+
+    private void receive(String payload) {
+        try {
+            String json = payload.startsWith(REFERENCE_PREFIX) ? loadStored(payload) : payload;
+            if (json == null) {
+                return;
+            }
+            broadcaster.broadcast(objectMapper.readValue(json, AlertEvent.class));
+        } catch (Exception e) {
+            log.error("Failed to rebroadcast alert event", e);
+        }
+    }
+
+    private String loadStored(String payload) {
+        long id = Long.parseLong(payload.substring(REFERENCE_PREFIX.length()));
+        List<String> stored = jdbcTemplate.queryForList("SELECT payload FROM alert_fanout_events WHERE id = ?",
+                String.class, id);
+        if (stored.isEmpty()) {
+            log.warn("Stored alert event {} not found (purged?)", id);
+            return null;
+        }
+        return stored.get(0);
+    }
+
+    private String toJson(AlertEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize alert event " + event.key(), e);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.redalert.backend.infrastructure.messaging.notify;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Consumer;
+
+/**
+ * Listens on a Postgres NOTIFY channel on a dedicated connection (outside
+ * the pool) and hands each payload to a consumer, on a platform daemon
+ * thread. Reconnects after connection failures; notifications sent while
+ * disconnected are lost.
+ */
+@Slf4j
+public class PostgresChannelListener {
+
+    private static final int NOTIFICATION_WAIT_MS = 5000;
+
+    private final String channel;
+    private final DataSourceProperties dataSourceProperties;
+    private final long reconnectDelayMs;
+    private final Consumer<String> consumer;
+
+    private volatile boolean running = true;
+    private volatile Connection connection;
+    private Thread thread;
+
+    /**
+     * @param channel  Channel name (a plain identifier, used unquoted)
+     * @param consumer Receives each payload; exceptions are logged
+     */
+    public PostgresChannelListener(String channel, DataSourceProperties dataSourceProperties, long reconnectDelayMs,
+            Consumer<String> consumer) {
+        this.channel = channel;
+        this.dataSourceProperties = dataSourceProperties;
+        this.reconnectDelayMs = reconnectDelayMs;
+        this.consumer = consumer;
+    }
+
+    public void start() {
+        thread = Thread.ofPlatform().name(channel + "-listener").daemon().start(this::listen);
+    }
+
+    public void stop() {
+        running = false;
+        Connection current = connection;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (SQLException e) {
+                log.debug("Error closing the {} listener connection: {}", channel, e.getMessage());
+            }
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection current = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                connection = current;
+                try (Statement statement = current.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                log.info("Listening on channel {}", channel);
+
+                PGConnection pgConnection = current.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(NOTIFICATION_WAIT_MS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Listener on channel {} disconnected, reconnecting in {} ms: {}", channel,
+                        reconnectDelayMs, e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            } finally {
+                connection = null;
+            }
+        }
+    }
+
+    private void receive(String payload) {
+        try {
+            consumer.accept(payload);
+        } catch (Exception e) {
+            log.error("Failed to handle notification on channel {}", channel, e);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.redalert.backend.infrastructure.messaging.notify;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redalert.backend.domain.model.PollTrigger;
+import com.redalert.backend.domain.port.PollTriggerPort;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Forwards polling triggers between nodes with Postgres NOTIFY on the
+ * redalert_poll_triggers channel.
+ *
+ * Triggers are stamped with this instance's ID; the ones received from
+ * other nodes are published as {@link PollTrigger} application events, and
+ * the node's own echo is ignored.
+ */
+@Component
+@Slf4j
+public class PostgresPollTriggerAdapter implements PollTriggerPort {
+
+    private static final String CHANNEL = "redalert_poll_triggers";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PostgresChannelListener listener;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public PostgresPollTriggerAdapter(
+            JdbcTemplate jdbcTemplate,
+            DataSourceProperties dataSourceProperties,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${email.polling.trigger.reconnect-delay:5000}") long reconnectDelayMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.listener = new PostgresChannelListener(CHANNEL, dataSourceProperties, reconnectDelayMs, this::receive);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        listener.stop();
+    }
+
+    @Override
+    public void forward(PollTrigger trigger) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(new Envelope(instanceId, trigger));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize poll trigger " + trigger, e);
+        }
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, payload);
+        log.debug("Forwarded poll trigger {} to the other nodes", trigger);
+    }
+
+    private void receive(String payload) {
+        Envelope envelope;
+        try {
+            envelope = objectMapper.readValue(payload, Envelope.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed poll trigger: {}", e.getMessage());
+            return;
+        }
+        if (instanceId.equals(envelope.origin())) {
+            return;
+        }
+        log.debug("Received poll trigger {} from another node", envelope.trigger());
+        eventPublisher.publishEvent(envelope.trigger());
+    }
+
+    /**
+     * NOTIFY payload: the trigger and the instance that sent it.
+     */
+    record Envelope(String origin, PollTrigger trigger) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.redalert.backend.infrastructure.messaging.websocket;
+
+/**
+ * What happens to a WebSocket session whose send buffer exceeds its limit.
+ */
+public enum SlowConsumerPolicy {
+
+    /**
+     * Drop the oldest buffered frames until the buffer fits the limit. The
+     * client is not told and does not notice the missing alerts.
+     */
+    DROP,
+
+    /**
+     * Close the session with status 1011 (SESSION_NOT_RELIABLE). The client
+     * reconnects and replays the alerts it missed (default).
+     */
+    DISCONNECT
+}
@@ -0,0 +1,159 @@
+package com.redalert.backend.infrastructure.messaging.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Buffers the frames sent to a WebSocket session while a send is in
+ * progress, so a slow client only holds up one outbound channel thread.
+ *
+ * Same model as Spring's ConcurrentWebSocketSessionDecorator, with counters
+ * for dropped frames and disconnects: when the buffer exceeds its limit the
+ * {@link SlowConsumerPolicy} either drops the oldest frames or closes the
+ * session. A send blocked for longer than the send time limit always
+ * closes the session, as the client is not reading at all.
+ */
+public class SlowConsumerSessionDecorator extends WebSocketSessionDecorator {
+
+    private final int sendTimeLimit;
+    private final int bufferSizeLimit;
+    private final SlowConsumerPolicy policy;
+    private final Counter droppedFrames;
+    private final Counter disconnects;
+
+    private final Queue<WebSocketMessage<?>> buffer = new LinkedBlockingQueue<>();
+    private final AtomicInteger bufferSize = new AtomicInteger();
+    private final Lock flushLock = new ReentrantLock();
+    private final Lock limitLock = new ReentrantLock();
+
+    private volatile long sendStartTime;
+    private volatile boolean limitExceeded;
+    private volatile boolean closing;
+
+    /**
+     * @param sendTimeLimit   Maximum time (ms) a single send may block
+     * @param bufferSizeLimit Maximum bytes buffered while a send is in progress
+     * @param droppedFrames   Incremented for each frame dropped by the DROP policy
+     * @param disconnects     Incremented for each session closed for exceeding a limit
+     */
+    public SlowConsumerSessionDecorator(WebSocketSession session, int sendTimeLimit, int bufferSizeLimit,
+            SlowConsumerPolicy policy, Counter droppedFrames, Counter disconnects) {
+        super(session);
+        this.sendTimeLimit = sendTimeLimit;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.policy = policy;
+        this.droppedFrames = droppedFrames;
+        this.disconnects = disconnects;
+    }
+
+    /**
+     * Bytes currently waiting in the send buffer.
+     */
+    public int getBufferSize() {
+        return bufferSize.get();
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        if (shouldNotSend()) {
+            return;
+        }
+
+        buffer.add(message);
+        bufferSize.addAndGet(message.getPayloadLength());
+
+        do {
+            if (!tryFlushBuffer()) {
+                // Another thread is sending: leave the frame buffered
+                checkLimits();
+                break;
+            }
+        } while (!buffer.isEmpty() && !shouldNotSend());
+    }
+
+    @Override
+    public void close(CloseStatus status) throws IOException {
+        if (closing) {
+            return;
+        }
+        closing = true;
+        super.close(status);
+    }
+
+    private boolean tryFlushBuffer() throws IOException {
+        if (!flushLock.tryLock()) {
+            return false;
+        }
+        try {
+            WebSocketMessage<?> message;
+            // Check before polling so a frame is never taken off the buffer and then discarded
+            while (!shouldNotSend() && (message = buffer.poll()) != null) {
+                bufferSize.addAndGet(-message.getPayloadLength());
+                sendStartTime = System.currentTimeMillis();
+                getDelegate().sendMessage(message);
+                sendStartTime = 0;
+            }
+            return true;
+        } finally {
+            sendStartTime = 0;
+            flushLock.unlock();
+        }
+    }
+
+    private void checkLimits() {
+        if (shouldNotSend() || !limitLock.tryLock()) {
+            return;
+        }
+        try {
+            long sendTime = sendStartTime > 0 ? System.currentTimeMillis() - sendStartTime : 0;
+            if (sendTime > sendTimeLimit) {
+                disconnect(String.format("Send time %d (ms) for session '%s' exceeded the limit %d",
+                        sendTime, getId(), sendTimeLimit));
+            } else if (bufferSize.get() > bufferSizeLimit) {
+                if (policy == SlowConsumerPolicy.DISCONNECT) {
+                    disconnect(String.format("Buffer size %d bytes for session '%s' exceeded the limit %d",
+                            bufferSize.get(), getId(), bufferSizeLimit));
+                } else {
+                    dropOldest();
+                }
+            }
+        } finally {
+            limitLock.unlock();
+        }
+    }
+
+    private void dropOldest() {
+        int dropped = 0;
+        while (bufferSize.get() > bufferSizeLimit) {
+            WebSocketMessage<?> message = buffer.poll();
+            if (message == null) {
+                break;
+            }
+            bufferSize.addAndGet(-message.getPayloadLength());
+            dropped++;
+        }
+        droppedFrames.increment(dropped);
+    }
+
+    private void disconnect(String reason) {
+        limitExceeded = true;
+        disconnects.increment();
+        // The sub-protocol handler closes the session with this status
+        throw new SessionLimitExceededException(reason, CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    private boolean shouldNotSend() {
+        return limitExceeded || closing;
+    }
+}
@@ -0,0 +1,53 @@
+package com.redalert.backend.infrastructure.messaging.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+/**
+ * STOMP sub-protocol handler whose sessions apply a {@link SlowConsumerPolicy}
+ * when their send buffer fills up (see {@link SlowConsumerSessionDecorator}).
+ *
+ * Send time and buffer limits are the ones configured on the WebSocket
+ * transport (websocket.transport).
+ */
+public class SlowConsumerWebSocketHandler extends SubProtocolWebSocketHandler {
+
+    private final SlowConsumerPolicy policy;
+    private final Counter droppedFrames;
+    private final Counter disconnects;
+
+    public SlowConsumerWebSocketHandler(MessageChannel clientInboundChannel,
+            SubscribableChannel clientOutboundChannel, SlowConsumerPolicy policy, MeterRegistry meterRegistry) {
+        super(clientInboundChannel, clientOutboundChannel);
+        this.policy = policy;
+        this.droppedFrames = Counter.builder("redalert.websocket.frames.dropped")
+                .description("Frames dropped from the send buffer of slow WebSocket clients")
+                .register(meterRegistry);
+        this.disconnects = Counter.builder("redalert.websocket.sessions.disconnected")
+                .tag("reason", "slow-consumer")
+                .description("WebSocket sessions closed for exceeding their send time or buffer limit")
+                .register(meterRegistry);
+    }
+
+    public SlowConsumerPolicy getPolicy() {
+        return policy;
+    }
+
+    public long getDroppedFrames() {
+        return (long) droppedFrames.count();
+    }
+
+    public long getDisconnects() {
+        return (long) disconnects.count();
+    }
+
+    @Override
+    protected WebSocketSession decorateSession(WebSocketSession session) {
+        return new SlowConsumerSessionDecorator(session, getSendTimeLimit(), getSendBufferSizeLimit(), policy,
+                droppedFrames, disconnects);
+    }
+}
@@ -0,0 +1,24 @@
+package com.redalert.backend.infrastructure.messaging.websocket;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint exposing the STOMP endpoint's settings (heartbeats,
+ * send limits, channel pools) and current state.
+ * Available at /actuator/websocket.
+ */
+@Component
+@Endpoint(id = "websocket")
+@RequiredArgsConstructor
+public class WebSocketEndpoint {
+
+    private final WebSocketMetrics webSocketMetrics;
+
+    @ReadOperation
+    public WebSocketMetrics.Snapshot websocket() {
+        return webSocketMetrics.snapshot();
+    }
+}
@@ -0,0 +1,110 @@
+package com.redalert.backend.infrastructure.messaging.websocket;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+/**
+ * Metrics of the STOMP endpoint: open sessions, client channel thread pools
+ * and slow-consumer handling (frames dropped and sessions closed are
+ * counted by {@link SlowConsumerWebSocketHandler}).
+ */
+@Component
+public class WebSocketMetrics {
+
+    private static final String INBOUND = "inbound";
+    private static final String OUTBOUND = "outbound";
+
+    private final SubProtocolWebSocketHandler handler;
+    private final ThreadPoolTaskExecutor inboundExecutor;
+    private final ThreadPoolTaskExecutor outboundExecutor;
+    private final long serverHeartbeat;
+    private final long clientHeartbeat;
+
+    public WebSocketMetrics(
+            @Qualifier("subProtocolWebSocketHandler") WebSocketHandler subProtocolWebSocketHandler,
+            @Qualifier("clientInboundChannelExecutor") TaskExecutor clientInboundChannelExecutor,
+            @Qualifier("clientOutboundChannelExecutor") TaskExecutor clientOutboundChannelExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${websocket.heartbeat.server:10000}") long serverHeartbeat,
+            @Value("${websocket.heartbeat.client:10000}") long clientHeartbeat) {
+        this.handler = (SubProtocolWebSocketHandler) WebSocketHandlerDecorator.unwrap(subProtocolWebSocketHandler);
+        this.inboundExecutor = (ThreadPoolTaskExecutor) clientInboundChannelExecutor;
+        this.outboundExecutor = (ThreadPoolTaskExecutor) clientOutboundChannelExecutor;
+        this.serverHeartbeat = serverHeartbeat;
+        this.clientHeartbeat = clientHeartbeat;
+
+        Gauge.builder("redalert.websocket.sessions", handler, h -> h.getStats().getTotalSessions())
+                .description("Open WebSocket (and SockJS) sessions on this node")
+                .register(meterRegistry);
+        registerChannel(INBOUND, inboundExecutor, meterRegistry);
+        registerChannel(OUTBOUND, outboundExecutor, meterRegistry);
+    }
+
+    /**
+     * Current settings and state of the STOMP endpoint.
+     */
+    public Snapshot snapshot() {
+        SubProtocolWebSocketHandler.Stats stats = handler.getStats();
+        SlowConsumerWebSocketHandler slowConsumer = handler instanceof SlowConsumerWebSocketHandler h ? h : null;
+        return new Snapshot(
+                stats.getTotalSessions(),
+                stats.getLimitExceededSessions(),
+                new Heartbeat(serverHeartbeat, clientHeartbeat),
+                new Limits(handler.getSendTimeLimit(), handler.getSendBufferSizeLimit(),
+                        slowConsumer != null ? slowConsumer.getPolicy() : null),
+                slowConsumer != null ? slowConsumer.getDroppedFrames() : 0,
+                slowConsumer != null ? slowConsumer.getDisconnects() : 0,
+                channel(inboundExecutor),
+                channel(outboundExecutor));
+    }
+
+    private static void registerChannel(String name, ThreadPoolTaskExecutor executor, MeterRegistry meterRegistry) {
+        Gauge.builder("redalert.websocket.channel.queue.depth", executor,
+                        e -> e.getThreadPoolExecutor().getQueue().size())
+                .tag("channel", name)
+                .description("Frames waiting for a client channel thread")
+                .register(meterRegistry);
+        Gauge.builder("redalert.websocket.channel.threads.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .tag("channel", name)
+                .description("Client channel threads handling a frame")
+                .register(meterRegistry);
+    }
+
+    private static Channel channel(ThreadPoolTaskExecutor executor) {
+        return new Channel(executor.getCorePoolSize(), executor.getMaxPoolSize(), executor.getPoolSize(),
+                executor.getActiveCount(), executor.getQueueCapacity(),
+                executor.getThreadPoolExecutor().getQueue().size());
+    }
+
+    public record Snapshot(
+            int sessions,
+            int limitExceededSessions,
+            Heartbeat heartbeat,
+            Limits limits,
+            long droppedFrames,
+            long slowConsumerDisconnects,
+            Channel inboundChannel,
+            Channel outboundChannel) {
+    }
+
+    /**
+     * Heartbeat intervals in ms (0 = disabled).
+     */
+    public record Heartbeat(long serverMs, long clientMs) {
+    }
+
+    public record Limits(int sendTimeLimitMs, int sendBufferSizeLimitBytes, SlowConsumerPolicy slowConsumerPolicy) {
+    }
+
+    public record Channel(int corePoolSize, int maxPoolSize, int poolSize, int activeThreads, int queueCapacity,
+            int queueDepth) {
+    }
+}
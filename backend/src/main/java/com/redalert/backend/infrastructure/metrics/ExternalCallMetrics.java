@@ -0,0 +1,127 @@
+package com.redalert.backend.infrastructure.metrics;
+
+import com.redalert.backend.infrastructure.tracing.TracingSupport;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Times and traces calls to external systems (Gmail, Google Calendar, AI
+ * providers, WebSocket clients).
+ *
+ * Each system has its own timer with a fixed set of tags, plus outcome
+ * (success/failure) and exception, so success and failure counts come with
+ * the latency. Percentiles and histogram buckets are configured under
+ * management.metrics.distribution. Each call also gets a tracing span
+ * (e.g. gmail.messages.list) under the current span.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExternalCallMetrics {
+
+    /**
+     * Tag value for calls not tied to a single category.
+     */
+    public static final String NO_CATEGORY = "none";
+
+    private static final String OUTCOME_SUCCESS = "success";
+    private static final String OUTCOME_FAILURE = "failure";
+    private static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final TracingSupport tracing;
+
+    /**
+     * Times a Gmail API call.
+     *
+     * @param operation API method (e.g. messages.list)
+     * @param category  Category the call was made for, or {@link #NO_CATEGORY}
+     */
+    public <T, E extends Exception> T gmail(String operation, String category, ExternalCall<T, E> call) throws E {
+        return record("redalert.gmail.calls", "Gmail API calls", "gmail." + operation,
+                Tags.of("operation", operation, "category", category != null ? category : NO_CATEGORY), call);
+    }
+
+    /**
+     * Times a Google Calendar API call.
+     *
+     * @param operation API method (e.g. events.insert)
+     */
+    public <T, E extends Exception> T calendar(String operation, ExternalCall<T, E> call) throws E {
+        return record("redalert.calendar.calls", "Google Calendar API calls", "calendar." + operation,
+                Tags.of("operation", operation), call);
+    }
+
+    /**
+     * Times an AI analysis request.
+     *
+     * @param provider AI provider (e.g. ollama, gemini)
+     */
+    public <T, E extends Exception> T ai(String provider, ExternalCall<T, E> call) throws E {
+        return record("redalert.ai.calls", "AI analysis requests", "ai.analyze", Tags.of("provider", provider),
+                call);
+    }
+
+    /**
+     * Times a message sent to WebSocket subscribers.
+     *
+     * @param destination STOMP destination
+     */
+    public <E extends Exception> void websocket(String destination, ExternalRunnable<E> call) throws E {
+        record("redalert.websocket.sends", "Messages sent to WebSocket subscribers", "websocket.send",
+                Tags.of("destination", destination), () -> {
+                    call.run();
+                    return null;
+                });
+    }
+
+    private <T, E extends Exception> T record(String name, String description, String spanName, Tags tags,
+            ExternalCall<T, E> call) throws E {
+        Map<String, String> spanTags = new LinkedHashMap<>();
+        tags.forEach(tag -> spanTags.put(tag.getKey(), tag.getValue()));
+        return tracing.inSpan(spanName, spanTags, () -> timed(name, description, tags, call));
+    }
+
+    private <T, E extends Exception> T timed(String name, String description, Tags tags,
+            ExternalCall<T, E> call) throws E {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = OUTCOME_FAILURE;
+        String exception = NO_EXCEPTION;
+        try {
+            T result = call.call();
+            outcome = OUTCOME_SUCCESS;
+            return result;
+        } catch (Exception e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .description(description)
+                    .tags(tags)
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * External call returning a value.
+     */
+    @FunctionalInterface
+    public interface ExternalCall<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    /**
+     * External call without a result.
+     */
+    @FunctionalInterface
+    public interface ExternalRunnable<E extends Exception> {
+        void run() throws E;
+    }
+}
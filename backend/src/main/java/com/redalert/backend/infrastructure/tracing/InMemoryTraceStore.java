@@ -0,0 +1,220 @@
+package com.redalert.backend.infrastructure.tracing;
+
+import com.redalert.backend.domain.model.TraceSpan;
+import com.redalert.backend.domain.model.TraceView;
+import com.redalert.backend.domain.port.TraceQueryPort;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Span exporter that keeps the most recent traces in memory so they can be
+ * queried locally (see {@link TraceQueryPort}).
+ *
+ * Traces are indexed by the Gmail message IDs tagged on their spans. The
+ * oldest trace is evicted once the configured number of traces is reached,
+ * and spans beyond the per-trace limit are dropped.
+ */
+@Component
+public class InMemoryTraceStore implements SpanExporter, TraceQueryPort {
+
+    private static final double NANOS_PER_MS = 1_000_000.0;
+
+    private final int maxTraces;
+    private final int maxSpansPerTrace;
+
+    private final Map<String, StoredTrace> traces;
+    private final Map<String, Set<String>> traceIdsByMessageId = new HashMap<>();
+
+    public InMemoryTraceStore(
+            @Value("${tracing.store.max-traces:500}") int maxTraces,
+            @Value("${tracing.store.max-spans-per-trace:1000}") int maxSpansPerTrace) {
+        this.maxTraces = Math.max(1, maxTraces);
+        this.maxSpansPerTrace = Math.max(1, maxSpansPerTrace);
+        this.traces = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredTrace> eldest) {
+                if (size() <= InMemoryTraceStore.this.maxTraces) {
+                    return false;
+                }
+                unindex(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        for (SpanData data : spans) {
+            TraceSpan span = toTraceSpan(data);
+            StoredTrace trace = traces.computeIfAbsent(span.traceId(), id -> new StoredTrace());
+            if (trace.spans.size() >= maxSpansPerTrace) {
+                continue;
+            }
+            trace.spans.add(span);
+            index(span, trace);
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public synchronized List<TraceView> findByMessageId(String messageId) {
+        Set<String> traceIds = new LinkedHashSet<>(traceIdsByMessageId.getOrDefault(messageId, Set.of()));
+
+        // Include the traces of batches the message was handled in
+        for (String traceId : List.copyOf(traceIds)) {
+            StoredTrace trace = traces.get(traceId);
+            if (trace != null) {
+                trace.spans.stream()
+                        .map(span -> span.tags().get(TracingSupport.TAG_BATCH_TRACE_ID))
+                        .filter(batchTraceId -> batchTraceId != null && traces.containsKey(batchTraceId))
+                        .forEach(traceIds::add);
+            }
+        }
+
+        return traceIds.stream()
+                .map(traceId -> toView(traceId, traces.get(traceId)))
+                .sorted(Comparator.comparing(TraceView::startedAt))
+                .toList();
+    }
+
+    @Override
+    public synchronized Optional<TraceView> findByTraceId(String traceId) {
+        return Optional.ofNullable(traces.get(traceId)).map(trace -> toView(traceId, trace));
+    }
+
+    @Override
+    public synchronized List<TraceView> findSlowest(int limit, String spanName) {
+        return traces.entrySet().stream()
+                .filter(entry -> spanName == null
+                        || entry.getValue().spans.stream().anyMatch(span -> span.name().equals(spanName)))
+                .map(entry -> toView(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingDouble(TraceView::durationMs).reversed())
+                .limit(Math.max(0, limit))
+                .toList();
+    }
+
+    private void index(TraceSpan span, StoredTrace trace) {
+        String messageId = span.tags().get(TracingSupport.TAG_MESSAGE_ID);
+        if (messageId != null) {
+            addMessageId(messageId, span.traceId(), trace);
+        }
+        String messageIds = span.tags().get(TracingSupport.TAG_MESSAGE_IDS);
+        if (messageIds != null) {
+            for (String id : messageIds.split(",")) {
+                addMessageId(id.trim(), span.traceId(), trace);
+            }
+        }
+    }
+
+    private void addMessageId(String messageId, String traceId, StoredTrace trace) {
+        if (trace.messageIds.add(messageId)) {
+            traceIdsByMessageId.computeIfAbsent(messageId, id -> new LinkedHashSet<>()).add(traceId);
+        }
+    }
+
+    private void unindex(String traceId, StoredTrace trace) {
+        for (String messageId : trace.messageIds) {
+            Set<String> traceIds = traceIdsByMessageId.get(messageId);
+            if (traceIds != null) {
+                traceIds.remove(traceId);
+                if (traceIds.isEmpty()) {
+                    traceIdsByMessageId.remove(messageId);
+                }
+            }
+        }
+    }
+
+    private static TraceView toView(String traceId, StoredTrace trace) {
+        List<TraceSpan> spans = trace.spans.stream()
+                .sorted(Comparator.comparing(TraceSpan::startedAt))
+                .toList();
+
+        Instant start = spans.get(0).startedAt();
+        Instant end = spans.stream()
+                .map(span -> span.startedAt().plusNanos((long) (span.durationMs() * NANOS_PER_MS)))
+                .max(Comparator.naturalOrder())
+                .orElse(start);
+        String name = spans.stream()
+                .filter(span -> span.parentSpanId() == null)
+                .findFirst()
+                .orElse(spans.get(0))
+                .name();
+
+        return new TraceView(traceId, name, start, Duration.between(start, end).toNanos() / NANOS_PER_MS,
+                List.copyOf(trace.messageIds), selfTimeByName(spans), spans);
+    }
+
+    /**
+     * Time spent in each span name excluding direct children, largest first.
+     */
+    private static Map<String, Double> selfTimeByName(List<TraceSpan> spans) {
+        Map<String, Double> childTime = new HashMap<>();
+        for (TraceSpan span : spans) {
+            if (span.parentSpanId() != null) {
+                childTime.merge(span.parentSpanId(), span.durationMs(), Double::sum);
+            }
+        }
+
+        Map<String, Double> selfTime = new HashMap<>();
+        for (TraceSpan span : spans) {
+            double self = Math.max(0, span.durationMs() - childTime.getOrDefault(span.spanId(), 0.0));
+            selfTime.merge(span.name(), self, Double::sum);
+        }
+
+        Map<String, Double> sorted = new LinkedHashMap<>();
+        selfTime.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                .forEach(entry -> sorted.put(entry.getKey(), Math.round(entry.getValue() * 1000) / 1000.0));
+        return sorted;
+    }
+
+    private static TraceSpan toTraceSpan(SpanData data) {
+        Map<String, String> tags = new LinkedHashMap<>();
+        data.getAttributes().forEach((key, value) -> tags.put(key.getKey(), String.valueOf(value)));
+
+        return new TraceSpan(
+                data.getTraceId(),
+                data.getSpanId(),
+                data.getParentSpanContext().isValid() ? data.getParentSpanId() : null,
+                data.getName(),
+                Instant.ofEpochSecond(0, data.getStartEpochNanos()),
+                (data.getEndEpochNanos() - data.getStartEpochNanos()) / NANOS_PER_MS,
+                data.getStatus().getStatusCode() == StatusCode.ERROR,
+                tags);
+    }
+
+    /**
+     * Spans received so far for one trace.
+     */
+    private static final class StoredTrace {
+        private final List<TraceSpan> spans = new ArrayList<>();
+        private final Set<String> messageIds = new LinkedHashSet<>();
+    }
+}
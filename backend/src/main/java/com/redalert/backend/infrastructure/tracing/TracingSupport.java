@@ -0,0 +1,115 @@
+package com.redalert.backend.infrastructure.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Opens tracing spans around units of work and carries the current span
+ * across threads.
+ *
+ * Falls back to a no-op tracer when tracing is disabled.
+ */
+@Component
+public class TracingSupport {
+
+    /**
+     * Tag holding the Gmail message ID a span belongs to.
+     */
+    public static final String TAG_MESSAGE_ID = "gmail.message.id";
+
+    /**
+     * Tag holding the Gmail message IDs handled by a batch span.
+     */
+    public static final String TAG_MESSAGE_IDS = "gmail.message.ids";
+
+    /**
+     * Tag pointing a per-message span to the trace of the batch it was
+     * handled in.
+     */
+    public static final String TAG_BATCH_TRACE_ID = "batch.trace.id";
+
+    private final Tracer tracer;
+
+    public TracingSupport(ObjectProvider<Tracer> tracer) {
+        this.tracer = tracer.getIfAvailable(() -> Tracer.NOOP);
+    }
+
+    /**
+     * Runs the call in a new span, child of the current span.
+     */
+    public <T, E extends Exception> T inSpan(String name, Map<String, String> tags, SpanCall<T, E> call) throws E {
+        Span span = startSpan(name, null);
+        tags.forEach(span::tag);
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return call.call();
+        } catch (Exception e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Starts a span that the caller ends.
+     *
+     * @param parent Parent span, or null for a child of the current span
+     *               (a new trace if there is none)
+     */
+    public Span startSpan(String name, Span parent) {
+        Span span = parent != null ? tracer.nextSpan(parent) : tracer.nextSpan();
+        return span.name(name).start();
+    }
+
+    /**
+     * Makes the span current until the returned scope is closed.
+     */
+    public Tracer.SpanInScope withSpan(Span span) {
+        return tracer.withSpan(span);
+    }
+
+    /**
+     * Wraps a task so it runs in the span current at wrapping time, for
+     * work handed to another thread.
+     */
+    public <T> Callable<T> wrap(Callable<T> task) {
+        Span parent = tracer.currentSpan();
+        if (parent == null) {
+            return task;
+        }
+        return () -> {
+            try (Tracer.SpanInScope ignored = tracer.withSpan(parent)) {
+                return task.call();
+            }
+        };
+    }
+
+    /**
+     * Supplier variant of {@link #wrap(Callable)}.
+     */
+    public <T> Supplier<T> wrapSupplier(Supplier<T> task) {
+        Span parent = tracer.currentSpan();
+        if (parent == null) {
+            return task;
+        }
+        return () -> {
+            try (Tracer.SpanInScope ignored = tracer.withSpan(parent)) {
+                return task.get();
+            }
+        };
+    }
+
+    /**
+     * Work run inside a span.
+     */
+    @FunctionalInterface
+    public interface SpanCall<T, E extends Exception> {
+        T call() throws E;
+    }
+}
@@ -1,7 +1,10 @@
 package com.redalert.backend.presentation.controller;
 
 import com.redalert.backend.application.usecase.AlertHistoryService;
+import com.redalert.backend.application.usecase.AlertLatencyService;
+import com.redalert.backend.application.usecase.CalendarCleanupService;
 import com.redalert.backend.application.usecase.ProcessedEmailService;
+import com.redalert.backend.domain.model.CalendarCleanupStatus;
 import com.redalert.backend.domain.model.ClassAlertDto;
 import com.redalert.backend.domain.model.ProcessedEmail;
 import com.redalert.backend.domain.port.NotificationPort;
@@ -11,9 +14,11 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +36,7 @@ public class AlertController {
         private final AlertHistoryService alertHistoryService;
         private final ProcessedEmailRepository processedEmailRepository;
         private final NotificationPort notificationPort;
+        private final AlertLatencyService alertLatencyService;
 
         /**
          * Gets alert history from database.
@@ -74,6 +80,19 @@ public class AlertController {
                                 "urgent", alertHistoryService.countUrgentAlerts()));
         }
 
+        /**
+         * Gets end-to-end alert latency (email receipt to WebSocket delivery)
+         * percentiles, overall and per category.
+         */
+        @GetMapping("/latency")
+        @Operation(summary = "Obter latência dos alertas (recebimento do email até a entrega) por categoria")
+        public ResponseEntity<Map<String, Object>> getLatency() {
+                return ResponseEntity.ok(Map.of(
+                                "overall", alertLatencyService.getOverallLatency(),
+                                "categories", alertLatencyService.getLatencyByCategory(),
+                                "timestamp", LocalDateTime.now().toString()));
+        }
+
         /**
          * Clears all alert history from database.
          */
@@ -177,13 +196,26 @@ public class AlertController {
                                                 "url", url != null ? url : "")));
         }
 
-        private final com.redalert.backend.application.usecase.EmailPollingService emailPollingService;
+        private final CalendarCleanupService calendarCleanupService;
 
+        /**
+         * Starts a background job deleting all calendar events of a date.
+         */
         @DeleteMapping("/calendar")
-        @Operation(summary = "Limpar eventos do calendário", description = "Deleta TODOS os eventos do calendário principal para a data especificada.")
-        public ResponseEntity<String> clearCalendarEvents(
-                        @RequestParam @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE) java.time.LocalDate date) {
-                int count = emailPollingService.clearCalendarEvents(date);
-                return ResponseEntity.ok("Deleted " + count + " events from calendar on " + date);
+        @Operation(summary = "Limpar eventos do calendário", description = "Inicia em segundo plano a exclusão de TODOS os eventos do calendário principal para a data especificada. Acompanhe o progresso pelo jobId retornado.")
+        public ResponseEntity<CalendarCleanupStatus> clearCalendarEvents(
+                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+                return ResponseEntity.accepted().body(calendarCleanupService.startCleanup(date));
+        }
+
+        /**
+         * Gets the progress of a calendar cleanup job.
+         */
+        @GetMapping("/calendar/cleanup/{jobId}")
+        @Operation(summary = "Consultar progresso da limpeza do calendário")
+        public ResponseEntity<CalendarCleanupStatus> getCalendarCleanupStatus(@PathVariable String jobId) {
+                return calendarCleanupService.getStatus(jobId)
+                                .map(ResponseEntity::ok)
+                                .orElse(ResponseEntity.notFound().build());
         }
 }
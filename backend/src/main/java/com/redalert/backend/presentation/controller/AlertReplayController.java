@@ -0,0 +1,30 @@
+package com.redalert.backend.presentation.controller;
+
+import com.redalert.backend.application.usecase.AlertReplayService;
+import com.redalert.backend.domain.model.AlertReplay;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+/**
+ * STOMP controller replaying missed alerts to reconnecting clients.
+ *
+ * Clients subscribe to /app/alerts/replay with the alert-epoch, alert-seq
+ * and alert-sent-at headers of the last alert they received on
+ * /topic/alerts, and get a single {@link AlertReplay} message back.
+ */
+@Controller
+@RequiredArgsConstructor
+public class AlertReplayController {
+
+    private final AlertReplayService alertReplayService;
+
+    @SubscribeMapping("/alerts/replay")
+    public AlertReplay replay(
+            @Header(name = "alert-epoch", required = false) String epoch,
+            @Header(name = "alert-seq", required = false) Long sequence,
+            @Header(name = "alert-sent-at", required = false) Long sentAt) {
+        return alertReplayService.replay(epoch, sequence, sentAt);
+    }
+}
@@ -0,0 +1,48 @@
+package com.redalert.backend.presentation.controller;
+
+import com.redalert.backend.application.usecase.CalendarMirrorService;
+import com.redalert.backend.presentation.dto.CalendarEventResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST Controller for calendar events, served from the local mirror.
+ */
+@RestController
+@RequestMapping("/api/v1/calendar")
+@RequiredArgsConstructor
+@Tag(name = "Calendar", description = "Consulta de eventos do Google Calendar (espelho local)")
+public class CalendarController {
+
+    private final CalendarMirrorService calendarMirrorService;
+
+    /**
+     * Gets the events of a day (today by default).
+     * Returns 503 until the mirror has completed its first sync.
+     */
+    @GetMapping("/events")
+    @Operation(summary = "Listar eventos do dia a partir do espelho local")
+    public ResponseEntity<List<CalendarEventResponse>> getEvents(
+            @Parameter(description = "Data (YYYY-MM-DD), padrão: hoje")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        if (!calendarMirrorService.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+
+        List<CalendarEventResponse> events = calendarMirrorService
+                .getEventsOn(date != null ? date : LocalDate.now())
+                .stream()
+                .map(CalendarEventResponse::fromEntity)
+                .toList();
+        return ResponseEntity.ok(events);
+    }
+}
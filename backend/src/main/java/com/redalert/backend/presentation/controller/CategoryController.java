@@ -1,7 +1,9 @@
 package com.redalert.backend.presentation.controller;
 
+import com.redalert.backend.application.usecase.AdaptivePollScheduler;
 import com.redalert.backend.application.usecase.CategoryService;
 import com.redalert.backend.domain.model.Category;
+import com.redalert.backend.domain.model.CategoryPollSchedule;
 import com.redalert.backend.presentation.dto.CategoryRequest;
 import com.redalert.backend.presentation.dto.CategoryResponse;
 import io.swagger.v3.oas.annotations.Operation;
@@ -23,6 +25,7 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final AdaptivePollScheduler adaptivePollScheduler;
 
     /**
      * Gets all categories.
@@ -50,6 +53,15 @@ public class CategoryController {
         return ResponseEntity.ok(categories);
     }
 
+    /**
+     * Gets the adaptive polling schedule of each category.
+     */
+    @GetMapping("/poll-schedule")
+    @Operation(summary = "Consultar agenda adaptativa de polling por categoria")
+    public ResponseEntity<List<CategoryPollSchedule>> getPollSchedule() {
+        return ResponseEntity.ok(adaptivePollScheduler.getSchedules());
+    }
+
     /**
      * Gets category by ID.
      */
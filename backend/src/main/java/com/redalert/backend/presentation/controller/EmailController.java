@@ -1,10 +1,16 @@
 package com.redalert.backend.presentation.controller;
 
-import com.redalert.backend.application.usecase.EmailPollingService;
+import com.redalert.backend.application.usecase.BacklogDrainService;
+import com.redalert.backend.application.usecase.PollJobService;
+import com.redalert.backend.application.usecase.PollLeaseService;
+import com.redalert.backend.domain.model.BacklogStatus;
 import com.redalert.backend.domain.model.EmailDto;
+import com.redalert.backend.domain.model.PollJobStatus;
 import com.redalert.backend.domain.port.GmailPort;
 import com.redalert.backend.presentation.dto.EmailResponse;
 import com.redalert.backend.presentation.dto.EmailSearchResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -16,6 +22,7 @@ import org.springframework.web.bind.annotation.*;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * REST Controller for email operations.
@@ -28,31 +35,68 @@ import java.util.Map;
 public class EmailController {
 
     private final GmailPort gmailPort;
-    private final EmailPollingService emailPollingService;
+    private final PollJobService pollJobService;
+    private final PollLeaseService pollLeaseService;
+    private final BacklogDrainService backlogDrainService;
+    private final MeterRegistry meterRegistry;
 
     /**
      * Manually triggers email polling for all active categories.
-     * This is the SAME process that runs on the scheduler every minute.
+     * This is the SAME process that runs on the scheduler. The cycle runs in
+     * the background; when one is already running, the request joins it.
      */
     @PostMapping("/poll")
-    @Operation(summary = "Disparar busca de emails (mesmo processo do scheduler)")
-    public ResponseEntity<Map<String, Object>> triggerPolling() {
+    @Operation(summary = "Disparar busca de emails (mesmo processo do scheduler)", description = "Inicia o polling em segundo plano, ou acompanha o ciclo já em andamento. Acompanhe o progresso pelo jobId retornado.")
+    public ResponseEntity<PollJobStatus> triggerPolling() {
         log.info("🚀 Manual email polling triggered via API");
+        return ResponseEntity.accepted().body(pollJobService.trigger());
+    }
 
-        try {
-            emailPollingService.pollEmails();
-
-            return ResponseEntity.ok(Map.of(
-                    "success", true,
-                    "message", "Polling executado! Verifique os logs do console para detalhes.",
-                    "timestamp", LocalDateTime.now().toString()));
-        } catch (Exception e) {
-            log.error("Error during manual polling", e);
-            return ResponseEntity.internalServerError().body(Map.of(
-                    "success", false,
-                    "error", e.getMessage(),
-                    "timestamp", LocalDateTime.now().toString()));
-        }
+    /**
+     * Gets the progress of a polling job.
+     */
+    @GetMapping("/poll/{jobId}")
+    @Operation(summary = "Consultar progresso de um polling")
+    public ResponseEntity<PollJobStatus> getPollStatus(@PathVariable String jobId) {
+        return pollJobService.getStatus(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Lists recent polling jobs, most recent first.
+     */
+    @GetMapping("/poll")
+    @Operation(summary = "Listar pollings recentes")
+    public ResponseEntity<List<PollJobStatus>> getPollJobs() {
+        return ResponseEntity.ok(pollJobService.getStatus());
+    }
+
+    /**
+     * Returns how the polling work is shared between backend replicas.
+     */
+    @GetMapping("/poll-leases")
+    @Operation(summary = "Consultar a distribuição do polling entre instâncias")
+    public ResponseEntity<Map<String, Object>> getPollLeases() {
+        return ResponseEntity.ok(Map.of(
+                "nodeId", pollLeaseService.getNodeId(),
+                "liveNodes", pollLeaseService.getLiveNodeIds(),
+                "leases", pollLeaseService.getLeases(),
+                "timestamp", LocalDateTime.now().toString()));
+    }
+
+    /**
+     * Returns the progress of categories currently draining a backlog.
+     */
+    @GetMapping("/backlog")
+    @Operation(summary = "Consultar backlog de emails pendentes por categoria")
+    public ResponseEntity<Map<String, Object>> getBacklog() {
+        List<BacklogStatus> drains = backlogDrainService.getStatus();
+
+        return ResponseEntity.ok(Map.of(
+                "totalRemaining", drains.stream().mapToLong(BacklogStatus::remaining).sum(),
+                "categories", drains,
+                "timestamp", LocalDateTime.now().toString()));
     }
 
     /**
@@ -67,7 +111,7 @@ public class EmailController {
             @Parameter(description = "Apenas não lidos") @RequestParam(defaultValue = "true") boolean unreadOnly,
             @Parameter(description = "Número máximo de resultados") @RequestParam(defaultValue = "10") int maxResults) {
 
-        long startTime = System.currentTimeMillis();
+        Timer.Sample sample = Timer.start(meterRegistry);
 
         // Build Gmail query
         StringBuilder queryBuilder = new StringBuilder();
@@ -100,7 +144,9 @@ public class EmailController {
                 .map(EmailResponse::fromDomain)
                 .toList();
 
-        long searchTime = System.currentTimeMillis() - startTime;
+        long searchTime = TimeUnit.NANOSECONDS.toMillis(sample.stop(Timer.builder("redalert.email.search.duration")
+                .description("Email searches through the API")
+                .register(meterRegistry)));
 
         return ResponseEntity.ok(new EmailSearchResponse(
                 emailResponses,
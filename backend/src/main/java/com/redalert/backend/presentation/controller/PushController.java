@@ -0,0 +1,112 @@
+package com.redalert.backend.presentation.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redalert.backend.application.usecase.PushIngestionService;
+import com.redalert.backend.presentation.dto.PubSubPushRequest;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * REST Controller receiving Gmail watch notifications pushed by Cloud Pub/Sub.
+ *
+ * Any 2xx response acknowledges the delivery; Pub/Sub redelivers on other
+ * status codes, e.g. when a node without the mailbox lease cannot forward
+ * the notification to the one holding it. Payloads without a readable
+ * historyId are acknowledged and dropped, since redelivering them cannot
+ * help (the scheduled poller still catches up). Requests must carry the
+ * configured verification token as ?token=; without a configured token
+ * every request is rejected. A local stand-in can post the same payload, e.g.:
+ * {@code curl -X POST 'localhost:8086/api/v1/push/gmail?token=...' -H 'Content-Type: application/json'
+ * -d '{"message":{"data":"eyJoaXN0b3J5SWQiOjEyMzR9","messageId":"1"}}'}
+ * (data is Base64 of {"historyId":1234}).
+ */
+@RestController
+@RequestMapping("/api/v1/push")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Push", description = "Recebimento de notificações push do Gmail (Pub/Sub)")
+public class PushController {
+
+    private final PushIngestionService pushIngestionService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${email.push.verification-token:}")
+    private String verificationToken;
+
+    /**
+     * Receives a Gmail watch notification and triggers an incremental fetch.
+     */
+    @PostMapping("/gmail")
+    @Operation(summary = "Receber notificação push do Gmail (Pub/Sub)")
+    public ResponseEntity<Void> receiveGmailNotification(
+            @RequestParam(required = false) String token,
+            @RequestBody PubSubPushRequest request) {
+
+        if (verificationToken == null || verificationToken.isBlank()) {
+            log.warn("Rejected push notification: email.push.verification-token is not configured");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if (!isTokenValid(token)) {
+            log.warn("Rejected push notification with invalid verification token");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        Long historyId = decodeHistoryId(request);
+        if (historyId == null) {
+            // Acknowledged so Pub/Sub does not keep redelivering it
+            pushIngestionService.onMalformedNotification();
+            return ResponseEntity.noContent().build();
+        }
+
+        pushIngestionService.onNotification(historyId);
+        return ResponseEntity.noContent().build();
+    }
+
+    private boolean isTokenValid(String token) {
+        return token != null && MessageDigest.isEqual(
+                verificationToken.getBytes(StandardCharsets.UTF_8),
+                token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes the historyId from the Base64 JSON payload of the message.
+     *
+     * @return The historyId, or null if the payload is malformed
+     */
+    private Long decodeHistoryId(PubSubPushRequest request) {
+        if (request == null || request.message() == null || request.message().data() == null) {
+            log.warn("Push notification without message data");
+            return null;
+        }
+
+        try {
+            byte[] json = Base64.getMimeDecoder().decode(request.message().data()
+                    .replace('-', '+')
+                    .replace('_', '/'));
+            JsonNode notification = objectMapper.readTree(json);
+            JsonNode historyId = notification.get("historyId");
+
+            if (historyId == null || (!historyId.canConvertToLong() && !historyId.isTextual())) {
+                log.warn("Push notification {} without historyId", request.message().messageId());
+                return null;
+            }
+            return historyId.isTextual() ? Long.parseLong(historyId.asText()) : historyId.asLong();
+
+        } catch (IllegalArgumentException | IOException e) {
+            log.warn("Malformed push notification {}: {}", request.message().messageId(), e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.redalert.backend.presentation.controller;
+
+import com.redalert.backend.domain.model.TraceView;
+import com.redalert.backend.domain.port.TraceQueryPort;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for recent traces, kept in memory.
+ * Answers why a given alert was slow: the message trace lists every stage
+ * and external call, with the time spent in each.
+ */
+@RestController
+@RequestMapping("/api/v1/traces")
+@RequiredArgsConstructor
+@Tag(name = "Traces", description = "Consulta de traces recentes (polling, pipeline e chamadas externas)")
+public class TraceController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final TraceQueryPort traceQueryPort;
+
+    /**
+     * Gets the traces that handled a Gmail message.
+     */
+    @GetMapping("/messages/{messageId}")
+    @Operation(summary = "Listar traces de uma mensagem do Gmail")
+    public ResponseEntity<List<TraceView>> getByMessage(@PathVariable String messageId) {
+        return ResponseEntity.ok(traceQueryPort.findByMessageId(messageId));
+    }
+
+    /**
+     * Gets a trace by ID.
+     */
+    @GetMapping("/{traceId}")
+    @Operation(summary = "Buscar trace por ID")
+    public ResponseEntity<TraceView> getById(@PathVariable String traceId) {
+        return traceQueryPort.findByTraceId(traceId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Gets the slowest recent traces.
+     */
+    @GetMapping
+    @Operation(summary = "Listar os traces mais lentos")
+    public ResponseEntity<List<TraceView>> getSlowest(
+            @Parameter(description = "Quantidade máxima de traces")
+            @RequestParam(defaultValue = "20") int limit,
+            @Parameter(description = "Somente traces com um span com este nome (ex.: email.message)")
+            @RequestParam(required = false) String span) {
+        return ResponseEntity.ok(traceQueryPort.findSlowest(Math.clamp(limit, 1, MAX_LIMIT), span));
+    }
+}
@@ -0,0 +1,33 @@
+package com.redalert.backend.presentation.dto;
+
+import com.redalert.backend.domain.model.MirroredCalendarEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for calendar events served from the local mirror.
+ */
+public record CalendarEventResponse(
+        String eventId,
+        String summary,
+        String location,
+        String htmlLink,
+        String status,
+        LocalDateTime startAt,
+        LocalDateTime endAt,
+        boolean allDay) {
+    /**
+     * Converts from domain entity.
+     */
+    public static CalendarEventResponse fromEntity(MirroredCalendarEvent event) {
+        return new CalendarEventResponse(
+                event.getEventId(),
+                event.getSummary(),
+                event.getLocation(),
+                event.getHtmlLink(),
+                event.getStatus(),
+                event.getStartAt(),
+                event.getEndAt(),
+                event.isAllDay());
+    }
+}
@@ -11,7 +11,9 @@ public record CategoryRequest(
         String fromFilter,
         String subjectKeywords,
         String bodyKeywords,
-        Boolean isActive) {
+        Boolean isActive,
+        Long minPollIntervalMs,
+        Long maxPollIntervalMs) {
 
     /**
      * Converts to domain entity.
@@ -24,6 +26,8 @@ public record CategoryRequest(
         category.setSubjectKeywords(subjectKeywords);
         category.setBodyKeywords(bodyKeywords);
         category.setIsActive(isActive != null ? isActive : true);
+        category.setMinPollIntervalMs(minPollIntervalMs);
+        category.setMaxPollIntervalMs(maxPollIntervalMs);
         return category;
     }
 }
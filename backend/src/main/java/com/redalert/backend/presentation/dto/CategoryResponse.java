@@ -15,6 +15,8 @@ public record CategoryResponse(
         String subjectKeywords,
         String bodyKeywords,
         Boolean isActive,
+        Long minPollIntervalMs,
+        Long maxPollIntervalMs,
         String generatedQuery,
         LocalDateTime createdAt,
         LocalDateTime updatedAt) {
@@ -31,6 +33,8 @@ public record CategoryResponse(
                 category.getSubjectKeywords(),
                 category.getBodyKeywords(),
                 category.getIsActive(),
+                category.getMinPollIntervalMs(),
+                category.getMaxPollIntervalMs(),
                 category.buildGmailQuery(),
                 category.getCreatedAt(),
                 category.getUpdatedAt());
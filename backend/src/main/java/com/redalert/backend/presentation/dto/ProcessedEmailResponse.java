@@ -1,6 +1,7 @@
 package com.redalert.backend.presentation.dto;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Response DTO for processed emails.
@@ -14,5 +15,6 @@ public record ProcessedEmailResponse(
         LocalDateTime receivedAt,
         String categoryName,
         Long categoryId,
+        List<String> matchedCategories,
         LocalDateTime processedAt) {
 }
@@ -0,0 +1,24 @@
+package com.redalert.backend.presentation.dto;
+
+import java.util.Map;
+
+/**
+ * Cloud Pub/Sub push delivery envelope.
+ *
+ * For Gmail watch notifications, message.data is the Base64 encoded JSON
+ * {"emailAddress": "...", "historyId": "..."}.
+ */
+public record PubSubPushRequest(
+        PubSubMessage message,
+        String subscription) {
+
+    /**
+     * Message carried by a push delivery.
+     */
+    public record PubSubMessage(
+            String data,
+            String messageId,
+            String publishTime,
+            Map<String, String> attributes) {
+    }
+}
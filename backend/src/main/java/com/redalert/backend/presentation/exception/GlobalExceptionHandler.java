@@ -3,6 +3,7 @@ package com.redalert.backend.presentation.exception;
 import com.redalert.backend.application.exception.AiAnalysisException;
 import com.redalert.backend.application.exception.CalendarIntegrationException;
 import com.redalert.backend.application.exception.GmailIntegrationException;
+import com.redalert.backend.application.exception.NotificationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -67,6 +68,22 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
     }
 
+    /**
+     * Handles notification delivery exceptions.
+     */
+    @ExceptionHandler(NotificationException.class)
+    public ResponseEntity<ErrorResponse> handleNotificationException(NotificationException ex) {
+        log.error("Notification error", ex);
+
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Notification service unavailable",
+                ex.getMessage(),
+                LocalDateTime.now());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
     /**
      * Handles generic exceptions.
      */
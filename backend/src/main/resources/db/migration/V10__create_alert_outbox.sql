@@ -0,0 +1,38 @@
+-- Red Alert Database Schema
+-- Version: V10
+-- Description: Transactional outbox for alert notifications
+
+-- =====================================================
+-- ALERT_OUTBOX TABLE
+-- One entry per alert to deliver, written in the same
+-- transaction as the alert and drained by the outbox relay
+-- (claimed with FOR UPDATE SKIP LOCKED, so several relays
+-- never deliver the same entry at once)
+-- =====================================================
+CREATE TABLE IF NOT EXISTS alert_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    alert_id BIGINT NOT NULL REFERENCES alerts(id) ON DELETE CASCADE,
+    payload TEXT NOT NULL,
+    state VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    delivered_at TIMESTAMP
+);
+
+-- Index for claiming due entries
+CREATE INDEX IF NOT EXISTS idx_alert_outbox_pending ON alert_outbox(next_attempt_at, id) WHERE state = 'PENDING';
+
+-- Index for purging delivered entries
+CREATE INDEX IF NOT EXISTS idx_alert_outbox_delivered_at ON alert_outbox(delivered_at) WHERE state = 'DELIVERED';
+
+-- Comments for documentation
+COMMENT ON TABLE alert_outbox IS 'Alert notifications waiting for (or done with) delivery to clients';
+COMMENT ON COLUMN alert_outbox.alert_id IS 'Alert being notified';
+COMMENT ON COLUMN alert_outbox.payload IS 'Notification sent to clients (JSON)';
+COMMENT ON COLUMN alert_outbox.state IS 'PENDING, DELIVERED or FAILED (attempts exhausted)';
+COMMENT ON COLUMN alert_outbox.attempts IS 'Delivery attempts so far';
+COMMENT ON COLUMN alert_outbox.last_error IS 'Error of the last failed attempt';
+COMMENT ON COLUMN alert_outbox.next_attempt_at IS 'When the entry may be claimed next (retry backoff, or claim timeout while in flight)';
+COMMENT ON COLUMN alert_outbox.delivered_at IS 'When the notification was delivered';
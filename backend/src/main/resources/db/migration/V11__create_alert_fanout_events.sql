@@ -0,0 +1,23 @@
+-- Red Alert Database Schema
+-- Version: V11
+-- Description: Alert events too large for a Postgres NOTIFY payload
+
+-- =====================================================
+-- ALERT_FANOUT_EVENTS TABLE
+-- Alert events are fanned out to every backend node with
+-- NOTIFY; events over the NOTIFY payload limit are stored here
+-- and the notification carries only their ID
+-- =====================================================
+CREATE TABLE IF NOT EXISTS alert_fanout_events (
+    id BIGSERIAL PRIMARY KEY,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Index for purging old events
+CREATE INDEX IF NOT EXISTS idx_alert_fanout_events_created_at ON alert_fanout_events(created_at);
+
+-- Comments for documentation
+COMMENT ON TABLE alert_fanout_events IS 'Alert events too large for a NOTIFY payload, read by every node';
+COMMENT ON COLUMN alert_fanout_events.payload IS 'Alert event (JSON)';
+COMMENT ON COLUMN alert_fanout_events.created_at IS 'When the event was published';
@@ -0,0 +1,21 @@
+-- Red Alert Database Schema
+-- Version: V3
+-- Description: Table for storing incremental sync checkpoints
+
+-- =====================================================
+-- SYNC_CHECKPOINTS TABLE
+-- Stores the last position reached by incremental syncs
+-- (e.g., the Gmail historyId of the monitored mailbox)
+-- =====================================================
+CREATE TABLE IF NOT EXISTS sync_checkpoints (
+    id BIGSERIAL PRIMARY KEY,
+    checkpoint_key VARCHAR(100) NOT NULL UNIQUE,
+    checkpoint_value VARCHAR(255) NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Comments for documentation
+COMMENT ON TABLE sync_checkpoints IS 'Stores the last position reached by incremental syncs';
+COMMENT ON COLUMN sync_checkpoints.checkpoint_key IS 'Checkpoint identifier (e.g., gmail.history)';
+COMMENT ON COLUMN sync_checkpoints.checkpoint_value IS 'Last synced position (e.g., Gmail historyId)';
+COMMENT ON COLUMN sync_checkpoints.updated_at IS 'When the checkpoint was last advanced';
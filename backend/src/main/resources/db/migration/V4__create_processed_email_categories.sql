@@ -0,0 +1,24 @@
+-- Red Alert Database Schema
+-- Version: V4
+-- Description: Records every category matched by a processed email
+
+-- =====================================================
+-- PROCESSED_EMAIL_CATEGORIES TABLE
+-- A single email may match several categories; processed_emails.category_id
+-- keeps the primary match, this table keeps all of them
+-- =====================================================
+CREATE TABLE IF NOT EXISTS processed_email_categories (
+    processed_email_id BIGINT NOT NULL,
+    category_id BIGINT NOT NULL,
+
+    PRIMARY KEY (processed_email_id, category_id),
+    CONSTRAINT fk_pec_processed_email FOREIGN KEY (processed_email_id)
+        REFERENCES processed_emails(id) ON DELETE CASCADE,
+    CONSTRAINT fk_pec_category FOREIGN KEY (category_id)
+        REFERENCES categories(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_pec_category ON processed_email_categories(category_id);
+
+-- Comments for documentation
+COMMENT ON TABLE processed_email_categories IS 'Every category matched by a processed email';
@@ -0,0 +1,33 @@
+-- Red Alert Database Schema
+-- Version: V5
+-- Description: Retry list for Gmail mark-as-read acknowledgements
+
+-- =====================================================
+-- PENDING_ACKNOWLEDGEMENTS TABLE
+-- Message IDs whose batched mark-as-read (batchModify) failed
+-- and must be retried after an exponentially growing delay
+-- =====================================================
+CREATE TABLE IF NOT EXISTS pending_acknowledgements (
+    id BIGSERIAL PRIMARY KEY,
+    message_id VARCHAR(255) NOT NULL UNIQUE,
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Index for retrying the oldest entries first
+CREATE INDEX IF NOT EXISTS idx_pending_acknowledgements_created_at ON pending_acknowledgements(created_at);
+
+-- Index for retrying the due entries
+CREATE INDEX IF NOT EXISTS idx_pending_acknowledgements_next_attempt_at ON pending_acknowledgements(next_attempt_at);
+
+-- Comments for documentation
+COMMENT ON TABLE pending_acknowledgements IS 'Gmail messages whose mark-as-read failed and must be retried';
+COMMENT ON COLUMN pending_acknowledgements.message_id IS 'Gmail message ID to mark as read';
+COMMENT ON COLUMN pending_acknowledgements.attempts IS 'Failed batchModify attempts so far';
+COMMENT ON COLUMN pending_acknowledgements.last_error IS 'Error of the last failed attempt';
+COMMENT ON COLUMN pending_acknowledgements.next_attempt_at IS 'Earliest time of the next retry';
+COMMENT ON COLUMN pending_acknowledgements.created_at IS 'When the acknowledgement first failed';
+COMMENT ON COLUMN pending_acknowledgements.updated_at IS 'When the acknowledgement was last attempted';
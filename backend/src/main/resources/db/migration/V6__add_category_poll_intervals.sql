@@ -0,0 +1,15 @@
+-- Red Alert Database Schema
+-- Version: V6
+-- Description: Optional per-category bounds for the adaptive polling scheduler
+
+-- =====================================================
+-- CATEGORIES TABLE
+-- The adaptive scheduler polls busy categories more often and
+-- backs off on idle ones, within these bounds when set
+-- =====================================================
+ALTER TABLE categories ADD COLUMN IF NOT EXISTS min_poll_interval_ms BIGINT;
+ALTER TABLE categories ADD COLUMN IF NOT EXISTS max_poll_interval_ms BIGINT;
+
+-- Comments for documentation
+COMMENT ON COLUMN categories.min_poll_interval_ms IS 'Shortest adaptive polling interval in ms (NULL = global default)';
+COMMENT ON COLUMN categories.max_poll_interval_ms IS 'Longest adaptive polling interval in ms (NULL = global default)';
@@ -0,0 +1,36 @@
+-- Red Alert Database Schema
+-- Version: V7
+-- Description: Local mirror of the primary Google Calendar
+
+-- =====================================================
+-- CALENDAR_EVENTS TABLE
+-- Upcoming events of the primary calendar, kept fresh with
+-- events.list syncToken incremental sync (token stored in
+-- sync_checkpoints under calendar.sync)
+-- =====================================================
+CREATE TABLE IF NOT EXISTS calendar_events (
+    id BIGSERIAL PRIMARY KEY,
+    event_id VARCHAR(1024) NOT NULL UNIQUE,
+    summary VARCHAR(1000),
+    location VARCHAR(1000),
+    html_link VARCHAR(2000),
+    status VARCHAR(20),
+    start_at TIMESTAMP NOT NULL,
+    end_at TIMESTAMP,
+    all_day BOOLEAN NOT NULL DEFAULT FALSE,
+    synced_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Index for day lookups
+CREATE INDEX IF NOT EXISTS idx_calendar_events_start_at ON calendar_events(start_at);
+
+-- Comments for documentation
+COMMENT ON TABLE calendar_events IS 'Local mirror of upcoming events of the primary Google Calendar';
+COMMENT ON COLUMN calendar_events.event_id IS 'Google Calendar event ID';
+COMMENT ON COLUMN calendar_events.summary IS 'Event title';
+COMMENT ON COLUMN calendar_events.html_link IS 'Link to the event in Google Calendar';
+COMMENT ON COLUMN calendar_events.status IS 'Event status (confirmed, tentative)';
+COMMENT ON COLUMN calendar_events.start_at IS 'Event start in the server time zone';
+COMMENT ON COLUMN calendar_events.end_at IS 'Event end in the server time zone';
+COMMENT ON COLUMN calendar_events.all_day IS 'Whether the event is an all-day event';
+COMMENT ON COLUMN calendar_events.synced_at IS 'When the event was last synced';
@@ -0,0 +1,25 @@
+-- Red Alert Database Schema
+-- Version: V8
+-- Description: Pipeline timestamps on alerts for end-to-end latency tracking
+
+-- =====================================================
+-- ALERTS TABLE
+-- When the email was received and when each pipeline step
+-- handled it; notified_at - email_received_at is the
+-- end-to-end alert latency
+-- =====================================================
+ALTER TABLE alerts ADD COLUMN IF NOT EXISTS email_received_at TIMESTAMP;
+ALTER TABLE alerts ADD COLUMN IF NOT EXISTS listed_at TIMESTAMP;
+ALTER TABLE alerts ADD COLUMN IF NOT EXISTS fetched_at TIMESTAMP;
+ALTER TABLE alerts ADD COLUMN IF NOT EXISTS analyzed_at TIMESTAMP;
+ALTER TABLE alerts ADD COLUMN IF NOT EXISTS notified_at TIMESTAMP;
+
+-- Latency stats are rebuilt from recently notified alerts on startup
+CREATE INDEX IF NOT EXISTS idx_alerts_notified_at ON alerts(notified_at);
+
+-- Comments for documentation
+COMMENT ON COLUMN alerts.email_received_at IS 'When Gmail received the email (internalDate)';
+COMMENT ON COLUMN alerts.listed_at IS 'When the poller listed the message';
+COMMENT ON COLUMN alerts.fetched_at IS 'When the full message was fetched';
+COMMENT ON COLUMN alerts.analyzed_at IS 'When AI analysis finished';
+COMMENT ON COLUMN alerts.notified_at IS 'When the alert was sent to WebSocket clients';
@@ -0,0 +1,44 @@
+-- Red Alert Database Schema
+-- Version: V9
+-- Description: Polling nodes and leases, so several backend replicas can
+-- share the polling work
+
+-- =====================================================
+-- POLL_NODES TABLE
+-- Backend instances taking part in polling; a node is live
+-- while its heartbeat is recent
+-- =====================================================
+CREATE TABLE IF NOT EXISTS poll_nodes (
+    node_id VARCHAR(100) PRIMARY KEY,
+    started_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    heartbeat_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- =====================================================
+-- POLL_LEASES TABLE
+-- One row per unit of polling work (a category, or the whole
+-- mailbox in incremental/merged mode). Only the owner of an
+-- unexpired lease polls it; the fencing token grows every time
+-- the lease changes hands
+-- =====================================================
+CREATE TABLE IF NOT EXISTS poll_leases (
+    lease_key VARCHAR(100) PRIMARY KEY,
+    owner_node_id VARCHAR(100) NOT NULL,
+    fencing_token BIGINT NOT NULL,
+    acquired_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL
+);
+
+-- Index for expired node cleanup
+CREATE INDEX IF NOT EXISTS idx_poll_nodes_heartbeat_at ON poll_nodes(heartbeat_at);
+
+-- Comments for documentation
+COMMENT ON TABLE poll_nodes IS 'Backend instances taking part in polling';
+COMMENT ON COLUMN poll_nodes.node_id IS 'Instance identifier (host name and a random suffix by default)';
+COMMENT ON COLUMN poll_nodes.heartbeat_at IS 'Last heartbeat (database clock)';
+COMMENT ON TABLE poll_leases IS 'Ownership of polling work by backend instances';
+COMMENT ON COLUMN poll_leases.lease_key IS 'Unit of work: category:<id> or mailbox';
+COMMENT ON COLUMN poll_leases.owner_node_id IS 'Node holding (or last holding) the lease';
+COMMENT ON COLUMN poll_leases.fencing_token IS 'Incremented on every change of owner; writes check it to reject stale owners';
+COMMENT ON COLUMN poll_leases.acquired_at IS 'When the current owner acquired the lease';
+COMMENT ON COLUMN poll_leases.expires_at IS 'When the lease expires unless renewed (database clock)';
@@ -15,6 +15,8 @@ export interface Category {
     subjectKeywords: string;
     bodyKeywords: string;
     isActive: boolean;
+    minPollIntervalMs: number | null;
+    maxPollIntervalMs: number | null;
     generatedQuery: string;
     createdAt: string;
     updatedAt: string;
@@ -125,6 +127,8 @@ const CategoryManager: React.FC = () => {
                     subjectKeywords: category.subjectKeywords,
                     bodyKeywords: category.bodyKeywords,
                     isActive: category.isActive,
+                    minPollIntervalMs: category.minPollIntervalMs,
+                    maxPollIntervalMs: category.maxPollIntervalMs,
                 }),
             });
 
@@ -1,13 +1,28 @@
-import { useEffect, useState, useCallback } from 'react';
+import { useEffect, useState, useCallback, useRef } from 'react';
 import { Client, type IMessage } from '@stomp/stompjs';
 import SockJS from 'sockjs-client';
-import type { ClassAlert, ConnectionStatus } from '../types/alert';
+import type { AlertReplay, ClassAlert, ConnectionStatus } from '../types/alert';
+
+/**
+ * Position of the last alert received, as numbered by the server.
+ */
+interface LastSeen {
+    epoch: string;
+    seq: number;
+    sentAt: number;
+}
+
+// Alert IDs remembered to drop alerts received twice (live and replayed)
+const MAX_SEEN_ALERT_IDS = 500;
 
 /**
  * Custom hook for Red Alert WebSocket connection.
  * 
  * Manages WebSocket connection to backend and listens for class alerts.
- * Automatically reconnects on disconnection.
+ * Automatically reconnects on disconnection, then asks the server for the
+ * alerts broadcast while it was disconnected (/app/alerts/replay). A live
+ * alert whose sequence skips ahead of the last one received also triggers
+ * a replay of the missing ones.
  * 
  * @returns Object containing connection status and latest alert
  */
@@ -15,9 +30,77 @@ const useRedAlertSocket = () => {
     const [connectionStatus, setConnectionStatus] = useState<ConnectionStatus>('disconnected');
     const [latestAlert, setLatestAlert] = useState<ClassAlert | null>(null);
     const [client, setClient] = useState<Client | null>(null);
+    const lastSeen = useRef<LastSeen | null>(null);
+    const seenAlertIds = useRef<Set<number>>(new Set());
+    const replaying = useRef(false);
 
     const SOCKET_URL = 'http://localhost:8086/ws-red-alert';
     const TOPIC = '/topic/alerts';
+    const REPLAY = '/app/alerts/replay';
+
+    /**
+     * Records an alert ID, returning false if it was already received.
+     */
+    const markSeen = (alertId: number | null | undefined): boolean => {
+        if (alertId == null) {
+            return true;
+        }
+        const seen = seenAlertIds.current;
+        if (seen.has(alertId)) {
+            return false;
+        }
+        seen.add(alertId);
+        if (seen.size > MAX_SEEN_ALERT_IDS) {
+            seen.delete(seen.values().next().value as number);
+        }
+        return true;
+    };
+
+    /**
+     * Moves the last-seen position forward (sequences only compare within an epoch).
+     */
+    const advance = (epoch: string, seq: number, sentAt: number) => {
+        const current = lastSeen.current;
+        if (current && current.epoch === epoch && current.seq >= seq) {
+            return;
+        }
+        lastSeen.current = { epoch, seq, sentAt: Math.max(sentAt, current?.sentAt ?? 0) };
+    };
+
+    /**
+     * Asks the server for the alerts broadcast after the given position.
+     */
+    const requestReplay = (stompClient: Client, from: LastSeen) => {
+        if (replaying.current) {
+            return;
+        }
+        replaying.current = true;
+        const replay = stompClient.subscribe(REPLAY, (message: IMessage) => {
+            replay.unsubscribe();
+            replaying.current = false;
+            try {
+                const result: AlertReplay = JSON.parse(message.body);
+                const missed = result.alerts.filter((replayed) => markSeen(replayed.alertId));
+                const latestSentAt = result.alerts.reduce((max, replayed) => Math.max(max, replayed.sentAt), 0);
+                advance(result.epoch, result.latestSequence, latestSentAt);
+
+                if (!result.complete) {
+                    console.warn('⚠️ Some missed alerts could not be replayed; reload the alert history');
+                }
+                if (missed.length > 0) {
+                    console.log(`🔁 Replayed ${missed.length} missed alert(s)`);
+                    setLatestAlert(missed[missed.length - 1].alert);
+                    playAlertSound();
+                }
+            } catch (error) {
+                console.error('Error parsing alert replay:', error);
+            }
+        }, {
+            'alert-epoch': from.epoch,
+            'alert-seq': String(from.seq),
+            'alert-sent-at': String(from.sentAt),
+        });
+    };
 
     /**
      * Connects to WebSocket server.
@@ -30,12 +113,33 @@ const useRedAlertSocket = () => {
 
             onConnect: () => {
                 console.log('✅ Connected to Red Alert WebSocket');
+                replaying.current = false;
                 setConnectionStatus('connected');
 
                 // Subscribe to alerts topic
                 stompClient.subscribe(TOPIC, (message: IMessage) => {
                     try {
                         const alert: ClassAlert = JSON.parse(message.body);
+                        const epoch = message.headers['alert-epoch'];
+                        const seq = Number(message.headers['alert-seq']);
+                        const alertId = message.headers['alert-id'];
+
+                        const current = lastSeen.current;
+                        if (epoch && current && current.epoch === epoch && seq <= current.seq) {
+                            return; // Already received through the replay
+                        }
+                        if (epoch && current && current.epoch === epoch && seq > current.seq + 1) {
+                            // Alerts between the last contiguous one and this one were lost
+                            console.warn(`⚠️ Missed alert(s) ${current.seq + 1}-${seq - 1}, requesting a replay`);
+                            requestReplay(stompClient, current);
+                        }
+                        if (epoch) {
+                            advance(epoch, seq, Number(message.headers['alert-sent-at']));
+                        }
+                        if (!markSeen(alertId ? Number(alertId) : null)) {
+                            return;
+                        }
+
                         console.log('🚨 Alert received:', alert);
                         setLatestAlert(alert);
 
@@ -45,6 +149,12 @@ const useRedAlertSocket = () => {
                         console.error('Error parsing alert message:', error);
                     }
                 });
+
+                // After a reconnect, fetch what was broadcast during the gap
+                const previous = lastSeen.current;
+                if (previous) {
+                    requestReplay(stompClient, previous);
+                }
             },
 
             onDisconnect: () => {
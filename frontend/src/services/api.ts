@@ -36,6 +36,36 @@ export interface AlertHistoryResponse {
     returnedCount: number;
 }
 
+/**
+ * Result of one category within a polling job.
+ */
+export interface CategoryPollResult {
+    categoryId: number;
+    categoryName: string;
+    status: 'SUCCESS' | 'FAILED' | 'TIMED_OUT';
+    processedCount: number;
+    durationMs: number;
+    error: string | null;
+}
+
+/**
+ * Progress of a polling job (manual or scheduled).
+ */
+export interface PollJobStatus {
+    jobId: string;
+    trigger: 'SCHEDULED' | 'MANUAL' | 'REMOTE';
+    state: 'RUNNING' | 'COMPLETED' | 'SKIPPED' | 'FORWARDED' | 'FAILED';
+    mode: string | null;
+    joinedRequests: number;
+    categories: CategoryPollResult[];
+    pendingCategories: string[];
+    processed: number;
+    error: string | null;
+    startedAt: string;
+    finishedAt: string | null;
+    durationMs: number;
+}
+
 /**
  * API service for Red Alert backend using native fetch.
  */
@@ -76,9 +106,10 @@ export const api = {
     },
 
     /**
-     * Triggers email polling manually (same as scheduler).
+     * Triggers email polling manually (same as scheduler). Runs in the
+     * background, or joins the cycle already running.
      */
-    async triggerPolling(): Promise<{ success: boolean; message: string }> {
+    async triggerPolling(): Promise<PollJobStatus> {
         const response = await fetch(`${API_BASE_URL}/emails/poll`, {
             method: 'POST',
         });
@@ -86,6 +117,15 @@ export const api = {
         return response.json();
     },
 
+    /**
+     * Gets the progress of a polling job.
+     */
+    async getPollStatus(jobId: string): Promise<PollJobStatus> {
+        const response = await fetch(`${API_BASE_URL}/emails/poll/${jobId}`);
+        if (!response.ok) throw new Error('Failed to get polling status');
+        return response.json();
+    },
+
     /**
      * Gets alert history.
      */
@@ -14,3 +14,24 @@ export interface ClassAlert {
  * WebSocket connection status.
  */
 export type ConnectionStatus = 'connected' | 'disconnected' | 'connecting' | 'error';
+
+/**
+ * Alert replayed to a reconnecting client.
+ */
+export interface ReplayedAlert {
+    sequence: number | null;
+    alertId: number | null;
+    sentAt: number;
+    alert: ClassAlert;
+}
+
+/**
+ * Alerts missed while disconnected, sent on /app/alerts/replay.
+ */
+export interface AlertReplay {
+    epoch: string;
+    latestSequence: number;
+    complete: boolean;
+    fromHistory: boolean;
+    alerts: ReplayedAlert[];
+}